@@ -2,15 +2,19 @@ package com.example.hseshellfinanceapp.config;
 
 import javax.sql.DataSource;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import org.jooq.DSLContext;
-import org.jooq.SQLDialect;
 import org.jooq.impl.DSL;
 import org.jooq.impl.DefaultConfiguration;
+import org.jooq.tools.jdbc.JDBCUtils;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
 
 @Configuration
 public class JooqConfig {
@@ -27,14 +31,99 @@ public class JooqConfig {
     @Value("${spring.datasource.driver-class-name}")
     private String driverClassName;
 
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int maximumPoolSize;
+
+    @Value("${spring.datasource.hikari.minimum-idle:2}")
+    private int minimumIdle;
+
+    @Value("${spring.datasource.hikari.connection-timeout:30000}")
+    private long connectionTimeout;
+
+    @Value("${spring.datasource.hikari.validation-timeout:5000}")
+    private long validationTimeout;
+
+    @Value("${spring.datasource.hikari.idle-timeout:600000}")
+    private long idleTimeout;
+
+    @Value("${spring.datasource.hikari.max-lifetime:1800000}")
+    private long maxLifetime;
+
+    @Value("${spring.datasource.hikari.keepalive-time:300000}")
+    private long keepaliveTime;
+
+    @Value("${spring.datasource.hikari.leak-detection-threshold:0}")
+    private long leakDetectionThreshold;
+
+    @Value("${app.datasource.prep-stmt-cache-size:256}")
+    private int prepStmtCacheSize;
+
+    @Value("${app.datasource.prep-stmt-cache-size-mib:5}")
+    private int prepStmtCacheSizeMiB;
+
+    @Value("${app.datasource.prepare-threshold:5}")
+    private int prepareThreshold;
+
+    @Value("${app.datasource.rewrite-batched-inserts:true}")
+    private boolean rewriteBatchedInserts;
+
+    @Value("${app.datasource.replica.url:}")
+    private String replicaUrl;
+
+    @Value("${app.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource routingDataSource(PoolMetrics poolMetrics) {
+        DataSource primary = new HikariDataSource(
+                poolConfig("primary", url, username, password, poolMetrics));
+        DataSource replica = replicaUrl == null || replicaUrl.isBlank()
+                ? null
+                : new HikariDataSource(poolConfig("replica", replicaUrl, replicaUsername, replicaPassword,
+                poolMetrics));
+        return new ReadWriteRoutingDataSource(primary, replica);
+    }
+
+    // The physical connection is fetched on the first statement, once @Transactional(readOnly = true)
+    // has been registered, so the routing data source can pick the replica
     @Bean
-    public DataSource dataSource() {
-        return DataSourceBuilder.create()
-                .url(url)
-                .username(username)
-                .password(password)
-                .driverClassName(driverClassName)
-                .build();
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private HikariConfig poolConfig(String poolName, String jdbcUrl, String user, String secret,
+                                    PoolMetrics poolMetrics) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(user);
+        config.setPassword(secret);
+        config.setDriverClassName(driverClassName);
+
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(minimumIdle);
+        config.setConnectionTimeout(connectionTimeout);
+        // Connections are checked with JDBC4 isValid() on checkout; no test query is needed
+        config.setValidationTimeout(validationTimeout);
+        config.setIdleTimeout(idleTimeout);
+        config.setMaxLifetime(maxLifetime);
+        config.setKeepaliveTime(keepaliveTime);
+        config.setLeakDetectionThreshold(leakDetectionThreshold);
+        config.setMetricsTrackerFactory(poolMetrics);
+
+        // pgjdbc names for the statement cache; other drivers (H2 in tests) reject unknown properties
+        if (jdbcUrl.startsWith("jdbc:postgresql:")) {
+            config.addDataSourceProperty("preparedStatementCacheQueries", prepStmtCacheSize);
+            config.addDataSourceProperty("preparedStatementCacheSizeMiB", prepStmtCacheSizeMiB);
+            config.addDataSourceProperty("prepareThreshold", prepareThreshold);
+            // Turns the multi-row batches of bulk imports into multi-value INSERTs on the wire
+            config.addDataSourceProperty("reWriteBatchedInserts", rewriteBatchedInserts);
+        }
+        return config;
     }
 
     @Bean
@@ -45,8 +134,10 @@ public class JooqConfig {
     @Bean
     public DSLContext dslContext(DataSource dataSource) {
         DefaultConfiguration jooqConfiguration = new DefaultConfiguration();
-        jooqConfiguration.set(dataSource);
-        jooqConfiguration.set(SQLDialect.POSTGRES); // Set to PostgreSQL dialect
+        // jOOQ must see the connection bound by @Transactional, otherwise every query autocommits on its own
+        jooqConfiguration.set(new TransactionAwareDataSourceProxy(dataSource));
+        // Upserts render as ON CONFLICT on PostgreSQL and as MERGE on H2
+        jooqConfiguration.set(JDBCUtils.dialect(url));
 
         return DSL.using(jooqConfiguration);
     }
@@ -0,0 +1,111 @@
+package com.example.hseshellfinanceapp.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.stereotype.Component;
+
+// Hikari reports every checkout and checkin here; the gauges come from the pool itself
+// and are refreshed by Hikari at most once per second
+@Component
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    private final Map<String, Tracker> trackers = new ConcurrentHashMap<>();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        Tracker tracker = new Tracker(poolStats);
+        trackers.put(poolName, tracker);
+        return tracker;
+    }
+
+    public List<PoolSnapshot> snapshot() {
+        List<PoolSnapshot> snapshots = new ArrayList<>();
+        trackers.forEach((name, tracker) -> snapshots.add(tracker.snapshot(name)));
+        snapshots.sort((a, b) -> a.pool().compareTo(b.pool()));
+        return snapshots;
+    }
+
+    public record PoolSnapshot(
+            String pool,
+            int active,
+            int idle,
+            int total,
+            int pending,
+            long acquisitions,
+            double averageWaitMillis,
+            double maxWaitMillis,
+            long timeouts,
+            double averageUsageMillis
+    ) {
+        @Override
+        public String toString() {
+            return String.format(
+                    "%s: active=%d idle=%d total=%d waiting=%d | acquired=%d avg wait=%.3f ms max wait=%.3f ms"
+                            + " timeouts=%d | avg usage=%.1f ms",
+                    pool, active, idle, total, pending, acquisitions, averageWaitMillis, maxWaitMillis,
+                    timeouts, averageUsageMillis);
+        }
+    }
+
+    private static class Tracker implements IMetricsTracker {
+        private final PoolStats poolStats;
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder usages = new LongAdder();
+        private final LongAdder usageMillis = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+
+        Tracker(PoolStats poolStats) {
+            this.poolStats = poolStats;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquisitions.increment();
+            waitNanos.add(elapsedAcquiredNanos);
+            maxWaitNanos.accumulate(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usages.increment();
+            usageMillis.add(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+
+        PoolSnapshot snapshot(String name) {
+            long acquired = acquisitions.sum();
+            long used = usages.sum();
+            return new PoolSnapshot(
+                    name,
+                    poolStats.getActiveConnections(),
+                    poolStats.getIdleConnections(),
+                    poolStats.getTotalConnections(),
+                    poolStats.getPendingThreads(),
+                    acquired,
+                    acquired == 0 ? 0 : toMillis(waitNanos.sum()) / acquired,
+                    toMillis(maxWaitNanos.get()),
+                    timeouts.sum(),
+                    used == 0 ? 0 : (double) usageMillis.sum() / used
+            );
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
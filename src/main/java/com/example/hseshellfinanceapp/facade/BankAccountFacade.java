@@ -4,15 +4,17 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import com.example.hseshellfinanceapp.domain.factory.BankAccountFactory;
 import com.example.hseshellfinanceapp.domain.model.BankAccount;
 import com.example.hseshellfinanceapp.domain.model.Operation;
-import com.example.hseshellfinanceapp.domain.model.OperationType;
 import com.example.hseshellfinanceapp.repository.BankAccountRepository;
+import com.example.hseshellfinanceapp.repository.DailyRollupRepository;
 import com.example.hseshellfinanceapp.repository.OperationRepository;
+import com.example.hseshellfinanceapp.repository.OperationRepository.AccountTotals;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,15 +26,18 @@ public class BankAccountFacade {
     private final BankAccountRepository bankAccountRepository;
     private final OperationRepository operationRepository;
     private final BankAccountFactory bankAccountFactory;
+    private final DailyRollupRepository dailyRollupRepository;
 
     @Autowired
     public BankAccountFacade(
             BankAccountRepository bankAccountRepository,
             OperationRepository operationRepository,
-            BankAccountFactory bankAccountFactory) {
+            BankAccountFactory bankAccountFactory,
+            DailyRollupRepository dailyRollupRepository) {
         this.bankAccountRepository = bankAccountRepository;
         this.operationRepository = operationRepository;
         this.bankAccountFactory = bankAccountFactory;
+        this.dailyRollupRepository = dailyRollupRepository;
     }
 
     public BankAccount createAccount(String name, BigDecimal initialBalance) {
@@ -48,6 +53,10 @@ public class BankAccountFacade {
         return bankAccountRepository.findAll();
     }
 
+    public Map<UUID, String> getAccountNames() {
+        return bankAccountRepository.findAllNames();
+    }
+
     public Optional<BankAccount> getAccountById(UUID id) {
         return bankAccountRepository.findById(id);
     }
@@ -74,6 +83,7 @@ public class BankAccountFacade {
         }
 
         operationRepository.deleteByBankAccountId(id);
+        dailyRollupRepository.deleteByAccountId(id);
 
         return bankAccountRepository.deleteById(id);
     }
@@ -90,10 +100,7 @@ public class BankAccountFacade {
         LocalDateTime startDateTime = startDate.atStartOfDay();
         LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay().minusNanos(1);
 
-        return operationRepository.findByDateRange(startDateTime, endDateTime)
-                .stream()
-                .filter(op -> op.getBankAccountId().equals(accountId))
-                .toList();
+        return operationRepository.findByBankAccountIdAndDateRange(accountId, startDateTime, endDateTime);
     }
 
     public List<Operation> getAccountIncomeOperations(UUID accountId) {
@@ -108,30 +115,21 @@ public class BankAccountFacade {
         return bankAccountRepository.recalculateBalance(accountId);
     }
 
+    @Transactional(readOnly = true)
     public AccountBalanceSummary getBalanceSummary(UUID accountId, LocalDate startDate, LocalDate endDate) {
         if (!bankAccountRepository.existsById(accountId)) {
             throw new IllegalArgumentException("Account not found: " + accountId);
         }
 
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay().minusNanos(1);
-
-        BigDecimal totalIncome = operationRepository.sumByDateRangeAndType(
-                startDateTime, endDateTime, OperationType.INCOME);
-
-        BigDecimal totalExpenses = operationRepository.sumByDateRangeAndType(
-                startDateTime, endDateTime, OperationType.EXPENSE);
-
-        if (totalIncome == null) {
-            totalIncome = BigDecimal.ZERO;
-        }
-        if (totalExpenses == null) {
-            totalExpenses = BigDecimal.ZERO;
-        }
+        AccountTotals totals = dailyRollupRepository.sumByAccountIdAndDateRange(accountId, startDate, endDate);
 
-        BigDecimal netChange = totalIncome.subtract(totalExpenses);
+        return new AccountBalanceSummary(totals.income(), totals.expense(), totals.net());
+    }
 
-        return new AccountBalanceSummary(totalIncome, totalExpenses, netChange);
+    // Dashboard view: income, expenses and net change of every account from one grouped query
+    @Transactional(readOnly = true)
+    public List<AccountTotals> getBalanceSummaries(LocalDate startDate, LocalDate endDate) {
+        return dailyRollupRepository.sumGroupedByAccount(startDate, endDate);
     }
 
     public static class AccountBalanceSummary {
@@ -1,8 +1,8 @@
 package com.example.hseshellfinanceapp.facade;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -12,7 +12,9 @@ import com.example.hseshellfinanceapp.domain.factory.CategoryFactory;
 import com.example.hseshellfinanceapp.domain.model.Category;
 import com.example.hseshellfinanceapp.domain.model.OperationType;
 import com.example.hseshellfinanceapp.repository.CategoryRepository;
+import com.example.hseshellfinanceapp.repository.DailyRollupRepository;
 import com.example.hseshellfinanceapp.repository.OperationRepository;
+import com.example.hseshellfinanceapp.repository.OperationRepository.CategoryTotal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,15 +25,18 @@ public class CategoryFacade {
     private final CategoryRepository categoryRepository;
     private final OperationRepository operationRepository;
     private final CategoryFactory categoryFactory;
+    private final DailyRollupRepository dailyRollupRepository;
 
     @Autowired
     public CategoryFacade(
             CategoryRepository categoryRepository,
             OperationRepository operationRepository,
-            CategoryFactory categoryFactory) {
+            CategoryFactory categoryFactory,
+            DailyRollupRepository dailyRollupRepository) {
         this.categoryRepository = categoryRepository;
         this.operationRepository = operationRepository;
         this.categoryFactory = categoryFactory;
+        this.dailyRollupRepository = dailyRollupRepository;
     }
 
     public Category createCategory(String name, OperationType type) {
@@ -51,6 +56,10 @@ public class CategoryFacade {
         return categoryRepository.findAllExpenseCategories();
     }
 
+    public Map<UUID, String> getCategoryNames() {
+        return categoryRepository.findAllNames();
+    }
+
     public Optional<Category> getCategoryById(UUID id) {
         return categoryRepository.findById(id);
     }
@@ -75,53 +84,56 @@ public class CategoryFacade {
         return categoryRepository.deleteById(id);
     }
 
+    @Transactional(readOnly = true)
     public Map<String, BigDecimal> getSpendingByCategory() {
-        List<Category> expenseCategories = categoryRepository.findAllExpenseCategories();
-
-        Map<String, BigDecimal> result = new HashMap<>();
-
-        for (Category category : expenseCategories) {
-            BigDecimal total = operationRepository.sumByCategoryId(category.getId());
-            if (total != null && total.compareTo(BigDecimal.ZERO) > 0) {
-                result.put(category.getName(), total);
-            }
-        }
+        return getPositiveTotalsByCategory(OperationType.EXPENSE, null, null);
+    }
 
-        return result;
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> getSpendingByCategory(LocalDate startDate, LocalDate endDate) {
+        return getPositiveTotalsByCategory(OperationType.EXPENSE, startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
     public Map<String, BigDecimal> getIncomeByCategory() {
-        List<Category> incomeCategories = categoryRepository.findAllIncomeCategories();
-
-        Map<String, BigDecimal> result = new HashMap<>();
-
-        for (Category category : incomeCategories) {
-            BigDecimal total = operationRepository.sumByCategoryId(category.getId());
-            if (total != null && total.compareTo(BigDecimal.ZERO) > 0) {
-                result.put(category.getName(), total);
-            }
-        }
+        return getPositiveTotalsByCategory(OperationType.INCOME, null, null);
+    }
 
-        return result;
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> getIncomeByCategory(LocalDate startDate, LocalDate endDate) {
+        return getPositiveTotalsByCategory(OperationType.INCOME, startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
     public List<CategorySummary> getCategoriesSortedByAmount(OperationType type) {
-        List<Category> categories = categoryRepository.findByType(type);
+        return getCategoriesSortedByAmount(type, null, null);
+    }
 
-        List<CategorySummary> summaries = new ArrayList<>();
+    @Transactional(readOnly = true)
+    public List<CategorySummary> getCategoriesSortedByAmount(OperationType type, LocalDate startDate,
+                                                             LocalDate endDate) {
+        return sumByCategory(type, startDate, endDate)
+                .stream()
+                .map(total -> new CategorySummary(total.category(), total.total()))
+                .toList();
+    }
 
-        for (Category category : categories) {
-            BigDecimal total = operationRepository.sumByCategoryId(category.getId());
-            if (total == null) {
-                total = BigDecimal.ZERO;
-            }
+    private Map<String, BigDecimal> getPositiveTotalsByCategory(OperationType type, LocalDate startDate,
+                                                                LocalDate endDate) {
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
 
-            summaries.add(new CategorySummary(category, total));
+        for (CategoryTotal total : sumByCategory(type, startDate, endDate)) {
+            if (total.total().compareTo(BigDecimal.ZERO) > 0) {
+                result.put(total.category().getName(), total.total());
+            }
         }
 
-        summaries.sort((a, b) -> b.getAmount().compareTo(a.getAmount()));
+        return result;
+    }
 
-        return summaries;
+    // Ranges are whole days, so the daily rollups answer these without touching operation rows
+    private List<CategoryTotal> sumByCategory(OperationType type, LocalDate startDate, LocalDate endDate) {
+        return dailyRollupRepository.sumGroupedByCategory(type, startDate, endDate);
     }
 
     public static class CategorySummary {
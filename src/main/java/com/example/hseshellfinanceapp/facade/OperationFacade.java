@@ -1,12 +1,22 @@
 package com.example.hseshellfinanceapp.facade;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.example.hseshellfinanceapp.domain.factory.OperationFactory;
 import com.example.hseshellfinanceapp.domain.model.BankAccount;
@@ -15,29 +25,47 @@ import com.example.hseshellfinanceapp.domain.model.Operation;
 import com.example.hseshellfinanceapp.domain.model.OperationType;
 import com.example.hseshellfinanceapp.repository.BankAccountRepository;
 import com.example.hseshellfinanceapp.repository.CategoryRepository;
+import com.example.hseshellfinanceapp.repository.DailyRollupRepository;
+import com.example.hseshellfinanceapp.repository.DailyRollupRepository.PendingRollups;
+import com.example.hseshellfinanceapp.repository.DailyRollupRepository.RollupDrift;
+import com.example.hseshellfinanceapp.repository.ImportJournalRepository;
+import com.example.hseshellfinanceapp.repository.ImportJournalRepository.ImportCheckpoint;
 import com.example.hseshellfinanceapp.repository.OperationRepository;
+import com.example.hseshellfinanceapp.repository.OperationRepository.DateRange;
+import com.example.hseshellfinanceapp.repository.OperationRepository.MonthlyTotal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class OperationFacade {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAM_FETCH_SIZE = 500;
+
     private final OperationRepository operationRepository;
     private final BankAccountRepository bankAccountRepository;
     private final CategoryRepository categoryRepository;
     private final OperationFactory operationFactory;
+    private final ImportJournalRepository importJournalRepository;
+    private final DailyRollupRepository dailyRollupRepository;
 
     @Autowired
     public OperationFacade(
             OperationRepository operationRepository,
             BankAccountRepository bankAccountRepository,
             CategoryRepository categoryRepository,
-            OperationFactory operationFactory) {
+            OperationFactory operationFactory,
+            ImportJournalRepository importJournalRepository,
+            DailyRollupRepository dailyRollupRepository) {
         this.operationRepository = operationRepository;
         this.bankAccountRepository = bankAccountRepository;
         this.categoryRepository = categoryRepository;
         this.operationFactory = operationFactory;
+        this.importJournalRepository = importJournalRepository;
+        this.dailyRollupRepository = dailyRollupRepository;
     }
 
     @Transactional
@@ -48,10 +76,9 @@ public class OperationFacade {
             LocalDateTime date,
             String description) {
 
-        Optional<BankAccount> accountOpt = bankAccountRepository.findById(accountId);
         Optional<Category> categoryOpt = categoryRepository.findById(categoryId);
 
-        if (accountOpt.isEmpty() || categoryOpt.isEmpty()) {
+        if (categoryOpt.isEmpty()) {
             return Optional.empty();
         }
 
@@ -60,14 +87,17 @@ public class OperationFacade {
             throw new IllegalArgumentException("Category is not an income category");
         }
 
+        // The factory validates amount and date before any balance is touched
         Operation operation = operationFactory.createIncome(
                 accountId, amount, date, description, categoryId);
 
-        operation = operationRepository.save(operation);
-
-        bankAccountRepository.updateBalance(accountId, amount);
+        if (bankAccountRepository.updateBalance(accountId, amount).isEmpty()) {
+            return Optional.empty();
+        }
 
-        return Optional.of(operation);
+        Operation saved = operationRepository.save(operation);
+        dailyRollupRepository.add(List.of(saved));
+        return Optional.of(saved);
     }
 
     @Transactional
@@ -78,32 +108,31 @@ public class OperationFacade {
             LocalDateTime date,
             String description) {
 
-        Optional<BankAccount> accountOpt = bankAccountRepository.findById(accountId);
         Optional<Category> categoryOpt = categoryRepository.findById(categoryId);
 
-        if (accountOpt.isEmpty() || categoryOpt.isEmpty()) {
+        if (categoryOpt.isEmpty()) {
             return Optional.empty();
         }
 
-        BankAccount account = accountOpt.get();
         Category category = categoryOpt.get();
-
         if (category.getType() != OperationType.EXPENSE) {
             throw new IllegalArgumentException("Category is not an expense category");
         }
 
-        if (!account.hasSufficientFunds(amount)) {
-            throw new IllegalArgumentException("Insufficient funds in account");
-        }
-
         Operation operation = operationFactory.createExpense(
                 accountId, amount, date, description, categoryId);
 
-        operation = operationRepository.save(operation);
-
-        bankAccountRepository.updateBalance(accountId, amount.negate());
+        // The guarded update checks and debits the balance in one statement
+        if (bankAccountRepository.withdraw(accountId, amount).isEmpty()) {
+            if (!bankAccountRepository.existsById(accountId)) {
+                return Optional.empty();
+            }
+            throw new IllegalArgumentException("Insufficient funds in account");
+        }
 
-        return Optional.of(operation);
+        Operation saved = operationRepository.save(operation);
+        dailyRollupRepository.add(List.of(saved));
+        return Optional.of(saved);
     }
 
     @Transactional
@@ -121,6 +150,85 @@ public class OperationFacade {
         }
     }
 
+    // Inserts the chunk but only records its balance and rollup changes in totals. A transaction importing many
+    // chunks calls applyImportTotals once at the end, so account and rollup rows are not locked while it runs
+    @Transactional
+    public int importOperationsBatch(List<Operation> operations, ImportTotals totals) {
+        if (operations.isEmpty()) {
+            return 0;
+        }
+
+        List<Operation> created = new ArrayList<>(operations.size());
+        for (Operation operation : operations) {
+            LocalDateTime date = operation.getDate() != null ? operation.getDate() : LocalDateTime.now();
+            created.add(operationFactory.createOperation(
+                    operation.getType(),
+                    operation.getBankAccountId(),
+                    operation.getAmount(),
+                    date,
+                    operation.getDescription(),
+                    operation.getCategoryId()));
+        }
+
+        operationRepository.saveAll(created);
+        totals.add(created);
+
+        return created.size();
+    }
+
+    // Balances first, then rollups, both in key order: the same order every other writer uses. Expenses were
+    // checked against the balances read when the import started, so a net debit goes through the guarded
+    // withdraw and fails the import if another writer has spent the money since
+    @Transactional
+    public void applyImportTotals(ImportTotals totals) {
+        totals.balanceDeltas.forEach((accountId, delta) -> {
+            if (delta.signum() >= 0) {
+                bankAccountRepository.updateBalance(accountId, delta);
+            } else if (bankAccountRepository.withdraw(accountId, delta.negate()).isEmpty()) {
+                throw new IllegalArgumentException("Insufficient funds in account: " + accountId);
+            }
+        });
+        if (!totals.rollups.isEmpty()) {
+            dailyRollupRepository.add(totals.rollups);
+        }
+    }
+
+    @Transactional
+    public ImportCheckpoint startImport(UUID importId, String source) {
+        return importJournalRepository.start(importId, source);
+    }
+
+    // The chunk and its checkpoint commit together, so a crash never leaves rows without recorded progress.
+    // Ids are deterministic per source row: a replayed row is skipped by the insert and leaves balances alone
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int importOperationsCheckpoint(UUID importId, List<Operation> operations, long rowsConsumed) {
+        List<Operation> dated = new ArrayList<>(operations.size());
+        for (Operation operation : operations) {
+            dated.add(operation.getDate() != null ? operation : new Operation(operation.getId(),
+                    operation.getType(), operation.getBankAccountId(), operation.getAmount(), LocalDateTime.now(),
+                    operation.getDescription(), operation.getCategoryId()));
+        }
+
+        Set<UUID> inserted = operationRepository.saveAllIgnoringDuplicates(dated);
+        List<Operation> fresh = new ArrayList<>(inserted.size());
+        for (Operation operation : dated) {
+            if (inserted.contains(operation.getId())) {
+                fresh.add(operation);
+            }
+        }
+        ImportTotals totals = new ImportTotals();
+        totals.add(fresh);
+        applyImportTotals(totals);
+        importJournalRepository.advance(importId, rowsConsumed);
+
+        return inserted.size();
+    }
+
+    @Transactional
+    public void completeImport(UUID importId, long rowsConsumed) {
+        importJournalRepository.complete(importId, rowsConsumed);
+    }
+
     public Optional<Operation> getOperationById(UUID id) {
         return operationRepository.findById(id);
     }
@@ -129,6 +237,75 @@ public class OperationFacade {
         return operationRepository.findAll();
     }
 
+    // Keeps the connection open for the whole iteration so the cursor is not materialized up front
+    @Transactional(readOnly = true)
+    public void forEachOperation(Consumer<Operation> action) {
+        try (Stream<Operation> operations = operationRepository.streamAll(STREAM_FETCH_SIZE)) {
+            operations.forEach(action);
+        }
+    }
+
+    // The watermark is keyed on the batch numbers of the writing transactions, which are handed out in commit
+    // order. Operations added later with a backdated business date are picked up, and so are those of a long
+    // transaction that commits after the export. Returns the token for the next call
+    @Transactional(readOnly = true)
+    public String forEachOperationSince(String since, Consumer<Operation> action) {
+        ExportWatermark watermark = parseWatermark(since);
+        long upToSeq = Math.max(operationRepository.findLastBatchSeq(), watermark.seq());
+
+        try (Stream<Operation> operations = operationRepository.streamSince(
+                watermark.fromDate(), watermark.seq(), upToSeq, STREAM_FETCH_SIZE)) {
+            operations.forEach(action);
+        }
+
+        return encodeWatermark(upToSeq);
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachOperationBetween(LocalDateTime from, LocalDateTime to, Consumer<Operation> action) {
+        try (Stream<Operation> operations = operationRepository.streamBetween(from, to, STREAM_FETCH_SIZE)) {
+            operations.forEach(action);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<DateRange> getOperationDateRange() {
+        return operationRepository.findDateRange();
+    }
+
+    public OperationPage getOperationsPage(
+            UUID accountId,
+            OperationType type,
+            LocalDate startDate,
+            LocalDate endDate,
+            String pageToken,
+            int pageSize) {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        LocalDateTime startDateTime = startDate != null ? startDate.atStartOfDay() : null;
+        LocalDateTime endDateTime = endDate != null ? endDate.plusDays(1).atStartOfDay().minusNanos(1) : null;
+
+        PageCursor cursor = pageToken != null && !pageToken.isBlank() ? decodePageToken(pageToken) : null;
+
+        // One extra row tells whether another page exists without a separate count query
+        List<Operation> operations = operationRepository.findPage(
+                accountId, type, startDateTime, endDateTime,
+                cursor != null ? cursor.date() : null,
+                cursor != null ? cursor.id() : null,
+                pageSize + 1);
+
+        if (operations.size() <= pageSize) {
+            return new OperationPage(operations, null);
+        }
+
+        List<Operation> page = operations.subList(0, pageSize);
+        Operation last = page.get(pageSize - 1);
+
+        return new OperationPage(page, encodePageToken(last.getDate(), last.getId()));
+    }
+
     public List<Operation> getOperationsByType(OperationType type) {
         return operationRepository.findByType(type);
     }
@@ -167,23 +344,42 @@ public class OperationFacade {
 
         bankAccountRepository.updateBalance(accountId, adjustmentAmount);
 
-        return operationRepository.deleteById(operationId);
+        if (!operationRepository.deleteById(operationId)) {
+            return false;
+        }
+        dailyRollupRepository.remove(List.of(operation));
+        return true;
     }
 
-    public BigDecimal getTotalIncome(LocalDate startDate, LocalDate endDate) {
-        LocalDateTime start = startDate.atStartOfDay();
-        LocalDateTime end = endDate.plusDays(1).atStartOfDay().minusNanos(1);
+    // Backfill for operations written before the rollup table existed, or after it drifted
+    @Transactional
+    public int rebuildDailyRollups() {
+        return dailyRollupRepository.rebuild();
+    }
 
-        return operationRepository.sumByDateRangeAndType(start, end, OperationType.INCOME);
+    // One snapshot for both sides, so writes committing during the check do not show up as drift
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public RollupDrift checkDailyRollups() {
+        return dailyRollupRepository.findDrift();
     }
 
-    public BigDecimal getTotalExpenses(LocalDate startDate, LocalDate endDate) {
-        LocalDateTime start = startDate.atStartOfDay();
-        LocalDateTime end = endDate.plusDays(1).atStartOfDay().minusNanos(1);
+    @Transactional(readOnly = true)
+    public boolean areDailyRollupsMissing() {
+        return dailyRollupRepository.isMissingForExistingOperations();
+    }
+
+    // Period totals come from the daily rollups: whole days, so no operation rows are read
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalIncome(LocalDate startDate, LocalDate endDate) {
+        return dailyRollupRepository.sumByDateRangeAndType(startDate, endDate, OperationType.INCOME);
+    }
 
-        return operationRepository.sumByDateRangeAndType(start, end, OperationType.EXPENSE);
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalExpenses(LocalDate startDate, LocalDate endDate) {
+        return dailyRollupRepository.sumByDateRangeAndType(startDate, endDate, OperationType.EXPENSE);
     }
 
+    @Transactional(readOnly = true)
     public BigDecimal getBalanceDifference(LocalDate startDate, LocalDate endDate) {
         BigDecimal income = getTotalIncome(startDate, endDate);
         BigDecimal expenses = getTotalExpenses(startDate, endDate);
@@ -198,6 +394,36 @@ public class OperationFacade {
         return income.subtract(expenses);
     }
 
+    @Transactional(readOnly = true)
+    public List<MonthlySummary> getMonthlySummaries(YearMonth fromMonth, YearMonth toMonth) {
+        if (fromMonth.isAfter(toMonth)) {
+            throw new IllegalArgumentException("Start month cannot be after end month");
+        }
+
+        LocalDate start = fromMonth.atDay(1);
+        LocalDate end = toMonth.atEndOfMonth();
+
+        // Pre-fill every month so that months without operations are reported as zero
+        Map<YearMonth, BigDecimal[]> buckets = new LinkedHashMap<>();
+        for (YearMonth month = fromMonth; !month.isAfter(toMonth); month = month.plusMonths(1)) {
+            buckets.put(month, new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+        }
+
+        for (MonthlyTotal total : dailyRollupRepository.sumByMonthAndType(start, end)) {
+            BigDecimal[] bucket = buckets.get(total.month());
+            if (bucket == null || total.total() == null) {
+                continue;
+            }
+            int index = total.type() == OperationType.INCOME ? 0 : 1;
+            bucket[index] = bucket[index].add(total.total());
+        }
+
+        List<MonthlySummary> summaries = new ArrayList<>(buckets.size());
+        buckets.forEach((month, bucket) -> summaries.add(new MonthlySummary(month, bucket[0], bucket[1])));
+
+        return summaries;
+    }
+
     public Optional<OperationDetails> getOperationDetails(UUID operationId) {
         Optional<Operation> operationOpt = operationRepository.findById(operationId);
         if (operationOpt.isEmpty()) {
@@ -248,10 +474,132 @@ public class OperationFacade {
         LocalDateTime startDateTime = startDate.atStartOfDay();
         LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay().minusNanos(1);
 
-        return operationRepository.findByDateRange(startDateTime, endDateTime)
-                .stream()
-                .filter(op -> op.getBankAccountId().equals(accountId))
-                .toList();
+        return operationRepository.findByBankAccountIdAndDateRange(accountId, startDateTime, endDateTime);
+    }
+
+    private static String encodePageToken(LocalDateTime date, UUID id) {
+        String cursor = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PageCursor decodePageToken(String pageToken) {
+        try {
+            String cursor = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+            String[] parts = cursor.split("\\|", -1);
+            return new PageCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page token: " + pageToken);
+        }
+    }
+
+    private static String encodeWatermark(long seq) {
+        String watermark = "seq|" + seq;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(watermark.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Accepts an ISO timestamp, an ISO date (start of day) or a token returned by a previous export.
+    // A timestamp starts a first export with every operation dated at or after it
+    private static ExportWatermark parseWatermark(String since) {
+        try {
+            return new ExportWatermark(LocalDateTime.parse(since), 0L);
+        } catch (DateTimeParseException ignored) {
+            // Not a timestamp, try the other forms
+        }
+        try {
+            return new ExportWatermark(LocalDate.parse(since).atStartOfDay(), 0L);
+        } catch (DateTimeParseException ignored) {
+            // Not a date either, must be a token
+        }
+        try {
+            String watermark = new String(Base64.getUrlDecoder().decode(since), StandardCharsets.UTF_8);
+            String[] parts = watermark.split("\\|", -1);
+            if (parts.length != 2 || !parts[0].equals("seq")) {
+                throw new IllegalArgumentException(watermark);
+            }
+            return new ExportWatermark(null, Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid export watermark: " + since);
+        }
+    }
+
+    private record PageCursor(LocalDateTime date, UUID id) {
+    }
+
+    private record ExportWatermark(LocalDateTime fromDate, long seq) {
+    }
+
+    // Balance and rollup changes of imported operations that are still to be written, kept in key order
+    public static class ImportTotals {
+        private final Map<UUID, BigDecimal> balanceDeltas = new TreeMap<>();
+        private final PendingRollups rollups = new PendingRollups();
+
+        public void add(List<Operation> operations) {
+            for (Operation operation : operations) {
+                BigDecimal delta = operation.isIncome() ? operation.getAmount() : operation.getAmount().negate();
+                balanceDeltas.merge(operation.getBankAccountId(), delta, BigDecimal::add);
+            }
+            rollups.add(operations);
+        }
+
+        public boolean isEmpty() {
+            return balanceDeltas.isEmpty();
+        }
+    }
+
+    public static class OperationPage {
+        private final List<Operation> operations;
+        private final String nextPageToken;
+
+        public OperationPage(List<Operation> operations, String nextPageToken) {
+            this.operations = operations;
+            this.nextPageToken = nextPageToken;
+        }
+
+        public List<Operation> getOperations() {
+            return operations;
+        }
+
+        public String getNextPageToken() {
+            return nextPageToken;
+        }
+
+        public boolean hasNextPage() {
+            return nextPageToken != null;
+        }
+    }
+
+    public static class MonthlySummary {
+        private final YearMonth month;
+        private final BigDecimal totalIncome;
+        private final BigDecimal totalExpenses;
+
+        public MonthlySummary(YearMonth month, BigDecimal totalIncome, BigDecimal totalExpenses) {
+            this.month = month;
+            this.totalIncome = totalIncome;
+            this.totalExpenses = totalExpenses;
+        }
+
+        public YearMonth getMonth() {
+            return month;
+        }
+
+        public BigDecimal getTotalIncome() {
+            return totalIncome;
+        }
+
+        public BigDecimal getTotalExpenses() {
+            return totalExpenses;
+        }
+
+        public BigDecimal getNetChange() {
+            return totalIncome.subtract(totalExpenses);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: Income $%.2f, Expenses $%.2f, Net $%.2f",
+                    month, totalIncome, totalExpenses, getNetChange());
+        }
     }
 
     public static class OperationDetails {
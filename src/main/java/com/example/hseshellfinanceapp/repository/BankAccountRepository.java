@@ -2,6 +2,7 @@ package com.example.hseshellfinanceapp.repository;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -51,26 +52,22 @@ public class BankAccountRepository {
                 .map(this::mapToBankAccount);
     }
 
-    @Transactional
-    public BankAccount save(BankAccount bankAccount) {
-        boolean exists = dsl.fetchExists(
-                dsl.selectFrom(BANK_ACCOUNT)
-                        .where(BANK_ACCOUNT.ID.eq(bankAccount.getId()))
-        );
+    public Map<UUID, String> findAllNames() {
+        return dsl.select(BANK_ACCOUNT.ID, BANK_ACCOUNT.NAME)
+                .from(BANK_ACCOUNT)
+                .fetchMap(BANK_ACCOUNT.ID, BANK_ACCOUNT.NAME);
+    }
 
-        if (exists) {
-            dsl.update(BANK_ACCOUNT)
-                    .set(BANK_ACCOUNT.NAME, bankAccount.getName())
-                    .set(BANK_ACCOUNT.BALANCE, bankAccount.getBalance())
-                    .where(BANK_ACCOUNT.ID.eq(bankAccount.getId()))
-                    .execute();
-        } else {
-            dsl.insertInto(BANK_ACCOUNT)
-                    .set(BANK_ACCOUNT.ID, bankAccount.getId())
-                    .set(BANK_ACCOUNT.NAME, bankAccount.getName())
-                    .set(BANK_ACCOUNT.BALANCE, bankAccount.getBalance())
-                    .execute();
-        }
+    public BankAccount save(BankAccount bankAccount) {
+        dsl.insertInto(BANK_ACCOUNT)
+                .set(BANK_ACCOUNT.ID, bankAccount.getId())
+                .set(BANK_ACCOUNT.NAME, bankAccount.getName())
+                .set(BANK_ACCOUNT.BALANCE, bankAccount.getBalance())
+                .onConflict(BANK_ACCOUNT.ID)
+                .doUpdate()
+                .set(BANK_ACCOUNT.NAME, bankAccount.getName())
+                .set(BANK_ACCOUNT.BALANCE, bankAccount.getBalance())
+                .execute();
 
         return bankAccount;
     }
@@ -83,26 +80,25 @@ public class BankAccountRepository {
         return affected > 0;
     }
 
-    @Transactional
+    // Applies the delta inside the database so concurrent updates cannot overwrite each other
     public Optional<BankAccount> updateBalance(UUID id, BigDecimal amount) {
-        Record record = dsl.select(BANK_ACCOUNT.BALANCE)
-                .from(BANK_ACCOUNT)
+        return dsl.update(BANK_ACCOUNT)
+                .set(BANK_ACCOUNT.BALANCE, BANK_ACCOUNT.BALANCE.plus(amount))
                 .where(BANK_ACCOUNT.ID.eq(id))
-                .fetchOne();
-
-        if (record == null) {
-            return Optional.empty();
-        }
-
-        BigDecimal currentBalance = record.get(BANK_ACCOUNT.BALANCE);
-        BigDecimal newBalance = currentBalance.add(amount);
+                .returning()
+                .fetchOptional()
+                .map(this::mapToBankAccount);
+    }
 
-        dsl.update(BANK_ACCOUNT)
-                .set(BANK_ACCOUNT.BALANCE, newBalance)
+    // Empty when the account is missing or the balance does not cover the amount
+    public Optional<BankAccount> withdraw(UUID id, BigDecimal amount) {
+        return dsl.update(BANK_ACCOUNT)
+                .set(BANK_ACCOUNT.BALANCE, BANK_ACCOUNT.BALANCE.minus(amount))
                 .where(BANK_ACCOUNT.ID.eq(id))
-                .execute();
-
-        return findById(id);
+                .and(BANK_ACCOUNT.BALANCE.greaterOrEqual(amount))
+                .returning()
+                .fetchOptional()
+                .map(this::mapToBankAccount);
     }
 
     @Transactional
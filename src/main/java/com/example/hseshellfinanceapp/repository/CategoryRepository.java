@@ -1,6 +1,7 @@
 package com.example.hseshellfinanceapp.repository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -65,28 +66,22 @@ public class CategoryRepository {
         return findByType(OperationType.EXPENSE);
     }
 
-    @Transactional
-    public Category save(Category category) {
-        boolean exists = dsl.fetchExists(
-                dsl.selectFrom(CATEGORY)
-                        .where(CATEGORY.ID.eq(category.getId()))
-        );
+    public Map<UUID, String> findAllNames() {
+        return dsl.select(CATEGORY.ID, CATEGORY.NAME)
+                .from(CATEGORY)
+                .fetchMap(CATEGORY.ID, CATEGORY.NAME);
+    }
 
-        if (exists) {
-            // Update existing category
-            dsl.update(CATEGORY)
-                    .set(CATEGORY.NAME, category.getName())
-                    .set(CATEGORY.TYPE, category.getType().name())
-                    .where(CATEGORY.ID.eq(category.getId()))
-                    .execute();
-        } else {
-            // Create new category
-            dsl.insertInto(CATEGORY)
-                    .set(CATEGORY.ID, category.getId())
-                    .set(CATEGORY.NAME, category.getName())
-                    .set(CATEGORY.TYPE, category.getType().name())
-                    .execute();
-        }
+    public Category save(Category category) {
+        dsl.insertInto(CATEGORY)
+                .set(CATEGORY.ID, category.getId())
+                .set(CATEGORY.NAME, category.getName())
+                .set(CATEGORY.TYPE, category.getType().name())
+                .onConflict(CATEGORY.ID)
+                .doUpdate()
+                .set(CATEGORY.NAME, category.getName())
+                .set(CATEGORY.TYPE, category.getType().name())
+                .execute();
 
         return category;
     }
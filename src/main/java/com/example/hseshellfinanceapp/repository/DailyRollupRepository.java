@@ -0,0 +1,318 @@
+package com.example.hseshellfinanceapp.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import com.example.hseshellfinanceapp.domain.model.Category;
+import com.example.hseshellfinanceapp.domain.model.Operation;
+import com.example.hseshellfinanceapp.domain.model.OperationType;
+import com.example.hseshellfinanceapp.repository.OperationRepository.AccountTotals;
+import com.example.hseshellfinanceapp.repository.OperationRepository.CategoryTotal;
+import com.example.hseshellfinanceapp.repository.OperationRepository.MonthlyTotal;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Query;
+import org.jooq.Record;
+import org.jooq.Record6;
+import org.jooq.Select;
+import org.jooq.SQLDialect;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.example.hseshellfinanceapp.jooq.Tables.BANK_ACCOUNT;
+import static com.example.hseshellfinanceapp.jooq.Tables.CATEGORY;
+import static com.example.hseshellfinanceapp.jooq.Tables.DAILY_ROLLUP;
+import static com.example.hseshellfinanceapp.jooq.Tables.OPERATION;
+
+// One row per (account, category, day, type) holding the sum and count of its operations.
+// Period reports read these buckets, so their cost grows with the number of days, not operations
+@Repository
+public class DailyRollupRepository {
+
+    private static final Comparator<BucketKey> KEY_ORDER = Comparator
+            .comparing(BucketKey::accountId)
+            .thenComparing(BucketKey::categoryId)
+            .thenComparing(BucketKey::day)
+            .thenComparing(BucketKey::type);
+
+    private final DSLContext dsl;
+
+    @Autowired
+    public DailyRollupRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    // Upserts add to the stored values, so concurrent writers to the same bucket never overwrite each other
+    @Transactional
+    public void add(List<Operation> operations) {
+        PendingRollups pending = new PendingRollups();
+        pending.add(operations);
+        add(pending);
+    }
+
+    @Transactional
+    public void add(PendingRollups pending) {
+        List<Query> queries = new ArrayList<>();
+        pending.buckets.forEach((key, bucket) -> queries.add(
+                dsl.insertInto(DAILY_ROLLUP)
+                        .set(DAILY_ROLLUP.ACCOUNT_ID, key.accountId())
+                        .set(DAILY_ROLLUP.CATEGORY_ID, key.categoryId())
+                        .set(DAILY_ROLLUP.DAY, key.day())
+                        .set(DAILY_ROLLUP.TYPE, key.type().name())
+                        .set(DAILY_ROLLUP.TOTAL, bucket.total)
+                        .set(DAILY_ROLLUP.COUNT, bucket.count)
+                        .onConflict(DAILY_ROLLUP.ACCOUNT_ID, DAILY_ROLLUP.CATEGORY_ID, DAILY_ROLLUP.DAY,
+                                DAILY_ROLLUP.TYPE)
+                        .doUpdate()
+                        .set(DAILY_ROLLUP.TOTAL, DAILY_ROLLUP.TOTAL.plus(bucket.total))
+                        .set(DAILY_ROLLUP.COUNT, DAILY_ROLLUP.COUNT.plus(bucket.count))));
+        execute(queries);
+    }
+
+    // Buckets that end up without operations are dropped rather than kept at zero
+    @Transactional
+    public void remove(List<Operation> operations) {
+        List<Query> queries = new ArrayList<>();
+        group(operations).forEach((key, bucket) -> {
+            queries.add(dsl.update(DAILY_ROLLUP)
+                    .set(DAILY_ROLLUP.TOTAL, DAILY_ROLLUP.TOTAL.minus(bucket.total))
+                    .set(DAILY_ROLLUP.COUNT, DAILY_ROLLUP.COUNT.minus(bucket.count))
+                    .where(matches(key)));
+            queries.add(dsl.deleteFrom(DAILY_ROLLUP)
+                    .where(matches(key))
+                    .and(DAILY_ROLLUP.COUNT.le(0L)));
+        });
+        execute(queries);
+    }
+
+    @Transactional
+    public int deleteByAccountId(UUID accountId) {
+        return dsl.deleteFrom(DAILY_ROLLUP)
+                .where(DAILY_ROLLUP.ACCOUNT_ID.eq(accountId))
+                .execute();
+    }
+
+    // Backfill: recomputes every bucket from the operation table in one INSERT ... SELECT. Writers are kept out
+    // first: an add() landing between the DELETE and the INSERT would hit the primary key, and one committing
+    // in between would be lost. Readers are not blocked
+    @Transactional
+    public int rebuild() {
+        if (dsl.dialect().family() == SQLDialect.POSTGRES) {
+            dsl.execute("LOCK TABLE {0}, {1} IN SHARE ROW EXCLUSIVE MODE", OPERATION, DAILY_ROLLUP);
+        } else {
+            // No LOCK TABLE elsewhere (H2). Every writer updates the balance of its accounts before it commits,
+            // so holding all account rows makes them wait for the rebuild instead
+            dsl.select(BANK_ACCOUNT.ID).from(BANK_ACCOUNT).orderBy(BANK_ACCOUNT.ID).forUpdate().fetch();
+        }
+        dsl.deleteFrom(DAILY_ROLLUP).execute();
+
+        return dsl.insertInto(DAILY_ROLLUP,
+                        DAILY_ROLLUP.ACCOUNT_ID, DAILY_ROLLUP.CATEGORY_ID, DAILY_ROLLUP.DAY, DAILY_ROLLUP.TYPE,
+                        DAILY_ROLLUP.TOTAL, DAILY_ROLLUP.COUNT)
+                .select(expectedBuckets())
+                .execute();
+    }
+
+    // Reconciliation: compares the stored buckets with the ones the operation table implies, without writing.
+    // A bucket with a wrong total or count shows up on both sides
+    public RollupDrift findDrift() {
+        int missing = dsl.fetchCount(expectedBuckets().except(storedBuckets()));
+        int stale = dsl.fetchCount(storedBuckets().except(expectedBuckets()));
+        return new RollupDrift(missing, stale);
+    }
+
+    // True for an empty rollup table next to existing operations, as on the first start after upgrading. Only
+    // that case is caught: a partly filled or drifted table looks fine here
+    public boolean isMissingForExistingOperations() {
+        return !dsl.fetchExists(DAILY_ROLLUP) && dsl.fetchExists(OPERATION);
+    }
+        return rebuild();
+    }
+
+    public BigDecimal sumByDateRangeAndType(LocalDate startDate, LocalDate endDate, OperationType type) {
+        return dsl.select(DAILY_ROLLUP.TOTAL.sum())
+                .from(DAILY_ROLLUP)
+                .where(DAILY_ROLLUP.DAY.between(startDate, endDate))
+                .and(DAILY_ROLLUP.TYPE.eq(type.name()))
+                .fetchOne(0, BigDecimal.class);
+    }
+
+    public List<MonthlyTotal> sumByMonthAndType(LocalDate startDate, LocalDate endDate) {
+        Field<Integer> year = DSL.year(DAILY_ROLLUP.DAY).as("year");
+        Field<Integer> month = DSL.month(DAILY_ROLLUP.DAY).as("month");
+        Field<BigDecimal> total = DAILY_ROLLUP.TOTAL.sum().as("total");
+
+        return dsl.select(year, month, DAILY_ROLLUP.TYPE, total)
+                .from(DAILY_ROLLUP)
+                .where(DAILY_ROLLUP.DAY.between(startDate, endDate))
+                .groupBy(DSL.year(DAILY_ROLLUP.DAY), DSL.month(DAILY_ROLLUP.DAY), DAILY_ROLLUP.TYPE)
+                .fetch(record -> new MonthlyTotal(
+                        YearMonth.of(record.get(year), record.get(month)),
+                        OperationType.valueOf(record.get(DAILY_ROLLUP.TYPE)),
+                        record.get(total)
+                ));
+    }
+
+    // Income and expenses of one account from its buckets; the primary key starts with account_id
+    public AccountTotals sumByAccountIdAndDateRange(UUID accountId, LocalDate startDate, LocalDate endDate) {
+        Field<BigDecimal> income = sumOfType(OperationType.INCOME).as("income");
+        Field<BigDecimal> expense = sumOfType(OperationType.EXPENSE).as("expense");
+
+        Record record = dsl.select(income, expense)
+                .from(DAILY_ROLLUP)
+                .where(DAILY_ROLLUP.ACCOUNT_ID.eq(accountId))
+                .and(DAILY_ROLLUP.DAY.between(startDate, endDate))
+                .fetchOne();
+
+        return new AccountTotals(accountId, null, record.get(income), record.get(expense));
+    }
+
+    // Every account, including those without operations in the range
+    public List<AccountTotals> sumGroupedByAccount(LocalDate startDate, LocalDate endDate) {
+        Field<BigDecimal> income = sumOfType(OperationType.INCOME).as("income");
+        Field<BigDecimal> expense = sumOfType(OperationType.EXPENSE).as("expense");
+
+        return dsl.select(BANK_ACCOUNT.ID, BANK_ACCOUNT.NAME, income, expense)
+                .from(BANK_ACCOUNT)
+                .leftJoin(DAILY_ROLLUP).on(DAILY_ROLLUP.ACCOUNT_ID.eq(BANK_ACCOUNT.ID))
+                .and(DAILY_ROLLUP.DAY.between(startDate, endDate))
+                .groupBy(BANK_ACCOUNT.ID, BANK_ACCOUNT.NAME)
+                .orderBy(BANK_ACCOUNT.NAME)
+                .fetch(record -> new AccountTotals(
+                        record.get(BANK_ACCOUNT.ID),
+                        record.get(BANK_ACCOUNT.NAME),
+                        record.get(income),
+                        record.get(expense)
+                ));
+    }
+
+    // Every category of the type comes back, those without operations in the range with a zero total.
+    // Both dates are optional
+    public List<CategoryTotal> sumGroupedByCategory(OperationType type, LocalDate startDate, LocalDate endDate) {
+        List<Condition> conditions = new ArrayList<>();
+        if (startDate != null) {
+            conditions.add(DAILY_ROLLUP.DAY.greaterOrEqual(startDate));
+        }
+        if (endDate != null) {
+            conditions.add(DAILY_ROLLUP.DAY.lessOrEqual(endDate));
+        }
+
+        Table<?> totals = dsl.select(DAILY_ROLLUP.CATEGORY_ID, DAILY_ROLLUP.TOTAL.sum().as("total"))
+                .from(DAILY_ROLLUP)
+                .where(conditions)
+                .groupBy(DAILY_ROLLUP.CATEGORY_ID)
+                .asTable("totals");
+
+        Field<UUID> totalsCategoryId = totals.field(DAILY_ROLLUP.CATEGORY_ID);
+        Field<BigDecimal> total = DSL.coalesce(totals.field("total", BigDecimal.class), BigDecimal.ZERO).as("total");
+
+        return dsl.select(CATEGORY.ID, CATEGORY.NAME, CATEGORY.TYPE, total)
+                .from(CATEGORY)
+                .leftJoin(totals).on(totalsCategoryId.eq(CATEGORY.ID))
+                .where(type != null ? CATEGORY.TYPE.eq(type.name()) : DSL.noCondition())
+                .orderBy(total.desc())
+                .fetch(record -> new CategoryTotal(
+                        new Category(
+                                record.get(CATEGORY.ID),
+                                record.get(CATEGORY.NAME),
+                                OperationType.valueOf(record.get(CATEGORY.TYPE))
+                        ),
+                        record.get(total)
+                ));
+    }
+
+    private Field<BigDecimal> sumOfType(OperationType type) {
+        return DSL.coalesce(
+                DSL.sum(DSL.when(DAILY_ROLLUP.TYPE.eq(type.name()), DAILY_ROLLUP.TOTAL).else_(BigDecimal.ZERO)),
+                BigDecimal.ZERO);
+    }
+
+    private Select<Record6<UUID, UUID, LocalDate, String, BigDecimal, Long>> expectedBuckets() {
+        Field<LocalDate> day = OPERATION.DATE.cast(SQLDataType.LOCALDATE).as("day");
+        return dsl.select(OPERATION.BANK_ACCOUNT_ID, OPERATION.CATEGORY_ID, day, OPERATION.TYPE,
+                        OPERATION.AMOUNT.sum().as("total"), DSL.count().cast(SQLDataType.BIGINT).as("count"))
+                .from(OPERATION)
+                .groupBy(OPERATION.BANK_ACCOUNT_ID, OPERATION.CATEGORY_ID, OPERATION.DATE.cast(SQLDataType.LOCALDATE),
+                        OPERATION.TYPE);
+    }
+
+    private Select<Record6<UUID, UUID, LocalDate, String, BigDecimal, Long>> storedBuckets() {
+        return dsl.select(DAILY_ROLLUP.ACCOUNT_ID, DAILY_ROLLUP.CATEGORY_ID, DAILY_ROLLUP.DAY, DAILY_ROLLUP.TYPE,
+                        DAILY_ROLLUP.TOTAL, DAILY_ROLLUP.COUNT)
+                .from(DAILY_ROLLUP);
+    }
+
+    private Map<BucketKey, Bucket> group(List<Operation> operations) {
+        PendingRollups pending = new PendingRollups();
+        pending.add(operations);
+        return pending.buckets;
+    }
+
+    private static BucketKey keyOf(Operation operation) {
+        return new BucketKey(operation.getBankAccountId(), operation.getCategoryId(),
+                operation.getDate().toLocalDate(), operation.getType());
+    }
+
+    private Condition matches(BucketKey key) {
+        return DAILY_ROLLUP.ACCOUNT_ID.eq(key.accountId())
+                .and(DAILY_ROLLUP.CATEGORY_ID.eq(key.categoryId()))
+                .and(DAILY_ROLLUP.DAY.eq(key.day()))
+                .and(DAILY_ROLLUP.TYPE.eq(key.type().name()));
+    }
+
+    private void execute(List<Query> queries) {
+        if (queries.size() == 1) {
+            queries.get(0).execute();
+        } else if (!queries.isEmpty()) {
+            dsl.batch(queries).execute();
+        }
+    }
+
+    // Bucket totals that still have to be written. They are kept in key order, so two transactions touching
+    // the same buckets lock them in the same order and cannot deadlock
+    // Buckets the rollups lack or hold wrongly, and stored buckets no operations account for
+    public record RollupDrift(int missing, int stale) {
+        public boolean isEmpty() {
+            return missing == 0 && stale == 0;
+        }
+    }
+
+    public static class PendingRollups {
+        private final Map<BucketKey, Bucket> buckets = new TreeMap<>(KEY_ORDER);
+
+        public void add(List<Operation> operations) {
+            for (Operation operation : operations) {
+                buckets.computeIfAbsent(keyOf(operation), key -> new Bucket()).add(operation.getAmount());
+            }
+        }
+
+        public boolean isEmpty() {
+            return buckets.isEmpty();
+        }
+    }
+
+    private record BucketKey(UUID accountId, UUID categoryId, LocalDate day, OperationType type) {
+    }
+
+    private static class Bucket {
+        private BigDecimal total = BigDecimal.ZERO;
+        private long count;
+
+        void add(BigDecimal amount) {
+            total = total.add(amount);
+            count++;
+        }
+    }
+}
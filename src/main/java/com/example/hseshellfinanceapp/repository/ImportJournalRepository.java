@@ -0,0 +1,92 @@
+package com.example.hseshellfinanceapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import static com.example.hseshellfinanceapp.jooq.Tables.IMPORT_JOURNAL;
+
+@Repository
+public class ImportJournalRepository {
+
+    private final DSLContext dsl;
+
+    @Autowired
+    public ImportJournalRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    public Optional<ImportCheckpoint> findById(UUID id) {
+        return fetch(id, true);
+    }
+
+    // Creates the entry on the first run; a rerun of the same import gets the existing checkpoint back,
+    // marked as resumed
+    public ImportCheckpoint start(UUID id, String source) {
+        int created = dsl.insertInto(IMPORT_JOURNAL)
+                .set(IMPORT_JOURNAL.ID, id)
+                .set(IMPORT_JOURNAL.SOURCE, source)
+                .set(IMPORT_JOURNAL.ROWS_COMMITTED, 0L)
+                .set(IMPORT_JOURNAL.COMPLETED, false)
+                .set(IMPORT_JOURNAL.UPDATED_AT, LocalDateTime.now())
+                .onConflict(IMPORT_JOURNAL.ID)
+                .doNothing()
+                .execute();
+
+        return fetch(id, created == 0).orElseThrow();
+    }
+
+    public void advance(UUID id, long rowsCommitted) {
+        dsl.update(IMPORT_JOURNAL)
+                .set(IMPORT_JOURNAL.ROWS_COMMITTED, rowsCommitted)
+                .set(IMPORT_JOURNAL.UPDATED_AT, LocalDateTime.now())
+                .where(IMPORT_JOURNAL.ID.eq(id))
+                .execute();
+    }
+
+    public void complete(UUID id, long rowsCommitted) {
+        dsl.update(IMPORT_JOURNAL)
+                .set(IMPORT_JOURNAL.ROWS_COMMITTED, rowsCommitted)
+                .set(IMPORT_JOURNAL.COMPLETED, true)
+                .set(IMPORT_JOURNAL.UPDATED_AT, LocalDateTime.now())
+                .where(IMPORT_JOURNAL.ID.eq(id))
+                .execute();
+    }
+
+    private Optional<ImportCheckpoint> fetch(UUID id, boolean resumed) {
+        Record record = dsl.select()
+                .from(IMPORT_JOURNAL)
+                .where(IMPORT_JOURNAL.ID.eq(id))
+                .fetchOne();
+
+        return Optional.ofNullable(record).map(found -> mapToCheckpoint(found, resumed));
+    }
+
+    private ImportCheckpoint mapToCheckpoint(Record record, boolean resumed) {
+        return new ImportCheckpoint(
+                record.get(IMPORT_JOURNAL.ID),
+                record.get(IMPORT_JOURNAL.SOURCE),
+                record.get(IMPORT_JOURNAL.ROWS_COMMITTED),
+                record.get(IMPORT_JOURNAL.COMPLETED),
+                record.get(IMPORT_JOURNAL.UPDATED_AT),
+                resumed
+        );
+    }
+
+    // rowsCommitted counts source operation rows (imported or rejected) covered by committed chunks;
+    // resumed is set when the entry already existed, i.e. an earlier run of the same import got this far
+    public record ImportCheckpoint(
+            UUID id,
+            String source,
+            long rowsCommitted,
+            boolean completed,
+            LocalDateTime updatedAt,
+            boolean resumed
+    ) {
+    }
+}
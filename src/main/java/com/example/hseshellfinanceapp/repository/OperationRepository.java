@@ -3,23 +3,38 @@ package com.example.hseshellfinanceapp.repository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import com.example.hseshellfinanceapp.domain.model.Category;
 import com.example.hseshellfinanceapp.domain.model.Operation;
 import com.example.hseshellfinanceapp.domain.model.OperationType;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.Record;
+import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import static com.example.hseshellfinanceapp.jooq.tables.Operation.OPERATION;
+import static com.example.hseshellfinanceapp.jooq.tables.OperationBatch.OPERATION_BATCH;
+import static com.example.hseshellfinanceapp.jooq.tables.OperationClock.OPERATION_CLOCK;
 
 @Repository
 public class OperationRepository {
 
+    public static final int MAX_BATCH_ROWS = 65_535 / 8;
+
     private final DSLContext dsl;
 
     @Autowired
@@ -43,6 +58,73 @@ public class OperationRepository {
                 .map(this::mapToOperation);
     }
 
+    // The caller must close the stream; rows are pulled from a server-side cursor in fetchSize chunks
+    public Stream<Operation> streamAll(int fetchSize) {
+        return dsl.select()
+                .from(OPERATION)
+                .fetchSize(fetchSize)
+                .fetchStream()
+                .map(this::mapToOperation);
+    }
+
+    // Highest batch number visible to this transaction; 0 before the first batch. Every batch up to it has
+    // committed, since batches are numbered in commit order
+    public long findLastBatchSeq() {
+        Long last = dsl.select(DSL.max(OPERATION_BATCH.SEQ)).from(OPERATION_BATCH).fetchOne(0, Long.class);
+        return last != null ? last : 0L;
+    }
+
+    // Rows of the batches numbered (afterSeq, upToSeq] in commit order over idx_operation_batch_seq; a non-null
+    // fromDate additionally keeps only operations dated at or after it. A first export (afterSeq 0) also includes
+    // rows written before operations were batched
+    public Stream<Operation> streamSince(LocalDateTime fromDate, long afterSeq, long upToSeq, int fetchSize) {
+        List<Condition> conditions = new ArrayList<>();
+        Condition inRange = OPERATION_BATCH.SEQ.greaterThan(afterSeq).and(OPERATION_BATCH.SEQ.lessOrEqual(upToSeq));
+        conditions.add(afterSeq == 0 ? inRange.or(OPERATION.BATCH_ID.isNull()) : inRange);
+        if (fromDate != null) {
+            conditions.add(OPERATION.DATE.greaterOrEqual(fromDate));
+        }
+
+        return dsl.select(OPERATION.fields())
+                .from(OPERATION)
+                .leftJoin(OPERATION_BATCH).on(OPERATION_BATCH.ID.eq(OPERATION.BATCH_ID))
+                .where(conditions)
+                .orderBy(OPERATION_BATCH.SEQ.asc().nullsFirst(), OPERATION.ID.asc())
+                .fetchSize(fetchSize)
+                .fetchStream()
+                .map(this::mapToOperation);
+    }
+
+    // Half-open [from, to) slice in (date, id) order; a null bound leaves that side open
+    public Stream<Operation> streamBetween(LocalDateTime from, LocalDateTime to, int fetchSize) {
+        List<Condition> conditions = new ArrayList<>();
+        if (from != null) {
+            conditions.add(OPERATION.DATE.greaterOrEqual(from));
+        }
+        if (to != null) {
+            conditions.add(OPERATION.DATE.lessThan(to));
+        }
+
+        return dsl.select()
+                .from(OPERATION)
+                .where(conditions)
+                .orderBy(OPERATION.DATE.asc(), OPERATION.ID.asc())
+                .fetchSize(fetchSize)
+                .fetchStream()
+                .map(this::mapToOperation);
+    }
+
+    public Optional<DateRange> findDateRange() {
+        Field<LocalDateTime> first = DSL.min(OPERATION.DATE).as("first_date");
+        Field<LocalDateTime> last = DSL.max(OPERATION.DATE).as("last_date");
+
+        Record record = dsl.select(first, last).from(OPERATION).fetchOne();
+        if (record == null || record.get(first) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new DateRange(record.get(first), record.get(last)));
+    }
+
     public List<Operation> findByBankAccountId(UUID bankAccountId) {
         return dsl.select()
                 .from(OPERATION)
@@ -76,6 +158,18 @@ public class OperationRepository {
                 .map(this::mapToOperation);
     }
 
+    // Served by idx_operation_bank_account_date: the account and the date bounds select one index range
+    public List<Operation> findByBankAccountIdAndDateRange(UUID bankAccountId, LocalDateTime startDate,
+                                                           LocalDateTime endDate) {
+        return dsl.select()
+                .from(OPERATION)
+                .where(OPERATION.BANK_ACCOUNT_ID.eq(bankAccountId))
+                .and(OPERATION.DATE.between(startDate, endDate))
+                .orderBy(OPERATION.DATE.desc())
+                .fetch()
+                .map(this::mapToOperation);
+    }
+
     public List<Operation> findByDate(LocalDate date) {
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.plusDays(1).atStartOfDay().minusNanos(1);
@@ -83,6 +177,42 @@ public class OperationRepository {
         return findByDateRange(startOfDay, endOfDay);
     }
 
+    // Keyset pagination over (date, id), newest first. The cursor is the (date, id) of the last row of
+    // the previous page, so every page is an index range scan no matter how deep the caller pages.
+    public List<Operation> findPage(
+            UUID bankAccountId,
+            OperationType type,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            LocalDateTime afterDate,
+            UUID afterId,
+            int limit) {
+        List<Condition> conditions = new ArrayList<>();
+        if (bankAccountId != null) {
+            conditions.add(OPERATION.BANK_ACCOUNT_ID.eq(bankAccountId));
+        }
+        if (type != null) {
+            conditions.add(OPERATION.TYPE.eq(type.name()));
+        }
+        if (startDate != null) {
+            conditions.add(OPERATION.DATE.greaterOrEqual(startDate));
+        }
+        if (endDate != null) {
+            conditions.add(OPERATION.DATE.lessOrEqual(endDate));
+        }
+        if (afterDate != null && afterId != null) {
+            conditions.add(DSL.row(OPERATION.DATE, OPERATION.ID).lessThan(afterDate, afterId));
+        }
+
+        return dsl.select()
+                .from(OPERATION)
+                .where(conditions)
+                .orderBy(OPERATION.DATE.desc(), OPERATION.ID.desc())
+                .limit(limit)
+                .fetch()
+                .map(this::mapToOperation);
+    }
+
     public List<Operation> findAllIncomeOperations() {
         return findByType(OperationType.INCOME);
     }
@@ -91,36 +221,139 @@ public class OperationRepository {
         return findByType(OperationType.EXPENSE);
     }
 
-    @Transactional
     public Operation save(Operation operation) {
-        boolean exists = dsl.fetchExists(
-                dsl.selectFrom(OPERATION)
-                        .where(OPERATION.ID.eq(operation.getId()))
-        );
+        UUID batchId = openBatch();
+        dsl.insertInto(OPERATION)
+                .set(OPERATION.ID, operation.getId())
+                .set(OPERATION.TYPE, operation.getType().name())
+                .set(OPERATION.BANK_ACCOUNT_ID, operation.getBankAccountId())
+                .set(OPERATION.AMOUNT, operation.getAmount())
+                .set(OPERATION.DATE, operation.getDate())
+                .set(OPERATION.DESCRIPTION, operation.getDescription())
+                .set(OPERATION.CATEGORY_ID, operation.getCategoryId())
+                .set(OPERATION.BATCH_ID, batchId)
+                .onConflict(OPERATION.ID)
+                .doUpdate()
+                .set(OPERATION.TYPE, operation.getType().name())
+                .set(OPERATION.BANK_ACCOUNT_ID, operation.getBankAccountId())
+                .set(OPERATION.AMOUNT, operation.getAmount())
+                .set(OPERATION.DATE, operation.getDate())
+                .set(OPERATION.DESCRIPTION, operation.getDescription())
+                .set(OPERATION.CATEGORY_ID, operation.getCategoryId())
+                .set(OPERATION.BATCH_ID, batchId)
+                .execute();
+        closeBatch(batchId);
 
-        if (exists) {
-            dsl.update(OPERATION)
-                    .set(OPERATION.TYPE, operation.getType().name())
-                    .set(OPERATION.BANK_ACCOUNT_ID, operation.getBankAccountId())
-                    .set(OPERATION.AMOUNT, operation.getAmount())
-                    .set(OPERATION.DATE, operation.getDate())
-                    .set(OPERATION.DESCRIPTION, operation.getDescription())
-                    .set(OPERATION.CATEGORY_ID, operation.getCategoryId())
-                    .where(OPERATION.ID.eq(operation.getId()))
-                    .execute();
-        } else {
-            dsl.insertInto(OPERATION)
-                    .set(OPERATION.ID, operation.getId())
-                    .set(OPERATION.TYPE, operation.getType().name())
-                    .set(OPERATION.BANK_ACCOUNT_ID, operation.getBankAccountId())
-                    .set(OPERATION.AMOUNT, operation.getAmount())
-                    .set(OPERATION.DATE, operation.getDate())
-                    .set(OPERATION.DESCRIPTION, operation.getDescription())
-                    .set(OPERATION.CATEGORY_ID, operation.getCategoryId())
-                    .execute();
+        return operation;
+    }
+
+    // Inserts all rows with one multi-row VALUES statement. Each row binds 8 parameters and PostgreSQL
+    // accepts at most 65535 per statement, so callers must keep chunks at or below MAX_BATCH_ROWS
+    public int saveAll(List<Operation> operations) {
+        if (operations.isEmpty()) {
+            return 0;
         }
 
-        return operation;
+        UUID batchId = openBatch();
+        var insert = dsl.insertInto(OPERATION,
+                OPERATION.ID,
+                OPERATION.TYPE,
+                OPERATION.BANK_ACCOUNT_ID,
+                OPERATION.AMOUNT,
+                OPERATION.DATE,
+                OPERATION.DESCRIPTION,
+                OPERATION.CATEGORY_ID,
+                OPERATION.BATCH_ID);
+
+        for (Operation operation : operations) {
+            insert = insert.values(
+                    operation.getId(),
+                    operation.getType().name(),
+                    operation.getBankAccountId(),
+                    operation.getAmount(),
+                    operation.getDate(),
+                    operation.getDescription(),
+                    operation.getCategoryId(),
+                    batchId);
+        }
+
+        int inserted = insert.execute();
+        closeBatch(batchId);
+        return inserted;
+    }
+
+    // Rows whose id already exists are skipped; returns the ids that were actually inserted
+    public Set<UUID> saveAllIgnoringDuplicates(List<Operation> operations) {
+        if (operations.isEmpty()) {
+            return Set.of();
+        }
+
+        UUID batchId = openBatch();
+        var insert = dsl.insertInto(OPERATION,
+                OPERATION.ID,
+                OPERATION.TYPE,
+                OPERATION.BANK_ACCOUNT_ID,
+                OPERATION.AMOUNT,
+                OPERATION.DATE,
+                OPERATION.DESCRIPTION,
+                OPERATION.CATEGORY_ID,
+                OPERATION.BATCH_ID);
+
+        for (Operation operation : operations) {
+            insert = insert.values(
+                    operation.getId(),
+                    operation.getType().name(),
+                    operation.getBankAccountId(),
+                    operation.getAmount(),
+                    operation.getDate(),
+                    operation.getDescription(),
+                    operation.getCategoryId(),
+                    batchId);
+        }
+
+        Set<UUID> inserted = new HashSet<>(insert.onConflict(OPERATION.ID)
+                .doNothing()
+                .returning(OPERATION.ID)
+                .fetch(OPERATION.ID));
+        closeBatch(batchId);
+        return inserted;
+    }
+
+    // Numbers a batch under the lock of the single operation_clock row. The lock is held until the writing
+    // transaction commits, so a later number can only become visible after every earlier one
+    public long publishBatch(UUID batchId) {
+        long seq = dsl.update(OPERATION_CLOCK)
+                .set(OPERATION_CLOCK.SEQ, OPERATION_CLOCK.SEQ.plus(1L))
+                .where(OPERATION_CLOCK.ID.eq(1))
+                .returning(OPERATION_CLOCK.SEQ)
+                .fetchOne(OPERATION_CLOCK.SEQ);
+        dsl.insertInto(OPERATION_BATCH)
+                .set(OPERATION_BATCH.ID, batchId)
+                .set(OPERATION_BATCH.SEQ, seq)
+                .execute();
+        return seq;
+    }
+
+    // All rows a transaction writes share one batch, numbered right before it commits: the clock lock is then
+    // held only for the commit itself. Without a transaction every statement is its own batch
+    private UUID openBatch() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return UUID.randomUUID();
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof BatchPublisher publisher) {
+                return publisher.batchId;
+            }
+        }
+        BatchPublisher publisher = new BatchPublisher(UUID.randomUUID());
+        TransactionSynchronizationManager.registerSynchronization(publisher);
+        return publisher.batchId;
+    }
+
+    private void closeBatch(UUID batchId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishBatch(batchId);
+        }
     }
 
     @Transactional
@@ -179,4 +412,32 @@ public class OperationRepository {
                 record.get(OPERATION.CATEGORY_ID)
         );
     }
+
+    private class BatchPublisher implements TransactionSynchronization {
+        private final UUID batchId;
+
+        BatchPublisher(UUID batchId) {
+            this.batchId = batchId;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            publishBatch(batchId);
+        }
+    }
+
+    public record CategoryTotal(Category category, BigDecimal total) {
+    }
+
+    public record AccountTotals(UUID bankAccountId, String accountName, BigDecimal income, BigDecimal expense) {
+        public BigDecimal net() {
+            return income.subtract(expense);
+        }
+    }
+
+    public record MonthlyTotal(YearMonth month, OperationType type, BigDecimal total) {
+    }
+
+    public record DateRange(LocalDateTime first, LocalDateTime last) {
+    }
 }
@@ -3,12 +3,14 @@ package com.example.hseshellfinanceapp.service.analytics;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 import com.example.hseshellfinanceapp.domain.model.BankAccount;
 import com.example.hseshellfinanceapp.domain.model.OperationType;
 import com.example.hseshellfinanceapp.facade.BankAccountFacade.AccountBalanceSummary;
+import com.example.hseshellfinanceapp.repository.OperationRepository.AccountTotals;
 
 public interface AnalyticsService {
     Map<String, BigDecimal> getExpensesByCategory(YearMonth period);
@@ -17,6 +19,8 @@ public interface AnalyticsService {
 
     AccountBalanceSummary getAccountBalanceSummary(UUID accountId, LocalDate fromDate, LocalDate toDate);
 
+    List<AccountTotals> getAccountBalanceSummaries(LocalDate fromDate, LocalDate toDate);
+
     Map<String, BigDecimal> getMonthlyTrend(int months, OperationType type);
 
     Map<String, BigDecimal> getTopSpendingCategories(YearMonth period, int limit);
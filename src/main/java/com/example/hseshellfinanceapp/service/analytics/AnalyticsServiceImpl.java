@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -15,10 +16,15 @@ import com.example.hseshellfinanceapp.facade.BankAccountFacade;
 import com.example.hseshellfinanceapp.facade.BankAccountFacade.AccountBalanceSummary;
 import com.example.hseshellfinanceapp.facade.CategoryFacade;
 import com.example.hseshellfinanceapp.facade.OperationFacade;
+import com.example.hseshellfinanceapp.facade.OperationFacade.MonthlySummary;
+import com.example.hseshellfinanceapp.repository.OperationRepository.AccountTotals;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+// Reports only read, so they run in read-only transactions and are routed to the replica when one is configured
 @Service
+@Transactional(readOnly = true)
 public class AnalyticsServiceImpl implements AnalyticsService {
 
     private final BankAccountFacade bankAccountFacade;
@@ -42,7 +48,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         LocalDate startDate = targetPeriod.atDay(1);
         LocalDate endDate = targetPeriod.atEndOfMonth();
 
-        return categoryFacade.getSpendingByCategory();
+        return categoryFacade.getSpendingByCategory(startDate, endDate);
     }
 
     @Override
@@ -52,7 +58,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         LocalDate startDate = targetPeriod.atDay(1);
         LocalDate endDate = targetPeriod.atEndOfMonth();
 
-        return categoryFacade.getIncomeByCategory();
+        return categoryFacade.getIncomeByCategory(startDate, endDate);
     }
 
     @Override
@@ -64,33 +70,41 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         return bankAccountFacade.getBalanceSummary(accountId, fromDate, toDate);
     }
 
+    @Override
+    public List<AccountTotals> getAccountBalanceSummaries(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+
+        return bankAccountFacade.getBalanceSummaries(fromDate, toDate);
+    }
+
     @Override
     public Map<String, BigDecimal> getMonthlyTrend(int months, OperationType type) {
         YearMonth currentMonth = YearMonth.now();
         Map<String, BigDecimal> trend = new LinkedHashMap<>();
 
+        if (months <= 0) {
+            return trend;
+        }
+
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM yyyy");
 
-        for (int i = months - 1; i >= 0; i--) {
-            YearMonth targetMonth = currentMonth.minusMonths(i);
-            LocalDate startDate = targetMonth.atDay(1);
-            LocalDate endDate = targetMonth.atEndOfMonth();
+        List<MonthlySummary> summaries = operationFacade.getMonthlySummaries(
+                currentMonth.minusMonths(months - 1), currentMonth);
 
+        for (MonthlySummary summary : summaries) {
             BigDecimal amount;
             if (type == OperationType.INCOME) {
-                amount = operationFacade.getTotalIncome(startDate, endDate);
+                amount = summary.getTotalIncome();
             } else if (type == OperationType.EXPENSE) {
-                amount = operationFacade.getTotalExpenses(startDate, endDate);
+                amount = summary.getTotalExpenses();
             } else {
                 // Net change (income - expenses)
-                amount = operationFacade.getBalanceDifference(startDate, endDate);
-            }
-
-            if (amount == null) {
-                amount = BigDecimal.ZERO;
+                amount = summary.getNetChange();
             }
 
-            trend.put(targetMonth.format(formatter), amount);
+            trend.put(summary.getMonth().format(formatter), amount);
         }
 
         return trend;
@@ -98,14 +112,18 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
     @Override
     public Map<String, BigDecimal> getTopSpendingCategories(YearMonth period, int limit) {
-        Map<String, BigDecimal> allExpenses = getExpensesByCategory(period);
+        YearMonth targetPeriod = period != null ? period : YearMonth.now();
+
+        LocalDate startDate = targetPeriod.atDay(1);
+        LocalDate endDate = targetPeriod.atEndOfMonth();
 
-        return allExpenses.entrySet().stream()
-                .sorted(Map.Entry.<String, BigDecimal>comparingByValue().reversed())
+        // Totals already come back ordered by amount from the grouped query
+        return categoryFacade.getCategoriesSortedByAmount(OperationType.EXPENSE, startDate, endDate).stream()
+                .filter(summary -> summary.getAmount().compareTo(BigDecimal.ZERO) > 0)
                 .limit(limit)
                 .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
+                        summary -> summary.getCategory().getName(),
+                        CategoryFacade.CategorySummary::getAmount,
                         (e1, e2) -> e1,
                         LinkedHashMap::new
                 ));
@@ -8,6 +8,7 @@ import java.util.Map;
 
 import com.example.hseshellfinanceapp.domain.model.BankAccount;
 import com.example.hseshellfinanceapp.facade.BankAccountFacade.AccountBalanceSummary;
+import com.example.hseshellfinanceapp.repository.OperationRepository.AccountTotals;
 import org.springframework.shell.table.ArrayTableModel;
 import org.springframework.shell.table.BorderStyle;
 import org.springframework.shell.table.TableBuilder;
@@ -65,6 +66,35 @@ public class ReportGenerator {
         return result.toString();
     }
 
+    public String generateAccountsSummary(List<AccountTotals> totals, LocalDate fromDate, LocalDate toDate) {
+        if (totals == null || totals.isEmpty()) {
+            return "No accounts found.";
+        }
+
+        String[][] data = new String[totals.size() + 2][4]; // +2 for header and total row
+        data[0] = new String[]{"Account", "Income", "Expenses", "Net Change"};
+
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expenses = BigDecimal.ZERO;
+        for (int i = 0; i < totals.size(); i++) {
+            AccountTotals account = totals.get(i);
+            data[i + 1] = new String[]{account.accountName(), formatCurrency(account.income()),
+                    formatCurrency(account.expense()), formatCurrency(account.net())};
+            income = income.add(account.income());
+            expenses = expenses.add(account.expense());
+        }
+
+        data[totals.size() + 1] = new String[]{"TOTAL", formatCurrency(income), formatCurrency(expenses),
+                formatCurrency(income.subtract(expenses))};
+
+        ArrayTableModel model = new ArrayTableModel(data);
+        TableBuilder tableBuilder = new TableBuilder(model);
+        tableBuilder.addHeaderAndVerticalsBorders(BorderStyle.fancy_light);
+
+        return String.format("ACCOUNTS SUMMARY\nPeriod: %s to %s\n\n", fromDate, toDate) +
+                tableBuilder.build().render(100);
+    }
+
     public String generateTrendReport(Map<String, BigDecimal> trendData, String title) {
         if (trendData == null || trendData.isEmpty()) {
             return "No trend data available.";
@@ -0,0 +1,60 @@
+package com.example.hseshellfinanceapp.service.command.analyticsCommands;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.example.hseshellfinanceapp.repository.OperationRepository.AccountTotals;
+import com.example.hseshellfinanceapp.service.analytics.AnalyticsService;
+import com.example.hseshellfinanceapp.service.analytics.ReportGenerator;
+import com.example.hseshellfinanceapp.service.command.Command;
+
+public class AccountsSummaryCommand extends Command<String> {
+
+    private final AnalyticsService analyticsService;
+    private final ReportGenerator reportGenerator;
+    private final LocalDate fromDate;
+    private final LocalDate toDate;
+
+    public AccountsSummaryCommand(
+            AnalyticsService analyticsService,
+            ReportGenerator reportGenerator,
+            LocalDate fromDate,
+            LocalDate toDate) {
+        this.analyticsService = analyticsService;
+        this.reportGenerator = reportGenerator;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+    }
+
+    @Override
+    public String execute() {
+        // Every account is summarised by a single grouped query
+        List<AccountTotals> totals = analyticsService.getAccountBalanceSummaries(fromDate, toDate);
+
+        return reportGenerator.generateAccountsSummary(totals, fromDate, toDate);
+    }
+
+    @Override
+    protected boolean validate() {
+        if (fromDate == null || toDate == null) {
+            return false;
+        }
+        return !fromDate.isAfter(toDate);
+    }
+
+    @Override
+    public String getHelp() {
+        return "ACCOUNTS SUMMARY COMMAND\n" +
+                "Shows income, expenses and net change of every account for a specific period.\n" +
+                "Usage: accounts-summary --from-date <date> --to-date <date>\n" +
+                "Options:\n" +
+                "  --from-date: Start date in format yyyy-MM-dd\n" +
+                "  --to-date: End date in format yyyy-MM-dd\n" +
+                "Example: accounts-summary --from-date 2023-01-01 --to-date 2023-03-31";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Get balance summary of all accounts";
+    }
+}
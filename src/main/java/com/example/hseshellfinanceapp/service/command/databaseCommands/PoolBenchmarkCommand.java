@@ -0,0 +1,129 @@
+package com.example.hseshellfinanceapp.service.command.databaseCommands;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.example.hseshellfinanceapp.config.PoolMetrics;
+import com.example.hseshellfinanceapp.service.command.Command;
+
+// Runs the same command from many threads at once to measure throughput under pool contention.
+// Warm-up rounds fill the pool and the driver statement cache before anything is timed
+public class PoolBenchmarkCommand extends Command<String> {
+
+    public static final int MAX_THREADS = 256;
+
+    private final Runnable workload;
+    private final PoolMetrics poolMetrics;
+    private final int threads;
+    private final int iterations;
+    private final int warmup;
+
+    public PoolBenchmarkCommand(Runnable workload, PoolMetrics poolMetrics, int threads, int iterations,
+                                int warmup) {
+        this.workload = workload;
+        this.poolMetrics = poolMetrics;
+        this.threads = threads;
+        this.iterations = iterations;
+        this.warmup = warmup;
+    }
+
+    @Override
+    public String execute() {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            run(executor, warmup);
+            long started = System.nanoTime();
+            long[] latencies = run(executor, iterations);
+            long elapsed = System.nanoTime() - started;
+
+            Arrays.sort(latencies);
+            double seconds = elapsed / (double) TimeUnit.SECONDS.toNanos(1);
+
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Benchmark: %d threads x %d iterations%n", threads, iterations));
+            sb.append(String.format("  Throughput: %.1f commands/s (%d in %.2f s)%n",
+                    latencies.length / seconds, latencies.length, seconds));
+            sb.append(String.format("  Latency: p50=%.2f ms p95=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99),
+                    percentile(latencies, 1.0)));
+            poolMetrics.snapshot().forEach(snapshot -> sb.append("  ").append(snapshot).append("\n"));
+            return sb.toString();
+        } catch (ExecutionException e) {
+            return "Benchmark failed: " + e.getCause().getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Benchmark interrupted";
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // All threads are released together so the pool sees the full concurrency from the first call
+    private long[] run(ExecutorService executor, int rounds) throws InterruptedException, ExecutionException {
+        if (rounds == 0) {
+            return new long[0];
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            workers.add(executor.submit(() -> {
+                long[] latencies = new long[rounds];
+                start.await();
+                for (int i = 0; i < rounds; i++) {
+                    long begin = System.nanoTime();
+                    workload.run();
+                    latencies[i] = System.nanoTime() - begin;
+                }
+                return latencies;
+            }));
+        }
+        start.countDown();
+
+        long[] all = new long[threads * rounds];
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(workers.get(t).get(), 0, all, t * rounds, rounds);
+        }
+        return all;
+    }
+
+    private double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    protected boolean validate() {
+        return workload != null && poolMetrics != null &&
+                threads > 0 && threads <= MAX_THREADS && iterations > 0 && warmup >= 0;
+    }
+
+    @Override
+    public String getHelp() {
+        return "POOL BENCHMARK COMMAND\n" +
+                "Runs list-accounts concurrently and reports throughput, latency percentiles\n" +
+                "and connection pool wait times.\n" +
+                "Usage: pool-benchmark [--threads <n>] [--iterations <n>] [--warmup <n>]\n" +
+                "Options:\n" +
+                "  --threads <n>: Concurrent callers (default: 16, max: " + MAX_THREADS + ")\n" +
+                "  --iterations <n>: Timed calls per thread (default: 200)\n" +
+                "  --warmup <n>: Untimed calls per thread before measuring (default: 20)\n" +
+                "Example:\n" +
+                "  pool-benchmark --threads 32 --iterations 500";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Benchmark concurrent command throughput against the connection pool";
+    }
+}
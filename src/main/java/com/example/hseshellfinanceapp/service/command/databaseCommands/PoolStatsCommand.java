@@ -0,0 +1,48 @@
+package com.example.hseshellfinanceapp.service.command.databaseCommands;
+
+import java.util.List;
+
+import com.example.hseshellfinanceapp.config.PoolMetrics;
+import com.example.hseshellfinanceapp.config.PoolMetrics.PoolSnapshot;
+import com.example.hseshellfinanceapp.service.command.Command;
+
+public class PoolStatsCommand extends Command<String> {
+
+    private final PoolMetrics poolMetrics;
+
+    public PoolStatsCommand(PoolMetrics poolMetrics) {
+        this.poolMetrics = poolMetrics;
+    }
+
+    @Override
+    public String execute() {
+        List<PoolSnapshot> snapshots = poolMetrics.snapshot();
+        if (snapshots.isEmpty()) {
+            return "No connection pools have started yet";
+        }
+
+        StringBuilder sb = new StringBuilder("Connection pools:\n");
+        for (PoolSnapshot snapshot : snapshots) {
+            sb.append("  ").append(snapshot).append("\n");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    protected boolean validate() {
+        return poolMetrics != null;
+    }
+
+    @Override
+    public String getHelp() {
+        return "POOL STATS COMMAND\n" +
+                "Shows active, idle and waiting connections per pool, together with\n" +
+                "connection wait times and timeouts since startup.\n" +
+                "Usage: pool-stats";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Show connection pool statistics";
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.hseshellfinanceapp.service.command.databaseCommands;
+
+import com.example.hseshellfinanceapp.facade.OperationFacade;
+import com.example.hseshellfinanceapp.repository.DailyRollupRepository.RollupDrift;
+import com.example.hseshellfinanceapp.service.command.Command;
+
+public class RebuildRollupsCommand extends Command<String> {
+
+    private final OperationFacade operationFacade;
+    private final boolean checkOnly;
+
+    public RebuildRollupsCommand(OperationFacade operationFacade) {
+        this(operationFacade, false);
+    }
+
+    public RebuildRollupsCommand(OperationFacade operationFacade, boolean checkOnly) {
+        this.operationFacade = operationFacade;
+        this.checkOnly = checkOnly;
+    }
+
+    @Override
+    public String execute() {
+        if (checkOnly) {
+            RollupDrift drift = operationFacade.checkDailyRollups();
+            if (drift.isEmpty()) {
+                return "Daily rollups match operations";
+            }
+            return "Daily rollups drifted: " + drift.missing() + " buckets missing or wrong, "
+                    + drift.stale() + " stale. Run rebuild-rollups to repair them";
+        }
+        int buckets = operationFacade.rebuildDailyRollups();
+        return "Daily rollups rebuilt: " + buckets + " buckets";
+    }
+
+    @Override
+    protected boolean validate() {
+        return operationFacade != null;
+    }
+
+    @Override
+    public String getHelp() {
+        return "REBUILD ROLLUPS COMMAND\n" +
+                "Recomputes the daily totals used by period reports from all operations.\n" +
+                "Run it if reports disagree with the operation list. New and deleted operations wait\n" +
+                "until the rebuild has finished; reports keep working meanwhile.\n" +
+                "Usage: rebuild-rollups [--check]\n" +
+                "Options:\n" +
+                "  --check: Only compare the rollups with the operations and report drift, without rebuilding";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Rebuild daily rollups from operations";
+    }
+}
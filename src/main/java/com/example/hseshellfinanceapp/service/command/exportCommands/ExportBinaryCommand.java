@@ -0,0 +1,48 @@
+package com.example.hseshellfinanceapp.service.command.exportCommands;
+
+import java.io.OutputStream;
+
+import com.example.hseshellfinanceapp.service.io.visitor.BinaryExportVisitor;
+
+public class ExportBinaryCommand extends ExportDataCommand {
+
+    public ExportBinaryCommand(
+            BinaryExportVisitor exportVisitor,
+            OutputStream outputStream,
+            boolean includeAccounts,
+            boolean includeCategories,
+            boolean includeOperations) {
+        super(exportVisitor, outputStream, includeAccounts, includeCategories, includeOperations);
+    }
+
+    public ExportBinaryCommand(
+            BinaryExportVisitor exportVisitor,
+            OutputStream outputStream,
+            boolean includeAccounts,
+            boolean includeCategories,
+            boolean includeOperations,
+            String since) {
+        super(exportVisitor, outputStream, includeAccounts, includeCategories, includeOperations, since);
+    }
+
+    @Override
+    public String getHelp() {
+        return "EXPORT TO BINARY COMMAND\n" +
+                "Exports financial data to a compact binary snapshot (checksummed columnar blocks).\n" +
+                "Usage: export-binary --output <file-path> [options]\n" +
+                "Options:\n" +
+                "  --output <file-path>: Path to save the snapshot file\n" +
+                "  --accounts: Include accounts in export (default: true)\n" +
+                "  --categories: Include categories in export (default: true)\n" +
+                "  --operations: Include operations in export (default: true)\n" +
+                "  --since <timestamp|token>: Only export operations dated at or after the timestamp, or added\n" +
+                "    after the export that printed the token (backdated operations are included)\n" +
+                "Example:\n" +
+                "  export-binary --output finances.hseb";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Export financial data to binary snapshot format";
+    }
+}
@@ -12,6 +12,7 @@ public abstract class ExportDataCommand extends Command<Boolean> {
     protected final boolean includeAccounts;
     protected final boolean includeCategories;
     protected final boolean includeOperations;
+    protected final String since;
 
     public ExportDataCommand(
             AbstractExportVisitor exportVisitor,
@@ -19,11 +20,22 @@ public abstract class ExportDataCommand extends Command<Boolean> {
             boolean includeAccounts,
             boolean includeCategories,
             boolean includeOperations) {
+        this(exportVisitor, outputStream, includeAccounts, includeCategories, includeOperations, null);
+    }
+
+    public ExportDataCommand(
+            AbstractExportVisitor exportVisitor,
+            OutputStream outputStream,
+            boolean includeAccounts,
+            boolean includeCategories,
+            boolean includeOperations,
+            String since) {
         this.exportVisitor = exportVisitor;
         this.outputStream = outputStream;
         this.includeAccounts = includeAccounts;
         this.includeCategories = includeCategories;
         this.includeOperations = includeOperations;
+        this.since = since;
     }
 
     @Override
@@ -33,7 +45,8 @@ public abstract class ExportDataCommand extends Command<Boolean> {
                     outputStream,
                     includeAccounts,
                     includeCategories,
-                    includeOperations
+                    includeOperations,
+                    since
             );
             return true;
         } catch (Exception e) {
@@ -55,7 +68,7 @@ public abstract class ExportDataCommand extends Command<Boolean> {
                 "Exports financial data to the specified format.\n" +
                 "Usage: export-data --format <format> --output <file-path> [options]\n" +
                 "Options:\n" +
-                "  --format <format>: Export format (json, table)\n" +
+                "  --format <format>: Export format (json, table, binary)\n" +
                 "  --output <file-path>: Path to save the exported file\n" +
                 "  --accounts: Include accounts in export (default: true)\n" +
                 "  --categories: Include categories in export (default: true)\n" +
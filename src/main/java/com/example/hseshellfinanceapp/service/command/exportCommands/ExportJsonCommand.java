@@ -6,13 +6,43 @@ import com.example.hseshellfinanceapp.service.io.visitor.JsonExportVisitor;
 
 public class ExportJsonCommand extends ExportDataCommand {
 
+    private final boolean prettyPrint;
+
     public ExportJsonCommand(
             JsonExportVisitor exportVisitor,
             OutputStream outputStream,
             boolean includeAccounts,
             boolean includeCategories,
             boolean includeOperations) {
-        super(exportVisitor, outputStream, includeAccounts, includeCategories, includeOperations);
+        this(exportVisitor, outputStream, includeAccounts, includeCategories, includeOperations, true);
+    }
+
+    public ExportJsonCommand(
+            JsonExportVisitor exportVisitor,
+            OutputStream outputStream,
+            boolean includeAccounts,
+            boolean includeCategories,
+            boolean includeOperations,
+            boolean prettyPrint) {
+        this(exportVisitor, outputStream, includeAccounts, includeCategories, includeOperations, prettyPrint, null);
+    }
+
+    public ExportJsonCommand(
+            JsonExportVisitor exportVisitor,
+            OutputStream outputStream,
+            boolean includeAccounts,
+            boolean includeCategories,
+            boolean includeOperations,
+            boolean prettyPrint,
+            String since) {
+        super(exportVisitor, outputStream, includeAccounts, includeCategories, includeOperations, since);
+        this.prettyPrint = prettyPrint;
+    }
+
+    @Override
+    public Boolean execute() {
+        ((JsonExportVisitor) exportVisitor).setPrettyPrint(prettyPrint);
+        return super.execute();
     }
 
     @Override
@@ -25,6 +55,9 @@ public class ExportJsonCommand extends ExportDataCommand {
                 "  --accounts: Include accounts in export (default: true)\n" +
                 "  --categories: Include categories in export (default: true)\n" +
                 "  --operations: Include operations in export (default: true)\n" +
+                "  --compact: Write JSON without indentation (default: false)\n" +
+                "  --since <timestamp|token>: Only export operations dated at or after the timestamp, or added\n" +
+                "    after the export that printed the token (backdated operations are included)\n" +
                 "Example:\n" +
                 "  export-json --output finances.json --accounts --operations";
     }
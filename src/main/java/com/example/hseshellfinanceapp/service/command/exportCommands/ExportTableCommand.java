@@ -15,6 +15,16 @@ public class ExportTableCommand extends ExportDataCommand {
         super(exportVisitor, outputStream, includeAccounts, includeCategories, includeOperations);
     }
 
+    public ExportTableCommand(
+            TableExportVisitor exportVisitor,
+            OutputStream outputStream,
+            boolean includeAccounts,
+            boolean includeCategories,
+            boolean includeOperations,
+            String since) {
+        super(exportVisitor, outputStream, includeAccounts, includeCategories, includeOperations, since);
+    }
+
     @Override
     public String getHelp() {
         return "EXPORT TO TABLE COMMAND\n" +
@@ -25,6 +35,8 @@ public class ExportTableCommand extends ExportDataCommand {
                 "  --accounts: Include accounts in export (default: true)\n" +
                 "  --categories: Include categories in export (default: true)\n" +
                 "  --operations: Include operations in export (default: true)\n" +
+                "  --since <timestamp|token>: Only export operations dated at or after the timestamp, or added\n" +
+                "    after the export that printed the token (backdated operations are included)\n" +
                 "Example:\n" +
                 "  export-table --output finances.txt --accounts --operations";
     }
@@ -1,14 +1,26 @@
 package com.example.hseshellfinanceapp.service.command.exportCommands;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
 import com.example.hseshellfinanceapp.service.command.Command;
+import com.example.hseshellfinanceapp.service.io.compression.CompressionCodec;
+import com.example.hseshellfinanceapp.service.io.manifest.ExportManifest;
 import com.example.hseshellfinanceapp.service.io.visitor.AbstractExportVisitor;
+import com.example.hseshellfinanceapp.service.io.visitor.BinaryExportVisitor;
 import com.example.hseshellfinanceapp.service.io.visitor.JsonExportVisitor;
 import com.example.hseshellfinanceapp.service.io.visitor.TableExportVisitor;
 
@@ -19,6 +31,11 @@ public class FileExportCommand extends Command<Boolean> {
     private final boolean includeAccounts;
     private final boolean includeCategories;
     private final boolean includeOperations;
+    private final boolean compact;
+    private final CompressionCodec compression;
+    private final String since;
+    private final long maxRows;
+    private final long maxBytes;
 
     public FileExportCommand(
             AbstractExportVisitor exportVisitor,
@@ -26,22 +43,84 @@ public class FileExportCommand extends Command<Boolean> {
             boolean includeAccounts,
             boolean includeCategories,
             boolean includeOperations) {
+        this(exportVisitor, filePath, includeAccounts, includeCategories, includeOperations, false);
+    }
+
+    public FileExportCommand(
+            AbstractExportVisitor exportVisitor,
+            String filePath,
+            boolean includeAccounts,
+            boolean includeCategories,
+            boolean includeOperations,
+            boolean compact) {
+        this(exportVisitor, filePath, includeAccounts, includeCategories, includeOperations, compact, null);
+    }
+
+    public FileExportCommand(
+            AbstractExportVisitor exportVisitor,
+            String filePath,
+            boolean includeAccounts,
+            boolean includeCategories,
+            boolean includeOperations,
+            boolean compact,
+            CompressionCodec compression) {
+        this(exportVisitor, filePath, includeAccounts, includeCategories, includeOperations, compact, compression,
+                null);
+    }
+
+    public FileExportCommand(
+            AbstractExportVisitor exportVisitor,
+            String filePath,
+            boolean includeAccounts,
+            boolean includeCategories,
+            boolean includeOperations,
+            boolean compact,
+            CompressionCodec compression,
+            String since) {
+        this(exportVisitor, filePath, includeAccounts, includeCategories, includeOperations, compact, compression,
+                since, 0, 0);
+    }
+
+    // With a row or byte cap the output path is a directory of part files plus a manifest
+    public FileExportCommand(
+            AbstractExportVisitor exportVisitor,
+            String filePath,
+            boolean includeAccounts,
+            boolean includeCategories,
+            boolean includeOperations,
+            boolean compact,
+            CompressionCodec compression,
+            String since,
+            long maxRows,
+            long maxBytes) {
         this.exportVisitor = exportVisitor;
         this.filePath = filePath;
         this.includeAccounts = includeAccounts;
         this.includeCategories = includeCategories;
         this.includeOperations = includeOperations;
+        this.compact = compact;
+        this.compression = compression;
+        this.since = since;
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes;
     }
 
     @Override
     public Boolean execute() {
+        if (isRolling()) {
+            return exportRolling();
+        }
+
         try {
             // Create directory if it doesn't exist
             Path path = Paths.get(filePath);
             Files.createDirectories(path.getParent());
 
-            // Create file output stream
-            try (FileOutputStream outputStream = new FileOutputStream(new File(filePath))) {
+            // Without an explicit codec the file extension decides (.gz, .deflate)
+            CompressionCodec codec = compression != null ? compression : CompressionCodec.fromPath(filePath);
+
+            boolean result;
+            try (OutputStream outputStream = codec.open(new FileOutputStream(new File(filePath)))) {
                 // Create appropriate export command
                 ExportDataCommand exportCommand;
 
@@ -51,7 +130,9 @@ public class FileExportCommand extends Command<Boolean> {
                             outputStream,
                             includeAccounts,
                             includeCategories,
-                            includeOperations
+                            includeOperations,
+                            !compact,
+                            since
                     );
                 } else if (exportVisitor instanceof TableExportVisitor) {
                     exportCommand = new ExportTableCommand(
@@ -59,7 +140,17 @@ public class FileExportCommand extends Command<Boolean> {
                             outputStream,
                             includeAccounts,
                             includeCategories,
-                            includeOperations
+                            includeOperations,
+                            since
+                    );
+                } else if (exportVisitor instanceof BinaryExportVisitor) {
+                    exportCommand = new ExportBinaryCommand(
+                            (BinaryExportVisitor) exportVisitor,
+                            outputStream,
+                            includeAccounts,
+                            includeCategories,
+                            includeOperations,
+                            since
                     );
                 } else {
                     System.err.println("Unsupported export visitor type: " + exportVisitor.getClass().getName());
@@ -67,24 +158,91 @@ public class FileExportCommand extends Command<Boolean> {
                 }
 
                 // Execute the export
-                boolean result = exportCommand.execute();
+                result = exportCommand.execute();
+            }
 
-                if (result) {
-                    System.out.println("Data successfully exported to: " + filePath);
+            // Compression errors surface on close, so report success only after the stream is finished
+            if (result) {
+                System.out.println("Data successfully exported to: " + filePath);
+                if (exportVisitor.getResumeToken() != null) {
+                    System.out.println("Next incremental export: --since " + exportVisitor.getResumeToken());
                 }
-
-                return result;
             }
+
+            return result;
         } catch (IOException e) {
             System.err.println("Error exporting data: " + e.getMessage());
             return false;
         }
     }
 
+    private Boolean exportRolling() {
+        String extension = ParallelExportCommand.fileExtension(exportVisitor);
+        if (extension == null) {
+            System.err.println("Unsupported export visitor type: " + exportVisitor.getClass().getName());
+            return false;
+        }
+
+        try {
+            Path root = Paths.get(filePath);
+            Files.createDirectories(root);
+
+            if (exportVisitor instanceof JsonExportVisitor jsonExportVisitor) {
+                jsonExportVisitor.setPrettyPrint(!compact);
+            }
+
+            CompressionCodec codec = compression != null ? compression : CompressionCodec.NONE;
+            String suffix = codec == CompressionCodec.NONE ? extension : extension + codec.getExtension();
+
+            // Checksums are taken over the bytes written to disk, i.e. after compression
+            Map<Integer, Path> files = new HashMap<>();
+            Map<Integer, CRC32> checksums = new HashMap<>();
+            List<AbstractExportVisitor.PartSummary> summaries = exportVisitor.exportRolling(number -> {
+                Path part = root.resolve(String.format("part-%04d%s", number, suffix));
+                CRC32 crc = new CRC32();
+                files.put(number, part);
+                checksums.put(number, crc);
+                return codec.open(new CheckedOutputStream(
+                        new BufferedOutputStream(new FileOutputStream(part.toFile()), 64 * 1024), crc));
+            }, includeAccounts, includeCategories, includeOperations, maxRows, maxBytes);
+
+            List<ExportManifest.Part> parts = new ArrayList<>();
+            for (AbstractExportVisitor.PartSummary summary : summaries) {
+                Path part = files.get(summary.number());
+                parts.add(new ExportManifest.Part(
+                        part.getFileName().toString(),
+                        summary.accounts(),
+                        summary.categories(),
+                        summary.operations(),
+                        summary.firstDate(),
+                        summary.lastDate(),
+                        Files.size(part),
+                        checksums.get(summary.number()).getValue()
+                ));
+            }
+
+            ExportManifest manifest = new ExportManifest(ParallelExportCommand.formatName(exportVisitor),
+                    codec.name().toLowerCase(Locale.ROOT), parts);
+            manifest.write(root.resolve(ExportManifest.FILE_NAME));
+
+            System.out.println("Data successfully exported to " + parts.size() + " parts in: " + filePath);
+            System.out.println("Manifest: " + root.resolve(ExportManifest.FILE_NAME));
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error exporting data: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isRolling() {
+        return maxRows > 0 || maxBytes > 0;
+    }
+
     @Override
     protected boolean validate() {
         return exportVisitor != null &&
                 filePath != null && !filePath.trim().isEmpty() &&
+                maxRows >= 0 && maxBytes >= 0 && !(isRolling() && since != null) &&
                 (includeAccounts || includeCategories || includeOperations);
     }
 
@@ -94,11 +252,17 @@ public class FileExportCommand extends Command<Boolean> {
                 "Exports financial data to a file in the specified format.\n" +
                 "Usage: export-file --format <format> --output <file-path> [options]\n" +
                 "Options:\n" +
-                "  --format <format>: Export format (json, table)\n" +
+                "  --format <format>: Export format (json, table, binary)\n" +
                 "  --output <file-path>: Path to save the exported file\n" +
                 "  --accounts: Include accounts in export (default: true)\n" +
                 "  --categories: Include categories in export (default: true)\n" +
                 "  --operations: Include operations in export (default: true)\n" +
+                "  --compact: Write JSON without indentation (default: false)\n" +
+                "  --compress <codec>: Compress the file (none, gzip, deflate; default: by file extension)\n" +
+                "  --since <timestamp|token>: Only export operations dated at or after the timestamp, or added\n" +
+                "    after the export that printed the token (backdated operations are included)\n" +
+                "  --max-rows <n>: Roll over to a new part file every n operations (output becomes a directory)\n" +
+                "  --max-bytes <n>: Roll over to a new part file after about n uncompressed bytes\n" +
                 "Example:\n" +
                 "  export-file --format json --output ./exports/finances.json --accounts --operations";
     }
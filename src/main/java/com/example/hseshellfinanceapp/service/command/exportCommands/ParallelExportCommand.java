@@ -0,0 +1,231 @@
+package com.example.hseshellfinanceapp.service.command.exportCommands;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.example.hseshellfinanceapp.facade.OperationFacade;
+import com.example.hseshellfinanceapp.repository.OperationRepository.DateRange;
+import com.example.hseshellfinanceapp.service.command.Command;
+import com.example.hseshellfinanceapp.service.io.compression.CompressionCodec;
+import com.example.hseshellfinanceapp.service.io.visitor.AbstractExportVisitor;
+import com.example.hseshellfinanceapp.service.io.visitor.BinaryExportVisitor;
+import com.example.hseshellfinanceapp.service.io.visitor.JsonExportVisitor;
+import com.example.hseshellfinanceapp.service.io.visitor.TableExportVisitor;
+
+// Each part runs on its own thread with its own visitor; the facades open a separate connection per thread
+public class ParallelExportCommand extends Command<List<Path>> {
+
+    public static final int DEFAULT_PARALLELISM = Math.min(4, Runtime.getRuntime().availableProcessors());
+    public static final int MAX_SLICES = 256;
+
+    private final AbstractExportVisitor exportVisitor;
+    private final OperationFacade operationFacade;
+    private final String directory;
+    private final boolean includeAccounts;
+    private final boolean includeCategories;
+    private final boolean includeOperations;
+    private final int slices;
+    private final int parallelism;
+    private final CompressionCodec compression;
+    private final boolean compact;
+
+    public ParallelExportCommand(
+            AbstractExportVisitor exportVisitor,
+            OperationFacade operationFacade,
+            String directory,
+            boolean includeAccounts,
+            boolean includeCategories,
+            boolean includeOperations,
+            int slices) {
+        this(exportVisitor, operationFacade, directory, includeAccounts, includeCategories, includeOperations,
+                slices, DEFAULT_PARALLELISM, CompressionCodec.NONE, false);
+    }
+
+    public ParallelExportCommand(
+            AbstractExportVisitor exportVisitor,
+            OperationFacade operationFacade,
+            String directory,
+            boolean includeAccounts,
+            boolean includeCategories,
+            boolean includeOperations,
+            int slices,
+            int parallelism,
+            CompressionCodec compression,
+            boolean compact) {
+        this.exportVisitor = exportVisitor;
+        this.operationFacade = operationFacade;
+        this.directory = directory;
+        this.includeAccounts = includeAccounts;
+        this.includeCategories = includeCategories;
+        this.includeOperations = includeOperations;
+        this.slices = slices;
+        this.parallelism = parallelism;
+        this.compression = compression;
+        this.compact = compact;
+    }
+
+    @Override
+    public List<Path> execute() {
+        String extension = fileExtension(exportVisitor);
+        if (extension == null) {
+            System.err.println("Unsupported export visitor type: " + exportVisitor.getClass().getName());
+            return List.of();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            Path root = Paths.get(directory);
+            Files.createDirectories(root);
+
+            List<Future<Path>> parts = new ArrayList<>();
+            if (includeAccounts) {
+                parts.add(executor.submit(() -> writePart(root.resolve("accounts" + extension),
+                        (visitor, out) -> visitor.exportData(out, true, false, false))));
+            }
+            if (includeCategories) {
+                parts.add(executor.submit(() -> writePart(root.resolve("categories" + extension),
+                        (visitor, out) -> visitor.exportData(out, false, true, false))));
+            }
+            if (includeOperations) {
+                List<LocalDateTime> bounds = sliceBounds();
+                for (int i = 0; i + 1 < bounds.size(); i++) {
+                    LocalDateTime from = bounds.get(i);
+                    LocalDateTime to = bounds.get(i + 1);
+                    Path path = root.resolve(String.format("operations-%04d%s", i + 1, extension));
+                    parts.add(executor.submit(() -> writePart(path,
+                            (visitor, out) -> visitor.exportOperations(out, from, to))));
+                }
+            }
+
+            // Futures are read in submission order, so the returned list is ordered like a single-file export
+            List<Path> written = new ArrayList<>();
+            for (Future<Path> part : parts) {
+                written.add(part.get());
+            }
+
+            System.out.println("Data successfully exported to " + written.size() + " files in: " + directory);
+            return written;
+        } catch (ExecutionException e) {
+            System.err.println("Error exporting data: " + e.getCause().getMessage());
+            return List.of();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Export interrupted");
+            return List.of();
+        } catch (IOException e) {
+            System.err.println("Error exporting data: " + e.getMessage());
+            return List.of();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Equal time slices between the first and last operation; the outer bounds stay open (null)
+    // so rows inserted while the export runs still land in the first or last part
+    private List<LocalDateTime> sliceBounds() {
+        List<LocalDateTime> bounds = new ArrayList<>();
+        bounds.add(null);
+
+        DateRange range = operationFacade.getOperationDateRange().orElse(null);
+        if (range != null) {
+            long span = ChronoUnit.MICROS.between(range.first(), range.last());
+            LocalDateTime previous = range.first();
+            for (int i = 1; i < slices; i++) {
+                LocalDateTime bound = range.first().plus(span * i / slices, ChronoUnit.MICROS);
+                // Very short ranges collapse into fewer slices instead of producing empty parts
+                if (bound.isAfter(previous)) {
+                    bounds.add(bound);
+                    previous = bound;
+                }
+            }
+        }
+
+        bounds.add(null);
+        return bounds;
+    }
+
+    private Path writePart(Path path, PartWriter writer) throws Exception {
+        AbstractExportVisitor visitor = exportVisitor.fork();
+        // The shared visitor keeps whatever the last export-json set, so the layout is always applied here
+        if (visitor instanceof JsonExportVisitor jsonExportVisitor) {
+            jsonExportVisitor.setPrettyPrint(!compact);
+        }
+        Path target = compression == CompressionCodec.NONE ? path : Paths.get(path + compression.getExtension());
+        try (OutputStream outputStream = compression.open(new FileOutputStream(target.toFile()))) {
+            writer.write(visitor, outputStream);
+        }
+        return target;
+    }
+
+    static String fileExtension(AbstractExportVisitor exportVisitor) {
+        if (exportVisitor instanceof JsonExportVisitor) {
+            return ".json";
+        } else if (exportVisitor instanceof TableExportVisitor) {
+            return ".txt";
+        } else if (exportVisitor instanceof BinaryExportVisitor) {
+            return ".hseb";
+        }
+        return null;
+    }
+
+    static String formatName(AbstractExportVisitor exportVisitor) {
+        if (exportVisitor instanceof JsonExportVisitor) {
+            return "json";
+        } else if (exportVisitor instanceof TableExportVisitor) {
+            return "table";
+        } else if (exportVisitor instanceof BinaryExportVisitor) {
+            return "binary";
+        }
+        return null;
+    }
+
+    @Override
+    protected boolean validate() {
+        return exportVisitor != null && operationFacade != null &&
+                directory != null && !directory.trim().isEmpty() &&
+                slices > 0 && slices <= MAX_SLICES && parallelism > 0 && compression != null &&
+                (includeAccounts || includeCategories || includeOperations);
+    }
+
+    @Override
+    public String getHelp() {
+        return "PARALLEL EXPORT COMMAND\n" +
+                "Exports each section to its own file, writing the files concurrently.\n" +
+                "Operations are split into date slices that are exported in parallel.\n" +
+                "Usage: export-sections --format <format> --directory <dir> [options]\n" +
+                "Options:\n" +
+                "  --format <format>: Export format (json, table, binary)\n" +
+                "  --directory <dir>: Directory for accounts, categories and operations-NNNN files\n" +
+                "  --accounts: Include accounts in export (default: true)\n" +
+                "  --categories: Include categories in export (default: true)\n" +
+                "  --operations: Include operations in export (default: true)\n" +
+                "  --slices <n>: Number of operation date slices (default: " + DEFAULT_PARALLELISM + ", max: " +
+                MAX_SLICES + ")\n" +
+                "  --parallelism <n>: Parts written at the same time (default: " + DEFAULT_PARALLELISM + ")\n" +
+                "  --compress <codec>: Compress every part (none, gzip, deflate; default: none)\n" +
+                "  --compact: Write JSON without indentation (default: false)\n" +
+                "Example:\n" +
+                "  export-sections --format binary --directory ./exports/nightly --slices 8";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Export data sections to separate files in parallel";
+    }
+
+    private interface PartWriter {
+        void write(AbstractExportVisitor visitor, OutputStream outputStream) throws Exception;
+    }
+}
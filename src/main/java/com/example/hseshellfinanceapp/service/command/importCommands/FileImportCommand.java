@@ -3,9 +3,19 @@ package com.example.hseshellfinanceapp.service.command.importCommands;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
 
 import com.example.hseshellfinanceapp.service.command.Command;
+import com.example.hseshellfinanceapp.service.io.compression.CompressionCodec;
+import com.example.hseshellfinanceapp.service.io.manifest.ExportManifest;
 import com.example.hseshellfinanceapp.service.io.template.AbstractDataImporter;
+import com.example.hseshellfinanceapp.service.io.template.BinaryDataImporter;
 import com.example.hseshellfinanceapp.service.io.template.JsonDataImporter;
 import com.example.hseshellfinanceapp.service.io.template.TableDataImporter;
 
@@ -13,28 +23,100 @@ public class FileImportCommand extends Command<AbstractDataImporter.ImportResult
 
     private final AbstractDataImporter dataImporter;
     private final String filePath;
+    private final boolean bulk;
+    private final boolean mapped;
+    private final CompressionCodec compression;
+    private final boolean checkpoint;
 
     public FileImportCommand(AbstractDataImporter dataImporter, String filePath) {
+        this(dataImporter, filePath, false);
+    }
+
+    public FileImportCommand(AbstractDataImporter dataImporter, String filePath, boolean bulk) {
+        this(dataImporter, filePath, bulk, false);
+    }
+
+    public FileImportCommand(AbstractDataImporter dataImporter, String filePath, boolean bulk, boolean mapped) {
+        this(dataImporter, filePath, bulk, mapped, null);
+    }
+
+    public FileImportCommand(
+            AbstractDataImporter dataImporter,
+            String filePath,
+            boolean bulk,
+            boolean mapped,
+            CompressionCodec compression) {
+        this(dataImporter, filePath, bulk, mapped, compression, false);
+    }
+
+    public FileImportCommand(
+            AbstractDataImporter dataImporter,
+            String filePath,
+            boolean bulk,
+            boolean mapped,
+            CompressionCodec compression,
+            boolean checkpoint) {
         this.dataImporter = dataImporter;
         this.filePath = filePath;
+        this.bulk = bulk;
+        this.mapped = mapped;
+        this.compression = compression;
+        this.checkpoint = checkpoint;
     }
 
     @Override
     public AbstractDataImporter.ImportResult execute() {
+        // A rolling export is imported part by part; --mapped does not apply, so it only asks for bulk inserts
+        if (ExportManifest.isManifest(Paths.get(filePath))) {
+            AbstractDataImporter.ImportResult result =
+                    new ManifestImportCommand(dataImporter, filePath, bulk || mapped, checkpoint).execute();
+            System.out.println(result);
+            return result;
+        }
+
+        if (checkpoint) {
+            return importCheckpointed();
+        }
+
+        CompressionCodec codec = compression != null ? compression : CompressionCodec.fromPath(filePath);
+        boolean bulkImport = bulk;
+
+        // A compressed file cannot be memory-mapped; fall back to a streamed bulk import
+        if (mapped && codec != CompressionCodec.NONE) {
+            System.out.println("Compressed input cannot be memory-mapped, importing as a stream instead");
+            bulkImport = true;
+        } else if (mapped && dataImporter instanceof TableDataImporter tableDataImporter) {
+            if (!new File(filePath).isFile()) {
+                System.err.println("File not found: " + filePath);
+                return new AbstractDataImporter.ImportResult(false, "File not found: " + filePath, 0, 0, 0);
+            }
+            AbstractDataImporter.ImportResult result = tableDataImporter.importMappedFile(Paths.get(filePath));
+            System.out.println(result);
+            return result;
+        }
+
         try {
-            FileInputStream inputStream = new FileInputStream(new File(filePath));
+            InputStream inputStream = codec.decompress(new FileInputStream(new File(filePath)));
 
             ImportDataCommand importCommand;
 
             if (dataImporter instanceof JsonDataImporter) {
                 importCommand = new ImportJsonCommand(
                         (JsonDataImporter) dataImporter,
-                        inputStream
+                        inputStream,
+                        bulkImport
                 );
             } else if (dataImporter instanceof TableDataImporter) {
                 importCommand = new ImportTableCommand(
                         (TableDataImporter) dataImporter,
-                        inputStream
+                        inputStream,
+                        bulkImport
+                );
+            } else if (dataImporter instanceof BinaryDataImporter) {
+                importCommand = new ImportBinaryCommand(
+                        (BinaryDataImporter) dataImporter,
+                        inputStream,
+                        bulkImport
                 );
             } else {
                 System.err.println("Unsupported importer type: " + dataImporter.getClass().getName());
@@ -67,6 +149,30 @@ public class FileImportCommand extends Command<AbstractDataImporter.ImportResult
         }
     }
 
+    private AbstractDataImporter.ImportResult importCheckpointed() {
+        Path path = Paths.get(filePath);
+        CompressionCodec codec = compression != null ? compression : CompressionCodec.fromPath(filePath);
+        try (InputStream inputStream = codec.decompress(new FileInputStream(path.toFile()))) {
+            AbstractDataImporter.ImportResult result = dataImporter.importCheckpointed(
+                    inputStream, checkpointId(path), path.toAbsolutePath().toString());
+            System.out.println(result);
+            return result;
+        } catch (FileNotFoundException e) {
+            System.err.println("File not found: " + filePath);
+            return new AbstractDataImporter.ImportResult(false, "File not found: " + filePath, 0, 0, 0);
+        } catch (IOException e) {
+            System.err.println("Error importing data: " + e.getMessage());
+            return new AbstractDataImporter.ImportResult(false, "Error importing data: " + e.getMessage(), 0, 0, 0);
+        }
+    }
+
+    // Same path, size and modification time means the same source; a rewritten file starts a fresh journal entry
+    static UUID checkpointId(Path path) throws IOException {
+        String key = path.toAbsolutePath().normalize() + "|" + Files.size(path) + "|"
+                + Files.getLastModifiedTime(path).toMillis();
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8));
+    }
+
     @Override
     protected boolean validate() {
         return dataImporter != null && filePath != null && !filePath.trim().isEmpty();
@@ -76,10 +182,14 @@ public class FileImportCommand extends Command<AbstractDataImporter.ImportResult
     public String getHelp() {
         return "FILE IMPORT COMMAND\n" +
                 "Imports financial data from a file in the specified format.\n" +
-                "Usage: import-file --format <format> --input <file-path>\n" +
+                "Usage: import-file --format <format> --input <file-path> [--bulk]\n" +
                 "Options:\n" +
-                "  --format <format>: Import format (json, table)\n" +
-                "  --input <file-path>: Path to the file to import\n" +
+                "  --format <format>: Import format (json, table, binary)\n" +
+                "  --input <file-path>: Path to the file to import, or the manifest.json of a rolling export\n" +
+                "  --bulk: Insert operations in batches instead of one by one\n" +
+                "  --mapped: Memory-map a table file and parse operations in parallel (implies --bulk)\n" +
+                "  --compress <codec>: Decompress the file (none, gzip, deflate; default: by file extension)\n" +
+                "  --checkpoint: Commit in chunks and record progress; rerunning resumes after the last chunk\n" +
                 "Example:\n" +
                 "  import-file --format json --input ./imports/finances.json";
     }
@@ -0,0 +1,44 @@
+package com.example.hseshellfinanceapp.service.command.importCommands;
+
+import java.io.InputStream;
+
+import com.example.hseshellfinanceapp.service.io.template.AbstractDataImporter;
+import com.example.hseshellfinanceapp.service.io.template.BinaryDataImporter;
+
+public class ImportBinaryCommand extends ImportDataCommand {
+
+    public ImportBinaryCommand(BinaryDataImporter dataImporter, InputStream inputStream) {
+        super(dataImporter, inputStream);
+    }
+
+    public ImportBinaryCommand(BinaryDataImporter dataImporter, InputStream inputStream, boolean bulk) {
+        super(dataImporter, inputStream, bulk);
+    }
+
+    @Override
+    public AbstractDataImporter.ImportResult execute() {
+        AbstractDataImporter.ImportResult result = super.execute();
+
+        // Print summary of imported data
+        System.out.println(result);
+
+        return result;
+    }
+
+    @Override
+    public String getHelp() {
+        return "IMPORT FROM BINARY COMMAND\n" +
+                "Imports financial data from a binary snapshot written by export-binary.\n" +
+                "Usage: import-binary --input <file-path>\n" +
+                "Options:\n" +
+                "  --input <file-path>: Path to the snapshot file to import\n" +
+                "Example:\n" +
+                "  import-binary --input finances.hseb\n\n" +
+                "Every block carries a CRC32 checksum; a corrupted block stops the import before its rows are written.";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Import financial data from binary snapshot format";
+    }
+}
@@ -9,15 +9,21 @@ public abstract class ImportDataCommand extends Command<AbstractDataImporter.Imp
 
     protected final AbstractDataImporter dataImporter;
     protected final InputStream inputStream;
+    protected final boolean bulk;
 
     public ImportDataCommand(AbstractDataImporter dataImporter, InputStream inputStream) {
+        this(dataImporter, inputStream, false);
+    }
+
+    public ImportDataCommand(AbstractDataImporter dataImporter, InputStream inputStream, boolean bulk) {
         this.dataImporter = dataImporter;
         this.inputStream = inputStream;
+        this.bulk = bulk;
     }
 
     @Override
     public AbstractDataImporter.ImportResult execute() {
-        return dataImporter.importData(inputStream);
+        return dataImporter.importData(inputStream, bulk);
     }
 
     @Override
@@ -31,8 +37,9 @@ public abstract class ImportDataCommand extends Command<AbstractDataImporter.Imp
                 "Imports financial data from the specified format.\n" +
                 "Usage: import-data --format <format> --input <file-path>\n" +
                 "Options:\n" +
-                "  --format <format>: Import format (json, table)\n" +
+                "  --format <format>: Import format (json, table, binary)\n" +
                 "  --input <file-path>: Path to the file to import\n" +
+                "  --bulk: Insert operations in batches instead of one by one\n" +
                 "Example:\n" +
                 "  import-data --format json --input finances.json";
     }
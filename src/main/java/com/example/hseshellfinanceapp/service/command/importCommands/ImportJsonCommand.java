@@ -11,6 +11,10 @@ public class ImportJsonCommand extends ImportDataCommand {
         super(dataImporter, inputStream);
     }
 
+    public ImportJsonCommand(JsonDataImporter dataImporter, InputStream inputStream, boolean bulk) {
+        super(dataImporter, inputStream, bulk);
+    }
+
     @Override
     public AbstractDataImporter.ImportResult execute() {
         AbstractDataImporter.ImportResult result = super.execute();
@@ -0,0 +1,211 @@
+package com.example.hseshellfinanceapp.service.command.importCommands;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.example.hseshellfinanceapp.service.command.Command;
+import com.example.hseshellfinanceapp.service.io.compression.CompressionCodec;
+import com.example.hseshellfinanceapp.service.io.manifest.ExportManifest;
+import com.example.hseshellfinanceapp.service.io.template.AbstractDataImporter;
+import com.example.hseshellfinanceapp.service.io.template.AbstractDataImporter.ImportResult;
+import com.example.hseshellfinanceapp.service.io.template.BinaryDataImporter;
+import com.example.hseshellfinanceapp.service.io.template.JsonDataImporter;
+import com.example.hseshellfinanceapp.service.io.template.TableDataImporter;
+
+// Loads the parts listed in a rolling export manifest. Every part is verified before anything is written;
+// the first part (accounts and categories) is imported on its own, the rest in parallel, one transaction each.
+// A part whose expenses no longer fit the balance when it commits, because another part or writer spent the money
+// first, is rolled back and reported as failed. Row-by-row imports update a balance per operation and would hold
+// those locks for a whole part, so their parts run one at a time
+public class ManifestImportCommand extends Command<ImportResult> {
+
+    public static final int DEFAULT_PARALLELISM = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    private final AbstractDataImporter dataImporter;
+    private final String manifestPath;
+    private final boolean bulk;
+    private final int parallelism;
+    private final boolean checkpoint;
+
+    public ManifestImportCommand(AbstractDataImporter dataImporter, String manifestPath, boolean bulk) {
+        this(dataImporter, manifestPath, bulk, false);
+    }
+
+    public ManifestImportCommand(AbstractDataImporter dataImporter, String manifestPath, boolean bulk,
+                                 boolean checkpoint) {
+        this(dataImporter, manifestPath, bulk, checkpoint, DEFAULT_PARALLELISM);
+    }
+
+    // With checkpoints every part keeps its own journal entry, so a rerun skips finished parts
+    // and resumes the others after their last committed chunk
+    public ManifestImportCommand(AbstractDataImporter dataImporter, String manifestPath, boolean bulk,
+                                 boolean checkpoint, int parallelism) {
+        this.dataImporter = dataImporter;
+        this.manifestPath = manifestPath;
+        this.bulk = bulk;
+        this.checkpoint = checkpoint;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public ImportResult execute() {
+        Path path = Paths.get(manifestPath);
+        Path manifestFile = Files.isDirectory(path) ? path.resolve(ExportManifest.FILE_NAME) : path;
+
+        ExportManifest manifest;
+        List<Path> parts;
+        CompressionCodec codec;
+        try {
+            manifest = ExportManifest.read(manifestFile);
+            String format = formatName();
+            if (format == null || !format.equals(manifest.format())) {
+                return failure("Manifest format " + manifest.format() + " does not match the "
+                        + dataImporter.getClass().getSimpleName());
+            }
+            codec = manifest.compression() != null
+                    ? CompressionCodec.fromName(manifest.compression())
+                    : CompressionCodec.NONE;
+            parts = verifyParts(manifestFile.toAbsolutePath().getParent(), manifest);
+        } catch (IOException | IllegalArgumentException e) {
+            return failure(e.getMessage());
+        }
+
+        if (parts.isEmpty()) {
+            return failure("Manifest lists no parts");
+        }
+
+        ImportResult first = importPart(parts.get(0), codec);
+        if (!first.success()) {
+            return failure("Part " + parts.get(0).getFileName() + ": " + first.message());
+        }
+
+        List<ImportResult> results = new ArrayList<>();
+        results.add(first);
+
+        ExecutorService executor = Executors.newFixedThreadPool(bulk || checkpoint ? parallelism : 1);
+        try {
+            List<Future<ImportResult>> pending = new ArrayList<>();
+            for (Path part : parts.subList(1, parts.size())) {
+                pending.add(executor.submit(() -> importPart(part, codec)));
+            }
+            for (Future<ImportResult> future : pending) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            return failure(e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failure("Import interrupted");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return combine(parts, results, manifest.totalOperations());
+    }
+
+    // Size and CRC are checked on the stored bytes, so a truncated or damaged part fails before any import
+    private List<Path> verifyParts(Path directory, ExportManifest manifest) throws IOException {
+        List<Path> parts = new ArrayList<>();
+        for (ExportManifest.Part part : manifest.parts()) {
+            Path file = directory.resolve(part.file()).normalize();
+            if (!file.startsWith(directory)) {
+                throw new IOException("Part outside the manifest directory: " + part.file());
+            }
+            if (!Files.isRegularFile(file)) {
+                throw new IOException("Missing part: " + part.file());
+            }
+            if (Files.size(file) != part.bytes() || ExportManifest.checksum(file) != part.crc32()) {
+                throw new IOException("Checksum mismatch in part: " + part.file());
+            }
+            parts.add(file);
+        }
+        return parts;
+    }
+
+    private ImportResult importPart(Path part, CompressionCodec codec) {
+        try (InputStream inputStream = codec.decompress(Files.newInputStream(part))) {
+            if (checkpoint) {
+                return dataImporter.importCheckpointed(inputStream, FileImportCommand.checkpointId(part),
+                        part.toAbsolutePath().toString());
+            }
+            return dataImporter.importData(inputStream, bulk);
+        } catch (IOException e) {
+            return failure("Error reading " + part.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private ImportResult combine(List<Path> parts, List<ImportResult> results, long expectedOperations) {
+        int accounts = 0;
+        int categories = 0;
+        int operations = 0;
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            ImportResult result = results.get(i);
+            if (!result.success()) {
+                failures.add(parts.get(i).getFileName() + ": " + result.message());
+                continue;
+            }
+            accounts += result.accountsImported();
+            categories += result.categoriesImported();
+            operations += result.operationsImported();
+        }
+
+        if (!failures.isEmpty()) {
+            // Parts commit independently, so the counts show what did make it in
+            return new ImportResult(false, String.join("; ", failures), accounts, categories, operations);
+        }
+        if (operations != expectedOperations) {
+            System.err.println("Imported " + operations + " of " + expectedOperations + " operations in the manifest");
+        }
+        return new ImportResult(true, "Import successful", accounts, categories, operations);
+    }
+
+    private String formatName() {
+        if (dataImporter instanceof JsonDataImporter) {
+            return "json";
+        } else if (dataImporter instanceof TableDataImporter) {
+            return "table";
+        } else if (dataImporter instanceof BinaryDataImporter) {
+            return "binary";
+        }
+        return null;
+    }
+
+    private ImportResult failure(String message) {
+        System.err.println("Error importing data: " + message);
+        return new ImportResult(false, message, 0, 0, 0);
+    }
+
+    @Override
+    protected boolean validate() {
+        return dataImporter != null && manifestPath != null && !manifestPath.trim().isEmpty() && parallelism > 0;
+    }
+
+    @Override
+    public String getHelp() {
+        return "MANIFEST IMPORT COMMAND\n" +
+                "Imports a rolling export by reading its manifest and loading the parts in parallel\n" +
+                "(with --bulk or --checkpoint; row-by-row imports load one part at a time).\n" +
+                "Every part is checked against the size and checksum recorded in the manifest first.\n" +
+                "Usage: import-json|import-table|import-binary <dir>/manifest.json [--bulk]\n" +
+                "Options:\n" +
+                "  --bulk: Insert operations in batches instead of one by one\n" +
+                "  --checkpoint: Journal progress per part; rerunning skips finished parts\n" +
+                "Example:\n" +
+                "  import-binary ./exports/ledger/manifest.json --bulk";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Import a multi-part export from its manifest";
+    }
+}
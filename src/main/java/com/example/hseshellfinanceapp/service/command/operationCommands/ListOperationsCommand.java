@@ -1,21 +1,24 @@
 package com.example.hseshellfinanceapp.service.command.operationCommands;
 
 import java.time.LocalDate;
-import java.util.List;
 import java.util.UUID;
 
-import com.example.hseshellfinanceapp.domain.model.Operation;
 import com.example.hseshellfinanceapp.domain.model.OperationType;
 import com.example.hseshellfinanceapp.facade.OperationFacade;
+import com.example.hseshellfinanceapp.facade.OperationFacade.OperationPage;
 import com.example.hseshellfinanceapp.service.command.Command;
 
-public class ListOperationsCommand extends Command<List<Operation>> {
+public class ListOperationsCommand extends Command<OperationPage> {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
 
     private final OperationFacade operationFacade;
     private final UUID accountId;
     private final OperationType typeFilter;
     private final LocalDate startDate;
     private final LocalDate endDate;
+    private final int pageSize;
+    private final String pageToken;
 
     public ListOperationsCommand(OperationFacade operationFacade) {
         this(operationFacade, null, null, null, null);
@@ -39,31 +42,36 @@ public class ListOperationsCommand extends Command<List<Operation>> {
             OperationType typeFilter,
             LocalDate startDate,
             LocalDate endDate) {
+        this(operationFacade, accountId, typeFilter, startDate, endDate, DEFAULT_PAGE_SIZE, null);
+    }
+
+    public ListOperationsCommand(
+            OperationFacade operationFacade,
+            UUID accountId,
+            OperationType typeFilter,
+            LocalDate startDate,
+            LocalDate endDate,
+            int pageSize,
+            String pageToken) {
         this.operationFacade = operationFacade;
         this.accountId = accountId;
         this.typeFilter = typeFilter;
         this.startDate = startDate;
         this.endDate = endDate;
+        this.pageSize = pageSize;
+        this.pageToken = pageToken;
     }
 
     @Override
-    public List<Operation> execute() {
-        if (accountId != null) {
-            if (startDate != null && endDate != null) {
-                return operationFacade.getAccountOperations(accountId, startDate, endDate);
-            }
-            return operationFacade.getAccountOperations(accountId);
-        } else if (startDate != null && endDate != null) {
-            return operationFacade.getOperationsByDateRange(startDate, endDate);
-        } else if (typeFilter != null) {
-            return operationFacade.getOperationsByType(typeFilter);
-        } else {
-            return operationFacade.getAllOperations();
-        }
+    public OperationPage execute() {
+        return operationFacade.getOperationsPage(accountId, typeFilter, startDate, endDate, pageToken, pageSize);
     }
 
     @Override
     protected boolean validate() {
+        if (pageSize <= 0 || pageSize > OperationFacade.MAX_PAGE_SIZE) {
+            return false;
+        }
         if (startDate != null && endDate != null) {
             return !startDate.isAfter(endDate);
         }
@@ -73,17 +81,20 @@ public class ListOperationsCommand extends Command<List<Operation>> {
     @Override
     public String getHelp() {
         return "LIST OPERATIONS COMMAND\n" +
-                "Lists operations with various filtering options.\n" +
+                "Lists operations page by page, newest first, with various filtering options.\n" +
                 "Usage: list-operations [options]\n" +
                 "Options:\n" +
                 "  --account <account-id>: Filter by account\n" +
                 "  --type <type>: Filter by operation type (INCOME or EXPENSE)\n" +
                 "  --from <date>: Start date in ISO format (yyyy-MM-dd)\n" +
                 "  --to <date>: End date in ISO format (yyyy-MM-dd)\n" +
+                "  --page-size <n>: Operations per page (default: " + DEFAULT_PAGE_SIZE + ", max: " +
+                OperationFacade.MAX_PAGE_SIZE + ")\n" +
+                "  --page-token <token>: Continuation token printed under the previous page\n" +
                 "Examples:\n" +
                 "  list-operations --account 123e4567-e89b-12d3-a456-426614174000\n" +
                 "  list-operations --from 2023-01-01 --to 2023-01-31\n" +
-                "  list-operations --type INCOME";
+                "  list-operations --type INCOME --page-size 100";
     }
 
     @Override
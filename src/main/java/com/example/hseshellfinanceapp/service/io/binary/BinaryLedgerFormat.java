@@ -0,0 +1,131 @@
+package com.example.hseshellfinanceapp.service.io.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+// Layout shared by BinaryExportVisitor and BinaryDataImporter:
+//   header:  magic "HSEB", version (short)
+//   section: tag byte, then blocks of [rows (int), length (int), payload, crc32 (int)], closed by rows == 0
+//   references (optional, rolling continuation parts and operation slices): REFERENCES tag, then account blocks and
+//            category blocks of [id, name], each list closed by rows == 0
+//   trailer: END tag, account/category/operation counts (long each)
+// Payloads are columnar: every row's first column, then every row's second column, and so on.
+public final class BinaryLedgerFormat {
+
+    public static final byte[] MAGIC = {'H', 'S', 'E', 'B'};
+    public static final short VERSION = 1;
+
+    public static final byte ACCOUNTS = 'A';
+    public static final byte CATEGORIES = 'C';
+    public static final byte OPERATIONS = 'O';
+    public static final byte REFERENCES = 'R';
+    public static final byte END = 'E';
+
+    public static final int BLOCK_ROWS = 4096;
+    public static final int MAX_BLOCK_BYTES = 64 * 1024 * 1024;
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private BinaryLedgerFormat() {
+    }
+
+    public static void writeUuid(DataOutput out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    public static UUID readUuid(DataInput in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    // Null is written as length -1 so it survives the round trip distinct from ""
+    public static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static long unscaledAmount(BigDecimal amount) throws IOException {
+        BigInteger unscaled = amount.unscaledValue();
+        if (unscaled.bitLength() > 63) {
+            throw new IOException("Amount does not fit the binary format: " + amount);
+        }
+        return unscaled.longValue();
+    }
+
+    public static byte amountScale(BigDecimal amount) throws IOException {
+        int scale = amount.scale();
+        if (scale < Byte.MIN_VALUE || scale > Byte.MAX_VALUE) {
+            throw new IOException("Amount scale does not fit the binary format: " + amount);
+        }
+        return (byte) scale;
+    }
+
+    public static long toEpochMicros(LocalDateTime date) {
+        return ChronoUnit.MICROS.between(EPOCH, date);
+    }
+
+    public static LocalDateTime fromEpochMicros(long micros) {
+        long seconds = Math.floorDiv(micros, 1_000_000L);
+        int nanos = (int) Math.floorMod(micros, 1_000_000L) * 1000;
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    public static DataInputStream openBlock(byte[] payload) {
+        return new DataInputStream(new ByteArrayInputStream(payload));
+    }
+
+    public static int checksum(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+
+    // Reusable buffer for one block; exposes its backing array so the checksum needs no copy
+    public static class BlockBuffer extends ByteArrayOutputStream {
+        private final DataOutputStream data = new DataOutputStream(this);
+
+        public BlockBuffer() {
+            super(256 * 1024);
+        }
+
+        public DataOutputStream data() {
+            return data;
+        }
+
+        public void writeTo(DataOutput out, int rows) throws IOException {
+            out.writeInt(rows);
+            out.writeInt(count);
+            out.write(buf, 0, count);
+            out.writeInt(checksum(buf, count));
+            reset();
+        }
+    }
+}
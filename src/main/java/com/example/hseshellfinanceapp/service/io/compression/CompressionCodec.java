@@ -0,0 +1,83 @@
+package com.example.hseshellfinanceapp.service.io.compression;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+public enum CompressionCodec {
+    NONE(null),
+    GZIP(".gz"),
+    DEFLATE(".deflate");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String extension;
+
+    CompressionCodec(String extension) {
+        this.extension = extension;
+    }
+
+    // File suffix for this codec; null for NONE
+    public String getExtension() {
+        return extension;
+    }
+
+    public static CompressionCodec fromPath(String filePath) {
+        String lower = filePath.toLowerCase(Locale.ROOT);
+        for (CompressionCodec codec : values()) {
+            if (codec.extension != null && lower.endsWith(codec.extension)) {
+                return codec;
+            }
+        }
+        return NONE;
+    }
+
+    public static CompressionCodec fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown compression codec: " + name);
+        }
+    }
+
+    // An explicit --compress value wins over the file extension
+    public static CompressionCodec resolve(String name, String filePath) {
+        return name != null ? fromName(name) : fromPath(filePath);
+    }
+
+    public OutputStream compress(OutputStream outputStream) throws IOException {
+        return switch (this) {
+            case NONE -> outputStream;
+            case GZIP -> new GZIPOutputStream(outputStream, BUFFER_SIZE);
+            case DEFLATE -> new DeflaterOutputStream(outputStream, new Deflater(), BUFFER_SIZE, true);
+        };
+    }
+
+    // Export side: compression runs on its own thread so serialization and deflating overlap
+    public OutputStream open(OutputStream outputStream) throws IOException {
+        if (this == NONE) {
+            return outputStream;
+        }
+        try {
+            return new PipelinedOutputStream(compress(outputStream));
+        } catch (IOException e) {
+            outputStream.close();
+            throw e;
+        }
+    }
+
+    public InputStream decompress(InputStream inputStream) throws IOException {
+        return switch (this) {
+            case NONE -> inputStream;
+            case GZIP -> new BufferedInputStream(new GZIPInputStream(inputStream, BUFFER_SIZE), BUFFER_SIZE);
+            case DEFLATE -> new BufferedInputStream(new InflaterInputStream(inputStream), BUFFER_SIZE);
+        };
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.hseshellfinanceapp.service.io.compression;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Hands filled buffers to a background thread that writes them to the target stream, so the
+// serializer keeps producing while the previous chunk is being compressed
+public class PipelinedOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final int QUEUE_CAPACITY = 4;
+    private static final byte[] END_OF_STREAM = new byte[0];
+
+    private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread worker;
+    private volatile Throwable failure;
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int count;
+    private boolean closed;
+
+    public PipelinedOutputStream(OutputStream target) {
+        this.worker = new Thread(() -> drain(target), "export-compressor");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) {
+            handOff();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == buffer.length) {
+                handOff();
+            }
+            int n = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    // Partial buffers are handed off as-is; the worker does not need to be caught up
+    @Override
+    public void flush() throws IOException {
+        if (count > 0) {
+            handOff();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            flush();
+        } finally {
+            // Always release the worker, even when the last hand-off failed
+            enqueue(END_OF_STREAM);
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for compression to finish");
+            }
+        }
+        checkFailure();
+    }
+
+    private void handOff() throws IOException {
+        checkFailure();
+        byte[] chunk = count == buffer.length ? buffer : Arrays.copyOf(buffer, count);
+        enqueue(chunk);
+        buffer = new byte[BUFFER_SIZE];
+        count = 0;
+    }
+
+    private void enqueue(byte[] chunk) throws IOException {
+        try {
+            queue.put(chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while handing data to the compressor");
+        }
+    }
+
+    private void drain(OutputStream target) {
+        try {
+            byte[] chunk;
+            while ((chunk = queue.take()) != END_OF_STREAM) {
+                // After a failure keep taking chunks so the producer never blocks on a full queue
+                if (failure == null) {
+                    writeChunk(target, chunk);
+                }
+            }
+        } catch (InterruptedException e) {
+            recordFailure(e);
+        } finally {
+            try {
+                target.close();
+            } catch (IOException e) {
+                recordFailure(e);
+            }
+        }
+    }
+
+    private void writeChunk(OutputStream target, byte[] chunk) {
+        try {
+            target.write(chunk);
+        } catch (IOException | RuntimeException e) {
+            recordFailure(e);
+        }
+    }
+
+    private void recordFailure(Throwable e) {
+        if (failure == null) {
+            failure = e;
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable e = failure;
+        if (e instanceof IOException ioException) {
+            throw ioException;
+        }
+        if (e != null) {
+            throw new IOException("Compression failed: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.hseshellfinanceapp.service.io.manifest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+// Describes a rolling export: the parts live next to the manifest and are listed in write order
+public record ExportManifest(String format, String compression, List<Part> parts) {
+
+    public static final String FILE_NAME = "manifest.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static boolean isManifest(Path path) {
+        return path.getFileName() != null && FILE_NAME.equals(path.getFileName().toString());
+    }
+
+    public static ExportManifest read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), ExportManifest.class);
+    }
+
+    public void write(Path path) throws IOException {
+        MAPPER.writeValue(path.toFile(), this);
+    }
+
+    public long totalOperations() {
+        return parts.stream().mapToLong(Part::operations).sum();
+    }
+
+    // Checksums cover the bytes on disk, so a part is verified before it is decompressed or parsed
+    public static long checksum(Path path) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(path)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    public record Part(
+            String file,
+            long accounts,
+            long categories,
+            long operations,
+            LocalDateTime firstDate,
+            LocalDateTime lastDate,
+            long bytes,
+            long crc32
+    ) {
+    }
+}
@@ -1,25 +1,42 @@
 package com.example.hseshellfinanceapp.service.io.template;
 
 import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import com.example.hseshellfinanceapp.domain.model.BankAccount;
 import com.example.hseshellfinanceapp.domain.model.Category;
 import com.example.hseshellfinanceapp.domain.model.Operation;
+import com.example.hseshellfinanceapp.domain.model.OperationType;
 import com.example.hseshellfinanceapp.facade.BankAccountFacade;
 import com.example.hseshellfinanceapp.facade.CategoryFacade;
 import com.example.hseshellfinanceapp.facade.OperationFacade;
+import com.example.hseshellfinanceapp.facade.OperationFacade.ImportTotals;
+import com.example.hseshellfinanceapp.repository.ImportJournalRepository.ImportCheckpoint;
+import com.example.hseshellfinanceapp.repository.OperationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Component
 public abstract class AbstractDataImporter {
 
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
     protected final BankAccountFacade bankAccountFacade;
     protected final CategoryFacade categoryFacade;
     protected final OperationFacade operationFacade;
 
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
     @Autowired
     public AbstractDataImporter(
             BankAccountFacade bankAccountFacade,
@@ -30,24 +47,65 @@ public abstract class AbstractDataImporter {
         this.operationFacade = operationFacade;
     }
 
+    @Value("${app.import.batch-size:" + DEFAULT_BATCH_SIZE + "}")
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Import batch size must be positive");
+        }
+        if (batchSize > OperationRepository.MAX_BATCH_ROWS) {
+            throw new IllegalArgumentException(
+                    "Import batch size cannot exceed " + OperationRepository.MAX_BATCH_ROWS);
+        }
+        this.batchSize = batchSize;
+    }
+
     @Transactional
     public ImportResult importData(InputStream inputStream) {
-        try {
-            ImportData data = parseData(inputStream);
-            validateData(data);
+        return importData(inputStream, false);
+    }
 
-            int accountsImported = importAccounts(data.accounts());
-            int categoriesImported = importCategories(data.categories());
-            int operationsImported = importOperations(data.operations());
+    @Transactional
+    public ImportResult importData(InputStream inputStream, boolean bulk) {
+        return runImport(bulk, sink -> streamData(inputStream, sink));
+    }
+
+    // Not transactional: every chunk commits on its own and moves the journal checkpoint forward. Running the
+    // same import again skips the rows covered by the last checkpoint and reuses accounts and categories that
+    // already exist by name, since the earlier run may have created them. A first run creates them all
+    public ImportResult importCheckpointed(InputStream inputStream, UUID importId, String source) {
+        ImportCheckpoint checkpoint = operationFacade.startImport(importId, source);
+        if (checkpoint.completed()) {
+            return new ImportResult(true, "Import already completed", 0, 0, 0);
+        }
+        if (checkpoint.rowsCommitted() > 0) {
+            System.out.println("Resuming import after row " + checkpoint.rowsCommitted());
+        }
+        return runImport(new ImportWriter(checkpoint), sink -> streamData(inputStream, sink));
+    }
+
+    protected ImportResult runImport(boolean bulk, ImportSource source) {
+        return runImport(new ImportWriter(bulk), source);
+    }
+
+    private ImportResult runImport(ImportWriter writer, ImportSource source) {
+        try {
+            source.feed(writer);
+            writer.flush();
+            writer.complete();
 
             return new ImportResult(
                     true,
                     "Import successful",
-                    accountsImported,
-                    categoriesImported,
-                    operationsImported
+                    writer.accountsImported,
+                    writer.categoriesImported,
+                    writer.operationsImported
             );
         } catch (Exception e) {
+            // Inside importData's transaction nothing of a failed import may commit, least of all operations whose
+            // balance changes were still pending
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            }
             return new ImportResult(
                     false,
                     "Import failed: " + e.getMessage(),
@@ -58,44 +116,28 @@ public abstract class AbstractDataImporter {
 
     protected abstract ImportData parseData(InputStream inputStream) throws Exception;
 
-    protected void validateData(ImportData data) throws Exception {
-        if (data == null) {
-            throw new Exception("Imported data is null");
-        }
-    }
+    // Formats that can read incrementally override this; the default parses the whole input first
+    protected void streamData(InputStream inputStream, ImportSink sink) throws Exception {
+        ImportData data = parseData(inputStream);
+        validateData(data);
 
-    private int importAccounts(List<BankAccount> accounts) {
-        if (accounts == null || accounts.isEmpty()) {
-            return 0;
+        if (data.accounts() != null) {
+            data.accounts().forEach(sink::acceptAccount);
         }
-
-        int count = 0;
-        for (BankAccount account : accounts) {
-            try {
-                bankAccountFacade.createAccount(account.getName(), account.getBalance());
-                count++;
-            } catch (Exception e) {
-                System.err.println("Error importing account: " + e.getMessage());
+        if (data.categories() != null) {
+            data.categories().forEach(sink::acceptCategory);
+        }
+        if (data.operations() != null) {
+            for (Operation operation : data.operations()) {
+                sink.acceptOperation(operation, data.references().get(operation.getId()));
             }
         }
-        return count;
     }
 
-    private int importCategories(List<Category> categories) {
-        if (categories == null || categories.isEmpty()) {
-            return 0;
-        }
-
-        int count = 0;
-        for (Category category : categories) {
-            try {
-                categoryFacade.createCategory(category.getName(), category.getType());
-                count++;
-            } catch (Exception e) {
-                System.err.println("Error importing category: " + e.getMessage());
-            }
+    protected void validateData(ImportData data) throws Exception {
+        if (data == null) {
+            throw new Exception("Imported data is null");
         }
-        return count;
     }
 
     private int importOperations(List<Operation> operations) {
@@ -121,11 +163,274 @@ public abstract class AbstractDataImporter {
         return count;
     }
 
+    // Mirrors the checks of createIncome/createExpense against the preloaded state
+    private void checkBulkOperation(
+            Operation operation,
+            Map<UUID, BigDecimal> balances,
+            Map<UUID, OperationType> categoryTypes) {
+        BigDecimal balance = balances.get(operation.getBankAccountId());
+        if (balance == null) {
+            throw new IllegalArgumentException("Bank account not found: " + operation.getBankAccountId());
+        }
+
+        OperationType categoryType = categoryTypes.get(operation.getCategoryId());
+        if (categoryType == null) {
+            throw new IllegalArgumentException("Category not found: " + operation.getCategoryId());
+        }
+        if (operation.getType() == null || categoryType != operation.getType()) {
+            throw new IllegalArgumentException("Category type does not match operation type");
+        }
+
+        BigDecimal amount = operation.getAmount();
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than zero");
+        }
+
+        if (operation.isExpense()) {
+            if (balance.compareTo(amount) < 0) {
+                throw new IllegalArgumentException("Insufficient funds in account");
+            }
+            balances.put(operation.getBankAccountId(), balance.subtract(amount));
+        } else {
+            balances.put(operation.getBankAccountId(), balance.add(amount));
+        }
+    }
+
+    protected interface ImportSource {
+        void feed(ImportSink sink) throws Exception;
+    }
+
+    protected interface ImportSink {
+        void acceptAccount(BankAccount account);
+
+        void acceptCategory(Category category);
+
+        // The reference carries account/category names that still have to be resolved to ids
+        void acceptOperation(Operation operation, OperationReference reference);
+
+        default void acceptOperation(Operation operation) {
+            acceptOperation(operation, null);
+        }
+    }
+
+    // Writes rows as they arrive; operations are buffered into chunks of at most batchSize
+    private class ImportWriter implements ImportSink {
+        private final boolean bulk;
+        private final ImportCheckpoint checkpoint;
+        private final ImportTotals totals = new ImportTotals();
+        private long rowsSeen;
+        private List<Operation> chunk = new ArrayList<>();
+        private Map<UUID, BigDecimal> balances;
+        private Map<UUID, OperationType> categoryTypes;
+        private final Map<String, UUID> importedAccountIds = new HashMap<>();
+        private final Map<String, UUID> importedCategoryIds = new HashMap<>();
+        private Map<String, UUID> existingAccountIds;
+        private Map<String, UUID> existingCategoryIds;
+        private int accountsImported;
+        private int categoriesImported;
+        private int operationsImported;
+
+        ImportWriter(boolean bulk) {
+            this.bulk = bulk;
+            this.checkpoint = null;
+        }
+
+        // Checkpointed imports always write in chunks, since a chunk is the unit that commits
+        ImportWriter(ImportCheckpoint checkpoint) {
+            this.bulk = true;
+            this.checkpoint = checkpoint;
+        }
+
+        @Override
+        public void acceptAccount(BankAccount account) {
+            if (resuming() && existingAccountIds().containsKey(account.getName())) {
+                return;
+            }
+            try {
+                BankAccount created = bankAccountFacade.createAccount(account.getName(), account.getBalance());
+                if (created != null) {
+                    importedAccountIds.put(created.getName(), created.getId());
+                }
+                accountsImported++;
+            } catch (Exception e) {
+                System.err.println("Error importing account: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public void acceptCategory(Category category) {
+            if (resuming()
+                    && existingCategoryIds().containsKey(categoryKey(category.getType(), category.getName()))) {
+                return;
+            }
+            try {
+                Category created = categoryFacade.createCategory(category.getName(), category.getType());
+                if (created != null) {
+                    importedCategoryIds.put(categoryKey(created.getType(), created.getName()), created.getId());
+                }
+                categoriesImported++;
+            } catch (Exception e) {
+                System.err.println("Error importing category: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public void acceptOperation(Operation operation, OperationReference reference) {
+            if (checkpoint != null) {
+                rowsSeen++;
+                if (rowsSeen <= checkpoint.rowsCommitted()) {
+                    return;
+                }
+                operation = new Operation(rowId(rowsSeen), operation.getType(), operation.getBankAccountId(),
+                        operation.getAmount(), operation.getDate(), operation.getDescription(),
+                        operation.getCategoryId());
+            }
+
+            if (reference != null) {
+                try {
+                    operation = resolveReference(operation, reference);
+                } catch (Exception e) {
+                    System.err.println("Error importing operation: " + e.getMessage());
+                    return;
+                }
+            }
+
+            if (bulk) {
+                try {
+                    checkBulkOperation(operation, preloadedBalances(), preloadedCategoryTypes());
+                } catch (Exception e) {
+                    System.err.println("Error importing operation: " + e.getMessage());
+                    return;
+                }
+            }
+
+            chunk.add(operation);
+            if (chunk.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            if (checkpoint != null) {
+                operationsImported += operationFacade.importOperationsCheckpoint(checkpoint.id(), chunk, rowsSeen);
+            } else {
+                operationsImported += bulk
+                        ? operationFacade.importOperationsBatch(chunk, totals)
+                        : importOperations(chunk);
+            }
+            chunk = new ArrayList<>();
+        }
+
+        // Bulk imports write balances and rollups once, right before their transaction commits, instead of per
+        // chunk, so account rows stay unlocked while the chunks are written. The checks above ran against balances
+        // read at the start, so the debits are applied guarded and an overdrawing import fails as a whole
+        void complete() {
+            if (checkpoint != null) {
+                operationFacade.completeImport(checkpoint.id(), Math.max(rowsSeen, checkpoint.rowsCommitted()));
+            } else if (!totals.isEmpty()) {
+                operationFacade.applyImportTotals(totals);
+            }
+        }
+
+        private boolean resuming() {
+            return checkpoint != null && (checkpoint.resumed() || checkpoint.rowsCommitted() > 0);
+        }
+
+        // The same source row always maps to the same operation id, whichever run imports it
+        private UUID rowId(long row) {
+            return UUID.nameUUIDFromBytes((checkpoint.id() + ":" + row).getBytes(StandardCharsets.UTF_8));
+        }
+
+        private Operation resolveReference(Operation operation, OperationReference reference) {
+            UUID accountId = operation.getBankAccountId();
+            if (reference.accountName() != null) {
+                accountId = importedAccountIds.get(reference.accountName());
+                if (accountId == null) {
+                    accountId = existingAccountIds().get(reference.accountName());
+                }
+                if (accountId == null) {
+                    throw new IllegalArgumentException("Unknown account: " + reference.accountName());
+                }
+            }
+
+            UUID categoryId = operation.getCategoryId();
+            if (reference.categoryName() != null) {
+                String key = categoryKey(operation.getType(), reference.categoryName());
+                categoryId = importedCategoryIds.get(key);
+                if (categoryId == null) {
+                    categoryId = existingCategoryIds().get(key);
+                }
+                if (categoryId == null) {
+                    throw new IllegalArgumentException("Unknown category: " + reference.categoryName());
+                }
+            }
+
+            return new Operation(operation.getId(), operation.getType(), accountId, operation.getAmount(),
+                    operation.getDate(), operation.getDescription(), categoryId);
+        }
+
+        private Map<String, UUID> existingAccountIds() {
+            if (existingAccountIds == null) {
+                existingAccountIds = new HashMap<>();
+                bankAccountFacade.getAccountNames().forEach((id, name) -> existingAccountIds.putIfAbsent(name, id));
+            }
+            return existingAccountIds;
+        }
+
+        private Map<String, UUID> existingCategoryIds() {
+            if (existingCategoryIds == null) {
+                existingCategoryIds = new HashMap<>();
+                for (Category category : categoryFacade.getAllCategories()) {
+                    String key = categoryKey(category.getType(), category.getName());
+                    existingCategoryIds.putIfAbsent(key, category.getId());
+                }
+            }
+            return existingCategoryIds;
+        }
+
+        // Category names are only unique per type, e.g. "Other" can be both income and expense
+        private String categoryKey(OperationType type, String name) {
+            return type + ":" + name;
+        }
+
+        // Loaded on the first operation so accounts and categories from the same file are included
+        private Map<UUID, BigDecimal> preloadedBalances() {
+            if (balances == null) {
+                balances = new HashMap<>();
+                for (BankAccount account : bankAccountFacade.getAllAccounts()) {
+                    balances.put(account.getId(), account.getBalance());
+                }
+            }
+            return balances;
+        }
+
+        private Map<UUID, OperationType> preloadedCategoryTypes() {
+            if (categoryTypes == null) {
+                categoryTypes = new HashMap<>();
+                for (Category category : categoryFacade.getAllCategories()) {
+                    categoryTypes.put(category.getId(), category.getType());
+                }
+            }
+            return categoryTypes;
+        }
+    }
+
     public record ImportData(
             List<BankAccount> accounts,
             List<Category> categories,
-            List<Operation> operations
+            List<Operation> operations,
+            Map<UUID, OperationReference> references
     ) {
+        public ImportData(List<BankAccount> accounts, List<Category> categories, List<Operation> operations) {
+            this(accounts, categories, operations, Map.of());
+        }
+    }
+
+    // Names of the account and category an imported operation points to, keyed by operation id in ImportData
+    public record OperationReference(String accountName, String categoryName) {
     }
 
     public record ImportResult(
@@ -0,0 +1,264 @@
+package com.example.hseshellfinanceapp.service.io.template;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.example.hseshellfinanceapp.domain.model.BankAccount;
+import com.example.hseshellfinanceapp.domain.model.Category;
+import com.example.hseshellfinanceapp.domain.model.Operation;
+import com.example.hseshellfinanceapp.domain.model.OperationType;
+import com.example.hseshellfinanceapp.facade.BankAccountFacade;
+import com.example.hseshellfinanceapp.facade.CategoryFacade;
+import com.example.hseshellfinanceapp.facade.OperationFacade;
+import com.example.hseshellfinanceapp.service.io.binary.BinaryLedgerFormat;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BinaryDataImporter extends AbstractDataImporter {
+
+    private static final OperationType[] TYPES = OperationType.values();
+
+    public BinaryDataImporter(
+            BankAccountFacade bankAccountFacade,
+            CategoryFacade categoryFacade,
+            OperationFacade operationFacade) {
+        super(bankAccountFacade, categoryFacade, operationFacade);
+    }
+
+    @Override
+    protected ImportData parseData(InputStream inputStream) throws Exception {
+        List<BankAccount> accounts = new ArrayList<>();
+        List<Category> categories = new ArrayList<>();
+        List<Operation> operations = new ArrayList<>();
+        Map<UUID, OperationReference> references = new HashMap<>();
+
+        streamData(inputStream, new ImportSink() {
+            @Override
+            public void acceptAccount(BankAccount account) {
+                accounts.add(account);
+            }
+
+            @Override
+            public void acceptCategory(Category category) {
+                categories.add(category);
+            }
+
+            @Override
+            public void acceptOperation(Operation operation, OperationReference reference) {
+                operations.add(operation);
+                if (reference != null) {
+                    references.put(operation.getId(), reference);
+                }
+            }
+        });
+
+        return new ImportData(accounts, categories, operations, references);
+    }
+
+    // Each block is checksummed before any of its rows reach the sink
+    @Override
+    protected void streamData(InputStream inputStream, ImportSink sink) throws Exception {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream, 64 * 1024));
+        readHeader(in);
+
+        // Ids in the file belong to the exporting database; names let the writer map them to new rows
+        Map<UUID, String> accountNames = new HashMap<>();
+        Map<UUID, String> categoryNames = new HashMap<>();
+        long accounts = 0;
+        long categories = 0;
+        long operations = 0;
+
+        while (true) {
+            byte tag = in.readByte();
+            switch (tag) {
+                case BinaryLedgerFormat.ACCOUNTS -> {
+                    int rows;
+                    while ((rows = readRowCount(in)) > 0) {
+                        readAccounts(readBlock(in), rows, sink, accountNames);
+                        accounts += rows;
+                    }
+                }
+                case BinaryLedgerFormat.CATEGORIES -> {
+                    int rows;
+                    while ((rows = readRowCount(in)) > 0) {
+                        readCategories(readBlock(in), rows, sink, categoryNames);
+                        categories += rows;
+                    }
+                }
+                case BinaryLedgerFormat.OPERATIONS -> {
+                    int rows;
+                    while ((rows = readRowCount(in)) > 0) {
+                        readOperations(readBlock(in), rows, sink, accountNames, categoryNames);
+                        operations += rows;
+                    }
+                }
+                case BinaryLedgerFormat.REFERENCES -> {
+                    int rows;
+                    while ((rows = readRowCount(in)) > 0) {
+                        readNames(readBlock(in), rows, accountNames);
+                    }
+                    while ((rows = readRowCount(in)) > 0) {
+                        readNames(readBlock(in), rows, categoryNames);
+                    }
+                }
+                case BinaryLedgerFormat.END -> {
+                    if (in.readLong() != accounts || in.readLong() != categories || in.readLong() != operations) {
+                        throw new IOException("Record counts in the trailer do not match the file contents");
+                    }
+                    return;
+                }
+                default -> throw new IOException("Unknown section tag: " + tag);
+            }
+        }
+    }
+
+    private void readHeader(DataInputStream in) throws IOException {
+        byte[] magic = new byte[BinaryLedgerFormat.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, BinaryLedgerFormat.MAGIC)) {
+            throw new IOException("Not a binary ledger snapshot");
+        }
+        short version = in.readShort();
+        if (version != BinaryLedgerFormat.VERSION) {
+            throw new IOException("Unsupported binary ledger version: " + version);
+        }
+    }
+
+    private int readRowCount(DataInputStream in) throws IOException {
+        int rows = in.readInt();
+        if (rows < 0 || rows > BinaryLedgerFormat.BLOCK_ROWS) {
+            throw new IOException("Corrupt block row count: " + rows);
+        }
+        return rows;
+    }
+
+    private DataInputStream readBlock(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > BinaryLedgerFormat.MAX_BLOCK_BYTES) {
+            throw new IOException("Corrupt block length: " + length);
+        }
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        if (in.readInt() != BinaryLedgerFormat.checksum(payload, length)) {
+            throw new IOException("Block checksum mismatch");
+        }
+        return BinaryLedgerFormat.openBlock(payload);
+    }
+
+    private void readAccounts(DataInputStream block, int rows, ImportSink sink, Map<UUID, String> names)
+            throws IOException {
+        UUID[] ids = new UUID[rows];
+        String[] accountNames = new String[rows];
+        long[] unscaled = new long[rows];
+
+        for (int i = 0; i < rows; i++) {
+            ids[i] = BinaryLedgerFormat.readUuid(block);
+        }
+        for (int i = 0; i < rows; i++) {
+            accountNames[i] = BinaryLedgerFormat.readString(block);
+        }
+        for (int i = 0; i < rows; i++) {
+            unscaled[i] = block.readLong();
+        }
+        for (int i = 0; i < rows; i++) {
+            BigDecimal balance = BigDecimal.valueOf(unscaled[i], block.readByte());
+            names.put(ids[i], accountNames[i]);
+            sink.acceptAccount(new BankAccount(ids[i], accountNames[i], balance));
+        }
+    }
+
+    private void readCategories(DataInputStream block, int rows, ImportSink sink, Map<UUID, String> names)
+            throws IOException {
+        UUID[] ids = new UUID[rows];
+        String[] categoryNames = new String[rows];
+
+        for (int i = 0; i < rows; i++) {
+            ids[i] = BinaryLedgerFormat.readUuid(block);
+        }
+        for (int i = 0; i < rows; i++) {
+            categoryNames[i] = BinaryLedgerFormat.readString(block);
+        }
+        for (int i = 0; i < rows; i++) {
+            OperationType type = readType(block);
+            names.put(ids[i], categoryNames[i]);
+            sink.acceptCategory(new Category(ids[i], categoryNames[i], type));
+        }
+    }
+
+    private void readNames(DataInputStream block, int rows, Map<UUID, String> names) throws IOException {
+        UUID[] ids = new UUID[rows];
+        for (int i = 0; i < rows; i++) {
+            ids[i] = BinaryLedgerFormat.readUuid(block);
+        }
+        for (int i = 0; i < rows; i++) {
+            names.put(ids[i], BinaryLedgerFormat.readString(block));
+        }
+    }
+
+    private void readOperations(
+            DataInputStream block,
+            int rows,
+            ImportSink sink,
+            Map<UUID, String> accountNames,
+            Map<UUID, String> categoryNames) throws IOException {
+        UUID[] ids = new UUID[rows];
+        OperationType[] types = new OperationType[rows];
+        UUID[] accountIds = new UUID[rows];
+        UUID[] categoryIds = new UUID[rows];
+        long[] unscaled = new long[rows];
+        byte[] scales = new byte[rows];
+        long[] dates = new long[rows];
+
+        for (int i = 0; i < rows; i++) {
+            ids[i] = BinaryLedgerFormat.readUuid(block);
+        }
+        for (int i = 0; i < rows; i++) {
+            types[i] = readType(block);
+        }
+        for (int i = 0; i < rows; i++) {
+            accountIds[i] = BinaryLedgerFormat.readUuid(block);
+        }
+        for (int i = 0; i < rows; i++) {
+            categoryIds[i] = BinaryLedgerFormat.readUuid(block);
+        }
+        for (int i = 0; i < rows; i++) {
+            unscaled[i] = block.readLong();
+        }
+        block.readFully(scales);
+        for (int i = 0; i < rows; i++) {
+            dates[i] = block.readLong();
+        }
+
+        for (int i = 0; i < rows; i++) {
+            String description = BinaryLedgerFormat.readString(block);
+            LocalDateTime date = BinaryLedgerFormat.fromEpochMicros(dates[i]);
+            Operation operation = new Operation(ids[i], types[i], accountIds[i],
+                    BigDecimal.valueOf(unscaled[i], scales[i]), date, description, categoryIds[i]);
+
+            String accountName = accountNames.get(accountIds[i]);
+            String categoryName = categoryNames.get(categoryIds[i]);
+            OperationReference reference = accountName != null || categoryName != null
+                    ? new OperationReference(accountName, categoryName)
+                    : null;
+            sink.acceptOperation(operation, reference);
+        }
+    }
+
+    private OperationType readType(DataInputStream block) throws IOException {
+        int ordinal = block.readUnsignedByte();
+        if (ordinal >= TYPES.length) {
+            throw new IOException("Unknown operation type: " + ordinal);
+        }
+        return TYPES[ordinal];
+    }
+}
@@ -1,21 +1,26 @@
 package com.example.hseshellfinanceapp.service.io.template;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import com.example.hseshellfinanceapp.domain.model.BankAccount;
 import com.example.hseshellfinanceapp.domain.model.Category;
 import com.example.hseshellfinanceapp.domain.model.Operation;
+import com.example.hseshellfinanceapp.domain.model.OperationType;
 import com.example.hseshellfinanceapp.facade.BankAccountFacade;
 import com.example.hseshellfinanceapp.facade.CategoryFacade;
 import com.example.hseshellfinanceapp.facade.OperationFacade;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.stereotype.Component;
 
@@ -36,89 +41,138 @@ public class JsonDataImporter extends AbstractDataImporter {
 
     @Override
     protected ImportData parseData(InputStream inputStream) throws Exception {
-        JsonNode rootNode = objectMapper.readTree(inputStream);
-
-        List<BankAccount> accounts = parseAccounts(rootNode.path("accounts"));
-        List<Category> categories = parseCategories(rootNode.path("categories"));
-        List<Operation> operations = parseOperations(rootNode.path("operations"));
+        List<BankAccount> accounts = new ArrayList<>();
+        List<Category> categories = new ArrayList<>();
+        List<Operation> operations = new ArrayList<>();
+        Map<UUID, OperationReference> references = new HashMap<>();
 
-        return new ImportData(accounts, categories, operations);
-    }
+        streamData(inputStream, new ImportSink() {
+            @Override
+            public void acceptAccount(BankAccount account) {
+                accounts.add(account);
+            }
 
-    private List<BankAccount> parseAccounts(JsonNode accountsNode) {
-        List<BankAccount> accounts = new ArrayList<>();
+            @Override
+            public void acceptCategory(Category category) {
+                categories.add(category);
+            }
 
-        if (accountsNode.isArray()) {
-            ArrayNode accountsArray = (ArrayNode) accountsNode;
-            for (JsonNode accountNode : accountsArray) {
-                try {
-                    UUID id = UUID.randomUUID();
-                    String name = accountNode.path("name").asText();
-                    BigDecimal balance = new BigDecimal(accountNode.path("balance").asText("0.0"));
-
-                    accounts.add(new BankAccount(id, name, balance));
-                } catch (Exception e) {
-                    System.err.println("Error parsing account: " + e.getMessage());
+            @Override
+            public void acceptOperation(Operation operation, OperationReference reference) {
+                operations.add(operation);
+                if (reference != null) {
+                    references.put(operation.getId(), reference);
                 }
             }
-        }
+        });
 
-        return accounts;
+        return new ImportData(accounts, categories, operations, references);
     }
 
-    private List<Category> parseCategories(JsonNode categoriesNode) {
-        List<Category> categories = new ArrayList<>();
-
-        if (categoriesNode.isArray()) {
-            ArrayNode categoriesArray = (ArrayNode) categoriesNode;
-            for (JsonNode categoryNode : categoriesArray) {
-                try {
-                    UUID id = UUID.randomUUID();
-                    String name = categoryNode.path("name").asText();
-                    String typeStr = categoryNode.path("type").asText();
+    // Reads one array element at a time so only the current row is held in memory
+    @Override
+    protected void streamData(InputStream inputStream, ImportSink sink) throws Exception {
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object at the top level");
+            }
 
-                    com.example.hseshellfinanceapp.domain.model.OperationType type =
-                            com.example.hseshellfinanceapp.domain.model.OperationType.valueOf(typeStr);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String section = parser.getCurrentName();
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
 
-                    categories.add(new Category(id, name, type));
-                } catch (Exception e) {
-                    System.err.println("Error parsing category: " + e.getMessage());
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new IOException("Unexpected end of JSON input in section: " + section);
+                    }
+                    JsonNode node = objectMapper.readTree(parser);
+                    switch (section) {
+                        case "accounts" -> {
+                            BankAccount account = parseAccount(node);
+                            if (account != null) {
+                                sink.acceptAccount(account);
+                            }
+                        }
+                        case "categories" -> {
+                            Category category = parseCategory(node);
+                            if (category != null) {
+                                sink.acceptCategory(category);
+                            }
+                        }
+                        case "operations" -> {
+                            Operation operation = parseOperation(node);
+                            if (operation != null) {
+                                sink.acceptOperation(operation, parseReference(node));
+                            }
+                        }
+                        default -> {
+                            // Unknown sections are skipped element by element
+                        }
+                    }
                 }
             }
         }
-
-        return categories;
     }
 
-    private List<Operation> parseOperations(JsonNode operationsNode) {
-        List<Operation> operations = new ArrayList<>();
+    private OperationReference parseReference(JsonNode operationNode) {
+        String accountName = operationNode.path("accountName").asText(null);
+        String categoryName = operationNode.path("categoryName").asText(null);
 
-        if (operationsNode.isArray()) {
-            ArrayNode operationsArray = (ArrayNode) operationsNode;
-            for (JsonNode operationNode : operationsArray) {
-                try {
-                    UUID id = UUID.randomUUID();
-                    String typeStr = operationNode.path("type").asText();
-                    com.example.hseshellfinanceapp.domain.model.OperationType type =
-                            com.example.hseshellfinanceapp.domain.model.OperationType.valueOf(typeStr);
+        if (accountName == null && categoryName == null) {
+            return null;
+        }
+        return new OperationReference(accountName, categoryName);
+    }
 
-                    String accountName = operationNode.path("accountName").asText();
-                    String categoryName = operationNode.path("categoryName").asText();
+    private BankAccount parseAccount(JsonNode accountNode) {
+        try {
+            UUID id = UUID.randomUUID();
+            String name = accountNode.path("name").asText();
+            BigDecimal balance = new BigDecimal(accountNode.path("balance").asText("0.0"));
 
-                    UUID bankAccountId = UUID.randomUUID();
-                    UUID categoryId = UUID.randomUUID();
+            return new BankAccount(id, name, balance);
+        } catch (Exception e) {
+            System.err.println("Error parsing account: " + e.getMessage());
+            return null;
+        }
+    }
 
-                    BigDecimal amount = new BigDecimal(operationNode.path("amount").asText("0.0"));
-                    LocalDateTime date = LocalDateTime.parse(operationNode.path("date").asText());
-                    String description = operationNode.path("description").asText("");
+    private Category parseCategory(JsonNode categoryNode) {
+        try {
+            UUID id = UUID.randomUUID();
+            String name = categoryNode.path("name").asText();
+            String typeStr = categoryNode.path("type").asText();
 
-                    operations.add(new Operation(id, type, bankAccountId, amount, date, description, categoryId));
-                } catch (Exception e) {
-                    System.err.println("Error parsing operation: " + e.getMessage());
-                }
-            }
+            OperationType type = OperationType.valueOf(typeStr);
+
+            return new Category(id, name, type);
+        } catch (Exception e) {
+            System.err.println("Error parsing category: " + e.getMessage());
+            return null;
         }
+    }
+
+    private Operation parseOperation(JsonNode operationNode) {
+        try {
+            UUID id = UUID.randomUUID();
+            String typeStr = operationNode.path("type").asText();
+            OperationType type = OperationType.valueOf(typeStr);
 
-        return operations;
+            UUID bankAccountId = UUID.randomUUID();
+            UUID categoryId = UUID.randomUUID();
+
+            BigDecimal amount = new BigDecimal(operationNode.path("amount").asText("0.0"));
+            LocalDateTime date = LocalDateTime.parse(operationNode.path("date").asText());
+            String description = operationNode.path("description").asText("");
+
+            return new Operation(id, type, bankAccountId, amount, date, description, categoryId);
+        } catch (Exception e) {
+            System.err.println("Error parsing operation: " + e.getMessage());
+            return null;
+        }
     }
 }
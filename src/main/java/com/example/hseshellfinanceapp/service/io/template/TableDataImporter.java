@@ -1,13 +1,24 @@
 package com.example.hseshellfinanceapp.service.io.template;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import com.example.hseshellfinanceapp.domain.model.BankAccount;
@@ -18,12 +29,19 @@ import com.example.hseshellfinanceapp.facade.BankAccountFacade;
 import com.example.hseshellfinanceapp.facade.CategoryFacade;
 import com.example.hseshellfinanceapp.facade.OperationFacade;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class TableDataImporter extends AbstractDataImporter {
 
     private static final String TABLE_SEPARATOR = "|-";
     private static final String SECTION_MARKER = "==";
+    private static final long CHUNK_SIZE = 8L * 1024 * 1024;
+    // Upper bound on the mapped bytes parsed at once, so memory does not grow with the core count
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final int SCAN_BUFFER_SIZE = 8192;
+    private static final long SCAN_WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     public TableDataImporter(
             BankAccountFacade bankAccountFacade,
@@ -35,141 +53,366 @@ public class TableDataImporter extends AbstractDataImporter {
     @Override
     protected ImportData parseData(InputStream inputStream) throws Exception {
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            List<BankAccount> accounts = new ArrayList<>();
-            List<Category> categories = new ArrayList<>();
-            List<Operation> operations = new ArrayList<>();
+            return parseTable(reader);
+        }
+    }
 
-            String currentSection = null;
-            List<String> headers = null;
-            String line;
+    // Accounts and categories are parsed sequentially; the operations section is split into
+    // newline-aligned chunks that are mapped and parsed in parallel, then written in bulk
+    @Transactional
+    public ImportResult importMappedFile(Path path) {
+        return runImport(true, sink -> streamMappedFile(path, sink));
+    }
 
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
+    private void streamMappedFile(Path path, ImportSink sink) throws Exception {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long operationsStart = findSection(channel, 0, size, "operations");
+            long headEnd = operationsStart >= 0 ? operationsStart : size;
 
-                if (line.isEmpty()) {
-                    continue;
+            if (headEnd > Integer.MAX_VALUE) {
+                throw new IOException("Accounts and categories sections are too large to map");
+            }
+            String head = StandardCharsets.UTF_8.decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, headEnd))
+                    .toString();
+            ImportData headData = parseTable(new BufferedReader(new StringReader(head)));
+            headData.accounts().forEach(sink::acceptAccount);
+            headData.categories().forEach(sink::acceptCategory);
+
+            if (operationsStart < 0) {
+                return;
+            }
+
+            // Skip the section marker and read the header row that defines the column plan
+            long position = nextLine(channel, operationsStart, size);
+            String header = null;
+            while (position < size && header == null) {
+                long end = findNewline(channel, position, size);
+                String line = readLine(channel, position, end).trim();
+                position = end + 1;
+                if (!line.isEmpty() && !line.startsWith(TABLE_SEPARATOR)) {
+                    header = line;
+                }
+            }
+            if (header == null) {
+                return;
+            }
+
+            ColumnPlan plan = new ColumnPlan(parseRow(header, new ArrayList<>()));
+            long sectionEnd = findSection(channel, position, size, null);
+            List<long[]> chunks = splitIntoChunks(channel, position, sectionEnd >= 0 ? sectionEnd : size);
+
+            int from = 0;
+            while (from < chunks.size()) {
+                int to = from;
+                long windowBytes = 0;
+                while (to < chunks.size()
+                        && (to == from || windowBytes + chunkLength(chunks.get(to)) <= WINDOW_SIZE)) {
+                    windowBytes += chunkLength(chunks.get(to));
+                    to++;
                 }
+                List<long[]> window = chunks.subList(from, to);
+                from = to;
 
-                if (line.startsWith(SECTION_MARKER)) {
-                    currentSection = line.replace(SECTION_MARKER, "").trim().toLowerCase();
-                    headers = null;
-                    continue;
+                List<ParsedChunk> parsed = window.parallelStream()
+                        .map(chunk -> parseChunk(channel, chunk[0], chunk[1], plan))
+                        .toList();
+
+                for (ParsedChunk chunk : parsed) {
+                    for (int i = 0; i < chunk.operations().size(); i++) {
+                        sink.acceptOperation(chunk.operations().get(i), chunk.references().get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    private ParsedChunk parseChunk(FileChannel channel, long start, long end, ColumnPlan plan) {
+        try {
+            String text = StandardCharsets.UTF_8
+                    .decode(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start))
+                    .toString();
+
+            List<Operation> operations = new ArrayList<>();
+            List<OperationReference> references = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+
+            int position = 0;
+            while (position < text.length()) {
+                int newline = text.indexOf('\n', position);
+                if (newline < 0) {
+                    newline = text.length();
                 }
+                String line = text.substring(position, newline).trim();
+                position = newline + 1;
 
-                if (line.startsWith(TABLE_SEPARATOR)) {
+                if (line.isEmpty() || line.startsWith(TABLE_SEPARATOR)) {
                     continue;
                 }
 
-                if (headers == null) {
-                    headers = parseRow(line);
+                parseRow(line, values);
+                if (values.size() != plan.width) {
                     continue;
                 }
 
-                List<String> values = parseRow(line);
+                // A malformed row is reported and skipped instead of failing the whole import
+                try {
+                    Operation operation = parseOperation(plan, values);
+                    OperationReference reference = parseReference(plan, values);
+                    operations.add(operation);
+                    references.add(reference);
+                } catch (Exception e) {
+                    System.err.println("Error parsing operation: " + e.getMessage());
+                }
+            }
 
-                if (values.size() != headers.size()) {
-                    continue;
+            return new ParsedChunk(operations, references);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long chunkLength(long[] chunk) {
+        return chunk[1] - chunk[0];
+    }
+
+    private List<long[]> splitIntoChunks(FileChannel channel, long start, long end) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        long chunkStart = start;
+        while (chunkStart < end) {
+            long chunkEnd = Math.min(chunkStart + CHUNK_SIZE, end);
+            if (chunkEnd < end) {
+                chunkEnd = Math.min(findNewline(channel, chunkEnd, end) + 1, end);
+            }
+            chunks.add(new long[]{chunkStart, chunkEnd});
+            chunkStart = chunkEnd;
+        }
+        return chunks;
+    }
+
+    // Offset of the next line starting with the section marker, optionally only for the named section
+    private long findSection(FileChannel channel, long from, long size, String section) throws IOException {
+        boolean lineStart = true;
+        for (long windowStart = from; windowStart < size; windowStart += SCAN_WINDOW_SIZE) {
+            long windowLength = Math.min(SCAN_WINDOW_SIZE, size - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+
+            for (int i = 0; i < windowLength; i++) {
+                byte b = window.get(i);
+                if (lineStart && b == '=') {
+                    long position = windowStart + i;
+                    long end = Math.min(findNewline(channel, position, size), position + 64);
+                    String line = readLine(channel, position, end).trim();
+                    if (line.startsWith(SECTION_MARKER) && (section == null
+                            || line.replace(SECTION_MARKER, "").trim().equalsIgnoreCase(section))) {
+                        return position;
+                    }
                 }
+                lineStart = b == '\n';
+            }
+        }
+        return -1;
+    }
+
+    private long nextLine(FileChannel channel, long position, long size) throws IOException {
+        return Math.min(findNewline(channel, position, size) + 1, size);
+    }
 
-                if ("accounts".equals(currentSection)) {
-                    accounts.add(parseBankAccount(headers, values));
-                } else if ("categories".equals(currentSection)) {
-                    categories.add(parseCategory(headers, values));
-                } else if ("operations".equals(currentSection)) {
-                    operations.add(parseOperation(headers, values));
+    // Position of the next '\n' at or after the given offset, or size when there is none
+    private long findNewline(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i;
                 }
             }
+            position += read;
+        }
+        return size;
+    }
 
-            return new ImportData(accounts, categories, operations);
+    private String readLine(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) <= 0) {
+                break;
+            }
         }
+        buffer.flip();
+        return StandardCharsets.UTF_8.decode(buffer).toString();
     }
 
-    private List<String> parseRow(String line) {
-        List<String> cells = new ArrayList<>();
+    private ImportData parseTable(BufferedReader reader) throws IOException {
+        List<BankAccount> accounts = new ArrayList<>();
+        List<Category> categories = new ArrayList<>();
+        List<Operation> operations = new ArrayList<>();
+        Map<UUID, OperationReference> references = new HashMap<>();
+
+        String currentSection = null;
+        ColumnPlan plan = null;
+        List<String> values = new ArrayList<>();
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            if (line.startsWith(SECTION_MARKER)) {
+                currentSection = line.replace(SECTION_MARKER, "").trim().toLowerCase();
+                plan = null;
+                continue;
+            }
+
+            if (line.startsWith(TABLE_SEPARATOR)) {
+                continue;
+            }
+
+            if (plan == null) {
+                plan = new ColumnPlan(parseRow(line, new ArrayList<>()));
+                continue;
+            }
+
+            parseRow(line, values);
+
+            if (values.size() != plan.width) {
+                continue;
+            }
 
-        String[] parts = line.split("\\|");
-        for (String part : parts) {
-            String trimmed = part.trim();
-            if (!trimmed.isEmpty()) {
-                cells.add(trimmed);
+            if ("accounts".equals(currentSection)) {
+                accounts.add(parseBankAccount(plan, values));
+            } else if ("categories".equals(currentSection)) {
+                categories.add(parseCategory(plan, values));
+            } else if ("operations".equals(currentSection)) {
+                Operation operation = parseOperation(plan, values);
+                operations.add(operation);
+
+                OperationReference reference = parseReference(plan, values);
+                if (reference != null) {
+                    references.put(operation.getId(), reference);
+                }
             }
         }
 
-        return cells;
+        return new ImportData(accounts, categories, operations, references);
     }
 
-    private BankAccount parseBankAccount(List<String> headers, List<String> values) {
-        String name = null;
-        BigDecimal balance = BigDecimal.ZERO;
+    // Single pass over the line; empty cells are dropped, as with the previous split-based parser
+    private List<String> parseRow(String line, List<String> cells) {
+        cells.clear();
 
-        for (int i = 0; i < headers.size(); i++) {
-            String header = headers.get(i).toLowerCase();
-            String value = values.get(i);
+        int length = line.length();
+        int start = 0;
+        while (start <= length) {
+            int end = line.indexOf('|', start);
+            if (end < 0) {
+                end = length;
+            }
 
-            if ("name".equals(header)) {
-                name = value;
-            } else if ("balance".equals(header)) {
-                balance = new BigDecimal(value);
+            int from = start;
+            int to = end;
+            while (from < to && Character.isWhitespace(line.charAt(from))) {
+                from++;
+            }
+            while (to > from && Character.isWhitespace(line.charAt(to - 1))) {
+                to--;
+            }
+            if (from < to) {
+                cells.add(line.substring(from, to));
             }
+
+            start = end + 1;
         }
 
+        return cells;
+    }
+
+    private BankAccount parseBankAccount(ColumnPlan plan, List<String> values) {
+        String name = plan.value(values, plan.name);
+        BigDecimal balance = plan.balance >= 0 ? new BigDecimal(values.get(plan.balance)) : BigDecimal.ZERO;
+
         return new BankAccount(UUID.randomUUID(), name, balance);
     }
 
-    private Category parseCategory(List<String> headers, List<String> values) {
-        String name = null;
-        OperationType type = null;
+    private Category parseCategory(ColumnPlan plan, List<String> values) {
+        OperationType type = plan.type >= 0 ? OperationType.valueOf(values.get(plan.type).toUpperCase()) : null;
 
-        for (int i = 0; i < headers.size(); i++) {
-            String header = headers.get(i).toLowerCase();
-            String value = values.get(i);
+        return new Category(UUID.randomUUID(), plan.value(values, plan.name), type);
+    }
 
-            if ("name".equals(header)) {
-                name = value;
-            } else if ("type".equals(header)) {
-                type = OperationType.valueOf(value.toUpperCase());
-            }
+    // The table export writes names instead of ids; "-" marks a name that could not be resolved
+    private OperationReference parseReference(ColumnPlan plan, List<String> values) {
+        String accountName = plan.value(values, plan.account);
+        String categoryName = plan.value(values, plan.category);
+
+        if ("-".equals(accountName)) {
+            accountName = null;
+        }
+        if ("-".equals(categoryName)) {
+            categoryName = null;
         }
 
-        return new Category(UUID.randomUUID(), name, type);
-    }
-
-    private Operation parseOperation(List<String> headers, List<String> values) {
-        OperationType type = null;
-        UUID bankAccountId = UUID.randomUUID();
-        BigDecimal amount = BigDecimal.ZERO;
-        LocalDateTime date = LocalDateTime.now();
-        String description = "";
-        UUID categoryId = UUID.randomUUID();
-
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
-        for (int i = 0; i < headers.size(); i++) {
-            String header = headers.get(i).toLowerCase();
-            String value = values.get(i);
-
-            switch (header) {
-                case "type":
-                    type = OperationType.valueOf(value.toUpperCase());
-                    break;
-                case "account":
-                case "accountname":
-                    break;
-                case "amount":
-                    amount = new BigDecimal(value);
-                    break;
-                case "date":
-                    date = LocalDateTime.parse(value, formatter);
-                    break;
-                case "description":
-                    description = value;
-                    break;
-                case "category":
-                default:
-                    break;
+        if (accountName == null && categoryName == null) {
+            return null;
+        }
+        return new OperationReference(accountName, categoryName);
+    }
+
+    private Operation parseOperation(ColumnPlan plan, List<String> values) {
+        OperationType type = plan.type >= 0 ? OperationType.valueOf(values.get(plan.type).toUpperCase()) : null;
+        BigDecimal amount = plan.amount >= 0 ? new BigDecimal(values.get(plan.amount)) : BigDecimal.ZERO;
+        LocalDateTime date = plan.date >= 0
+                ? LocalDateTime.parse(values.get(plan.date), DATE_FORMATTER)
+                : LocalDateTime.now();
+        String description = plan.description >= 0 ? values.get(plan.description) : "";
+
+        return new Operation(UUID.randomUUID(), type, UUID.randomUUID(), amount, date, description,
+                UUID.randomUUID());
+    }
+
+    private record ParsedChunk(List<Operation> operations, List<OperationReference> references) {
+    }
+
+    // Header positions resolved once per section instead of matching header names on every row
+    private static class ColumnPlan {
+        private final int width;
+        private final int name;
+        private final int balance;
+        private final int type;
+        private final int account;
+        private final int amount;
+        private final int date;
+        private final int category;
+        private final int description;
+
+        ColumnPlan(List<String> headers) {
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < headers.size(); i++) {
+                positions.putIfAbsent(headers.get(i).toLowerCase(), i);
             }
+
+            this.width = headers.size();
+            this.name = positions.getOrDefault("name", -1);
+            this.balance = positions.getOrDefault("balance", -1);
+            this.type = positions.getOrDefault("type", -1);
+            this.account = positions.getOrDefault("account", positions.getOrDefault("accountname", -1));
+            this.amount = positions.getOrDefault("amount", -1);
+            this.date = positions.getOrDefault("date", -1);
+            this.category = positions.getOrDefault("category", positions.getOrDefault("categoryname", -1));
+            this.description = positions.getOrDefault("description", -1);
         }
 
-        return new Operation(UUID.randomUUID(), type, bankAccountId, amount, date, description, categoryId);
+        String value(List<String> values, int index) {
+            return index >= 0 ? values.get(index) : null;
+        }
     }
 }
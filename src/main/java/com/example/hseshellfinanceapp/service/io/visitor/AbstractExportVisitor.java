@@ -1,7 +1,16 @@
 package com.example.hseshellfinanceapp.service.io.visitor;
 
+import java.io.FilterOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 import com.example.hseshellfinanceapp.domain.model.BankAccount;
 import com.example.hseshellfinanceapp.domain.model.Category;
@@ -19,6 +28,10 @@ public abstract class AbstractExportVisitor {
     protected final CategoryFacade categoryFacade;
     protected final OperationFacade operationFacade;
 
+    private Map<UUID, String> accountNames;
+    private Map<UUID, String> categoryNames;
+    private String resumeToken;
+
     @Autowired
     public AbstractExportVisitor(
             BankAccountFacade bankAccountFacade,
@@ -31,27 +44,303 @@ public abstract class AbstractExportVisitor {
 
     public void exportData(OutputStream outputStream, boolean includeAccounts,
                            boolean includeCategories, boolean includeOperations) throws Exception {
-        List<BankAccount> accounts = includeAccounts ? bankAccountFacade.getAllAccounts() : List.of();
-        List<Category> categories = includeCategories ? categoryFacade.getAllCategories() : List.of();
-        List<Operation> operations = includeOperations ? operationFacade.getAllOperations() : List.of();
+        exportData(outputStream, includeAccounts, includeCategories, includeOperations, null);
+    }
+
+    // With a watermark only operations past it are exported; accounts and categories are always full snapshots
+    public void exportData(OutputStream outputStream, boolean includeAccounts, boolean includeCategories,
+                           boolean includeOperations, String since) throws Exception {
+        resumeToken = null;
+        List<BankAccount> accounts = includeAccounts ? bankAccountFacade.getAllAccounts() : null;
+        List<Category> categories = includeCategories ? categoryFacade.getAllCategories() : null;
+        // Name dictionaries are rebuilt per export; reuse the lists we already fetched when possible
+        accountNames = includeAccounts ? indexAccountNames(accounts) : null;
+        categoryNames = includeCategories ? indexCategoryNames(categories) : null;
+
+        OperationFeed feed;
+        if (since != null) {
+            feed = action -> resumeToken = operationFacade.forEachOperationSince(since, action);
+        } else if (streamsOperations()) {
+            feed = operationFacade::forEachOperation;
+        } else {
+            feed = action -> operationFacade.getAllOperations().forEach(action);
+        }
+        exportSections(outputStream, accounts, categories, includeOperations ? feed : null);
+    }
+
+    // Writes a standalone document holding only the operations dated in [from, to); null bounds are open.
+    // Like a rolling continuation part it carries the name dictionaries so it can be imported on its own
+    public void exportOperations(OutputStream outputStream, LocalDateTime from, LocalDateTime to) throws Exception {
+        resumeToken = null;
+        accountNames = bankAccountFacade.getAccountNames();
+        categoryNames = categoryFacade.getCategoryNames();
+
+        startExport(outputStream);
+        visitReferences(accountNames, categoryNames, outputStream);
+        OperationFeed feed = action -> operationFacade.forEachOperationBetween(from, to, action);
+        if (streamsOperations()) {
+            streamOperations(outputStream, feed);
+        } else {
+            List<Operation> operations = new ArrayList<>();
+            feed.forEach(operations::add);
+            visitOperations(operations, outputStream);
+        }
+        endExport(outputStream);
+    }
+
+    // Splits the export into standalone documents: the first part carries accounts and categories, and a new
+    // part starts whenever the operation count or the written (uncompressed) byte count reaches its cap
+    public List<PartSummary> exportRolling(PartOpener opener, boolean includeAccounts, boolean includeCategories,
+                                           boolean includeOperations, long maxRows, long maxBytes) throws Exception {
+        if (includeOperations && !streamsOperations()) {
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support rolling export");
+        }
+        resumeToken = null;
+        List<BankAccount> accounts = includeAccounts ? bankAccountFacade.getAllAccounts() : null;
+        List<Category> categories = includeCategories ? categoryFacade.getAllCategories() : null;
+        accountNames = includeAccounts ? indexAccountNames(accounts) : null;
+        categoryNames = includeCategories ? indexCategoryNames(categories) : null;
+
+        RollingPart part = new RollingPart(opener, 1);
+        startExport(part.out);
+        if (accounts != null) {
+            visitAccounts(accounts, part.out);
+            part.accounts = accounts.size();
+        }
+        if (categories != null) {
+            visitCategories(categories, part.out);
+            part.categories = categories.size();
+        }
+
+        List<PartSummary> summaries = new ArrayList<>();
+        if (includeOperations) {
+            beginOperations(part.out);
+            RollingPart[] current = {part};
+            try {
+                operationFacade.forEachOperation(operation -> {
+                    try {
+                        RollingPart active = current[0];
+                        if (active.isFull(maxRows, maxBytes)) {
+                            endOperations(active.out);
+                            endExport(active.out);
+                            summaries.add(active.close());
+                            active = new RollingPart(opener, active.number + 1);
+                            current[0] = active;
+                            startExport(active.out);
+                            visitReferences(accountNames, categoryNames, active.out);
+                            beginOperations(active.out);
+                        }
+                        visitOperation(operation, active.out);
+                        active.record(operation);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e.getMessage(), e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            part = current[0];
+            endOperations(part.out);
+        }
+        endExport(part.out);
+        summaries.add(part.close());
+        return summaries;
+    }
+
+    // Parallel exports need one visitor per part because visitors keep per-export writer state
+    public AbstractExportVisitor fork() {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support parallel export");
+    }
+
+    // Watermark to pass as --since next time; null unless the last export was incremental
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    // A null section is left out of the document
+    private void exportSections(OutputStream outputStream, List<BankAccount> accounts, List<Category> categories,
+                                OperationFeed operations) throws Exception {
+        boolean streaming = operations != null && streamsOperations();
+        List<Operation> operationList = List.of();
+        if (operations != null && !streaming) {
+            List<Operation> collected = new ArrayList<>();
+            operations.forEach(collected::add);
+            operationList = collected;
+        }
 
         startExport(outputStream);
 
-        if (includeAccounts) {
+        if (accounts != null) {
             visitAccounts(accounts, outputStream);
         }
 
-        if (includeCategories) {
+        if (categories != null) {
             visitCategories(categories, outputStream);
         }
 
-        if (includeOperations) {
-            visitOperations(operations, outputStream);
+        if (streaming) {
+            streamOperations(outputStream, operations);
+        } else if (operations != null) {
+            visitOperations(operationList, outputStream);
         }
 
         endExport(outputStream);
     }
 
+    private void streamOperations(OutputStream outputStream, OperationFeed operations) throws Exception {
+        beginOperations(outputStream);
+        try {
+            operations.forEach(operation -> {
+                try {
+                    visitOperation(operation, outputStream);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        endOperations(outputStream);
+    }
+
+    protected String getAccountName(UUID accountId) {
+        return getAccountNames().get(accountId);
+    }
+
+    protected String getCategoryName(UUID categoryId) {
+        return getCategoryNames().get(categoryId);
+    }
+
+    protected Map<UUID, String> getAccountNames() {
+        if (accountNames == null) {
+            accountNames = bankAccountFacade.getAccountNames();
+        }
+        return accountNames;
+    }
+
+    protected Map<UUID, String> getCategoryNames() {
+        if (categoryNames == null) {
+            categoryNames = categoryFacade.getCategoryNames();
+        }
+        return categoryNames;
+    }
+
+    private Map<UUID, String> indexAccountNames(List<BankAccount> accounts) {
+        Map<UUID, String> names = new HashMap<>();
+        for (BankAccount account : accounts) {
+            names.put(account.getId(), account.getName());
+        }
+        return names;
+    }
+
+    private Map<UUID, String> indexCategoryNames(List<Category> categories) {
+        Map<UUID, String> names = new HashMap<>();
+        for (Category category : categories) {
+            names.put(category.getId(), category.getName());
+        }
+        return names;
+    }
+
+    // Visitors that can write one operation at a time override these instead of buffering the whole list
+    protected boolean streamsOperations() {
+        return false;
+    }
+
+    protected void beginOperations(OutputStream outputStream) throws IOException {
+    }
+
+    protected void visitOperation(Operation operation, OutputStream outputStream) throws IOException {
+    }
+
+    protected void endOperations(OutputStream outputStream) throws IOException {
+    }
+
+    // Continuation parts of a rolling export and parallel operation slices carry no accounts or categories;
+    // formats that resolve operation references from those sections write the id-to-name dictionaries here
+    protected void visitReferences(Map<UUID, String> accountNames, Map<UUID, String> categoryNames,
+                                   OutputStream outputStream) throws IOException {
+    }
+
+    public interface PartOpener {
+        OutputStream open(int partNumber) throws IOException;
+    }
+
+    public record PartSummary(
+            int number,
+            long accounts,
+            long categories,
+            long operations,
+            LocalDateTime firstDate,
+            LocalDateTime lastDate,
+            long bytes
+    ) {
+    }
+
+    private static class RollingPart {
+        private final int number;
+        private final CountingOutputStream out;
+        private long accounts;
+        private long categories;
+        private long operations;
+        private LocalDateTime firstDate;
+        private LocalDateTime lastDate;
+
+        RollingPart(PartOpener opener, int number) throws IOException {
+            this.number = number;
+            this.out = new CountingOutputStream(opener.open(number));
+        }
+
+        // Only a part that already holds operations can be full, so no part is ever left empty
+        boolean isFull(long maxRows, long maxBytes) {
+            if (operations == 0) {
+                return false;
+            }
+            return (maxRows > 0 && operations >= maxRows) || (maxBytes > 0 && out.count >= maxBytes);
+        }
+
+        void record(Operation operation) {
+            operations++;
+            LocalDateTime date = operation.getDate();
+            if (firstDate == null || date.isBefore(firstDate)) {
+                firstDate = date;
+            }
+            if (lastDate == null || date.isAfter(lastDate)) {
+                lastDate = date;
+            }
+        }
+
+        PartSummary close() throws IOException {
+            out.close();
+            return new PartSummary(number, accounts, categories, operations, firstDate, lastDate, out.count);
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    private interface OperationFeed {
+        void forEach(Consumer<Operation> action);
+    }
+
     protected abstract void startExport(OutputStream outputStream) throws Exception;
 
     protected abstract void visitAccounts(List<BankAccount> accounts, OutputStream outputStream) throws Exception;
@@ -0,0 +1,214 @@
+package com.example.hseshellfinanceapp.service.io.visitor;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.example.hseshellfinanceapp.domain.model.BankAccount;
+import com.example.hseshellfinanceapp.domain.model.Category;
+import com.example.hseshellfinanceapp.domain.model.Operation;
+import com.example.hseshellfinanceapp.facade.BankAccountFacade;
+import com.example.hseshellfinanceapp.facade.CategoryFacade;
+import com.example.hseshellfinanceapp.facade.OperationFacade;
+import com.example.hseshellfinanceapp.service.io.binary.BinaryLedgerFormat;
+import com.example.hseshellfinanceapp.service.io.binary.BinaryLedgerFormat.BlockBuffer;
+import org.springframework.stereotype.Component;
+
+import static com.example.hseshellfinanceapp.service.io.binary.BinaryLedgerFormat.BLOCK_ROWS;
+
+@Component
+public class BinaryExportVisitor extends AbstractExportVisitor {
+
+    private DataOutputStream out;
+    private BlockBuffer block;
+    private List<Operation> pendingOperations;
+    private long accountCount;
+    private long categoryCount;
+    private long operationCount;
+
+    public BinaryExportVisitor(
+            BankAccountFacade bankAccountFacade,
+            CategoryFacade categoryFacade,
+            OperationFacade operationFacade) {
+        super(bankAccountFacade, categoryFacade, operationFacade);
+    }
+
+    @Override
+    public AbstractExportVisitor fork() {
+        return new BinaryExportVisitor(bankAccountFacade, categoryFacade, operationFacade);
+    }
+
+    @Override
+    protected void startExport(OutputStream outputStream) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(outputStream, 64 * 1024));
+        block = new BlockBuffer();
+        pendingOperations = new ArrayList<>(BLOCK_ROWS);
+        accountCount = 0;
+        categoryCount = 0;
+        operationCount = 0;
+
+        out.write(BinaryLedgerFormat.MAGIC);
+        out.writeShort(BinaryLedgerFormat.VERSION);
+    }
+
+    @Override
+    protected void visitAccounts(List<BankAccount> accounts, OutputStream outputStream) throws IOException {
+        out.writeByte(BinaryLedgerFormat.ACCOUNTS);
+
+        for (int from = 0; from < accounts.size(); from += BLOCK_ROWS) {
+            List<BankAccount> rows = accounts.subList(from, Math.min(from + BLOCK_ROWS, accounts.size()));
+            DataOutputStream data = block.data();
+
+            for (BankAccount account : rows) {
+                BinaryLedgerFormat.writeUuid(data, account.getId());
+            }
+            for (BankAccount account : rows) {
+                BinaryLedgerFormat.writeString(data, account.getName());
+            }
+            for (BankAccount account : rows) {
+                data.writeLong(BinaryLedgerFormat.unscaledAmount(account.getBalance()));
+            }
+            for (BankAccount account : rows) {
+                data.writeByte(BinaryLedgerFormat.amountScale(account.getBalance()));
+            }
+
+            block.writeTo(out, rows.size());
+            accountCount += rows.size();
+        }
+
+        out.writeInt(0);
+    }
+
+    @Override
+    protected void visitCategories(List<Category> categories, OutputStream outputStream) throws IOException {
+        out.writeByte(BinaryLedgerFormat.CATEGORIES);
+
+        for (int from = 0; from < categories.size(); from += BLOCK_ROWS) {
+            List<Category> rows = categories.subList(from, Math.min(from + BLOCK_ROWS, categories.size()));
+            DataOutputStream data = block.data();
+
+            for (Category category : rows) {
+                BinaryLedgerFormat.writeUuid(data, category.getId());
+            }
+            for (Category category : rows) {
+                BinaryLedgerFormat.writeString(data, category.getName());
+            }
+            for (Category category : rows) {
+                data.writeByte(category.getType().ordinal());
+            }
+
+            block.writeTo(out, rows.size());
+            categoryCount += rows.size();
+        }
+
+        out.writeInt(0);
+    }
+
+    @Override
+    protected void visitOperations(List<Operation> operations, OutputStream outputStream) throws IOException {
+        beginOperations(outputStream);
+        for (Operation operation : operations) {
+            visitOperation(operation, outputStream);
+        }
+        endOperations(outputStream);
+    }
+
+    @Override
+    protected void visitReferences(Map<UUID, String> accountNames, Map<UUID, String> categoryNames,
+                                   OutputStream outputStream) throws IOException {
+        out.writeByte(BinaryLedgerFormat.REFERENCES);
+        writeNames(accountNames != null ? accountNames : Map.of());
+        writeNames(categoryNames != null ? categoryNames : Map.of());
+    }
+
+    private void writeNames(Map<UUID, String> names) throws IOException {
+        List<Map.Entry<UUID, String>> entries = new ArrayList<>(names.entrySet());
+        for (int from = 0; from < entries.size(); from += BLOCK_ROWS) {
+            List<Map.Entry<UUID, String>> rows = entries.subList(from, Math.min(from + BLOCK_ROWS, entries.size()));
+            DataOutputStream data = block.data();
+
+            for (Map.Entry<UUID, String> entry : rows) {
+                BinaryLedgerFormat.writeUuid(data, entry.getKey());
+            }
+            for (Map.Entry<UUID, String> entry : rows) {
+                BinaryLedgerFormat.writeString(data, entry.getValue());
+            }
+
+            block.writeTo(out, rows.size());
+        }
+        out.writeInt(0);
+    }
+
+    @Override
+    protected boolean streamsOperations() {
+        return true;
+    }
+
+    @Override
+    protected void beginOperations(OutputStream outputStream) throws IOException {
+        out.writeByte(BinaryLedgerFormat.OPERATIONS);
+    }
+
+    @Override
+    protected void visitOperation(Operation operation, OutputStream outputStream) throws IOException {
+        pendingOperations.add(operation);
+        if (pendingOperations.size() == BLOCK_ROWS) {
+            writeOperationBlock();
+        }
+    }
+
+    @Override
+    protected void endOperations(OutputStream outputStream) throws IOException {
+        if (!pendingOperations.isEmpty()) {
+            writeOperationBlock();
+        }
+        out.writeInt(0);
+    }
+
+    @Override
+    protected void endExport(OutputStream outputStream) throws IOException {
+        out.writeByte(BinaryLedgerFormat.END);
+        out.writeLong(accountCount);
+        out.writeLong(categoryCount);
+        out.writeLong(operationCount);
+        out.flush();
+    }
+
+    private void writeOperationBlock() throws IOException {
+        DataOutputStream data = block.data();
+
+        for (Operation operation : pendingOperations) {
+            BinaryLedgerFormat.writeUuid(data, operation.getId());
+        }
+        for (Operation operation : pendingOperations) {
+            data.writeByte(operation.getType().ordinal());
+        }
+        for (Operation operation : pendingOperations) {
+            BinaryLedgerFormat.writeUuid(data, operation.getBankAccountId());
+        }
+        for (Operation operation : pendingOperations) {
+            BinaryLedgerFormat.writeUuid(data, operation.getCategoryId());
+        }
+        for (Operation operation : pendingOperations) {
+            data.writeLong(BinaryLedgerFormat.unscaledAmount(operation.getAmount()));
+        }
+        for (Operation operation : pendingOperations) {
+            data.writeByte(BinaryLedgerFormat.amountScale(operation.getAmount()));
+        }
+        for (Operation operation : pendingOperations) {
+            data.writeLong(BinaryLedgerFormat.toEpochMicros(operation.getDate()));
+        }
+        for (Operation operation : pendingOperations) {
+            BinaryLedgerFormat.writeString(data, operation.getDescription());
+        }
+
+        block.writeTo(out, pendingOperations.size());
+        operationCount += pendingOperations.size();
+        pendingOperations.clear();
+    }
+}
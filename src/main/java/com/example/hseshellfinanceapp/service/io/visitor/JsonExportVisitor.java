@@ -1,5 +1,6 @@
 package com.example.hseshellfinanceapp.service.io.visitor;
 
+import java.io.IOException;
 import java.io.OutputStream;
 import java.util.List;
 
@@ -9,17 +10,16 @@ import com.example.hseshellfinanceapp.domain.model.Operation;
 import com.example.hseshellfinanceapp.facade.BankAccountFacade;
 import com.example.hseshellfinanceapp.facade.CategoryFacade;
 import com.example.hseshellfinanceapp.facade.OperationFacade;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JsonExportVisitor extends AbstractExportVisitor {
 
-    private final ObjectMapper objectMapper;
-    private ObjectNode rootNode;
+    private final JsonFactory jsonFactory;
+    private JsonGenerator generator;
+    private boolean prettyPrint = true;
 
     public JsonExportVisitor(
             BankAccountFacade bankAccountFacade,
@@ -27,63 +27,111 @@ public class JsonExportVisitor extends AbstractExportVisitor {
             OperationFacade operationFacade) {
         super(bankAccountFacade, categoryFacade, operationFacade);
 
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+        this.jsonFactory = new JsonFactory();
+    }
+
+    public void setPrettyPrint(boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
     }
 
     @Override
-    protected void startExport(OutputStream outputStream) {
-        rootNode = objectMapper.createObjectNode();
+    public AbstractExportVisitor fork() {
+        JsonExportVisitor copy = new JsonExportVisitor(bankAccountFacade, categoryFacade, operationFacade);
+        copy.setPrettyPrint(prettyPrint);
+        return copy;
     }
 
     @Override
-    protected void visitAccounts(List<BankAccount> accounts, OutputStream outputStream) {
-        ArrayNode accountsArray = rootNode.putArray("accounts");
+    protected void startExport(OutputStream outputStream) throws IOException {
+        generator = jsonFactory.createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (prettyPrint) {
+            generator.useDefaultPrettyPrinter();
+        }
+        generator.writeStartObject();
+    }
+
+    @Override
+    protected void visitAccounts(List<BankAccount> accounts, OutputStream outputStream) throws IOException {
+        generator.writeArrayFieldStart("accounts");
 
         for (BankAccount account : accounts) {
-            ObjectNode accountNode = accountsArray.addObject();
-            accountNode.put("id", account.getId().toString());
-            accountNode.put("name", account.getName());
-            accountNode.put("balance", account.getBalance());
+            generator.writeStartObject();
+            generator.writeStringField("id", account.getId().toString());
+            generator.writeStringField("name", account.getName());
+            generator.writeNumberField("balance", account.getBalance());
+            generator.writeEndObject();
         }
+
+        generator.writeEndArray();
     }
 
     @Override
-    protected void visitCategories(List<Category> categories, OutputStream outputStream) {
-        ArrayNode categoriesArray = rootNode.putArray("categories");
+    protected void visitCategories(List<Category> categories, OutputStream outputStream) throws IOException {
+        generator.writeArrayFieldStart("categories");
 
         for (Category category : categories) {
-            ObjectNode categoryNode = categoriesArray.addObject();
-            categoryNode.put("id", category.getId().toString());
-            categoryNode.put("name", category.getName());
-            categoryNode.put("type", category.getType().name());
+            generator.writeStartObject();
+            generator.writeStringField("id", category.getId().toString());
+            generator.writeStringField("name", category.getName());
+            generator.writeStringField("type", category.getType().name());
+            generator.writeEndObject();
         }
+
+        generator.writeEndArray();
     }
 
     @Override
-    protected void visitOperations(List<Operation> operations, OutputStream outputStream) {
-        ArrayNode operationsArray = rootNode.putArray("operations");
-
+    protected void visitOperations(List<Operation> operations, OutputStream outputStream) throws IOException {
+        beginOperations(outputStream);
         for (Operation operation : operations) {
-            ObjectNode operationNode = operationsArray.addObject();
-            operationNode.put("id", operation.getId().toString());
-            operationNode.put("type", operation.getType().name());
-            operationNode.put("bankAccountId", operation.getBankAccountId().toString());
-            operationNode.put("amount", operation.getAmount());
-            operationNode.put("date", operation.getDate().toString());
-            operationNode.put("description", operation.getDescription());
-            operationNode.put("categoryId", operation.getCategoryId().toString());
-
-            bankAccountFacade.getAccountById(operation.getBankAccountId())
-                    .ifPresent(account -> operationNode.put("accountName", account.getName()));
-
-            categoryFacade.getCategoryById(operation.getCategoryId())
-                    .ifPresent(category -> operationNode.put("categoryName", category.getName()));
+            visitOperation(operation, outputStream);
         }
+        endOperations(outputStream);
+    }
+
+    @Override
+    protected boolean streamsOperations() {
+        return true;
+    }
+
+    @Override
+    protected void beginOperations(OutputStream outputStream) throws IOException {
+        generator.writeArrayFieldStart("operations");
+    }
+
+    @Override
+    protected void visitOperation(Operation operation, OutputStream outputStream) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", operation.getId().toString());
+        generator.writeStringField("type", operation.getType().name());
+        generator.writeStringField("bankAccountId", operation.getBankAccountId().toString());
+        generator.writeNumberField("amount", operation.getAmount());
+        generator.writeStringField("date", operation.getDate().toString());
+        generator.writeStringField("description", operation.getDescription());
+        generator.writeStringField("categoryId", operation.getCategoryId().toString());
+
+        String accountName = getAccountName(operation.getBankAccountId());
+        if (accountName != null) {
+            generator.writeStringField("accountName", accountName);
+        }
+
+        String categoryName = getCategoryName(operation.getCategoryId());
+        if (categoryName != null) {
+            generator.writeStringField("categoryName", categoryName);
+        }
+
+        generator.writeEndObject();
+    }
+
+    @Override
+    protected void endOperations(OutputStream outputStream) throws IOException {
+        generator.writeEndArray();
     }
 
     @Override
-    protected void endExport(OutputStream outputStream) throws Exception {
-        objectMapper.writerWithDefaultPrettyPrinter().writeValue(outputStream, rootNode);
+    protected void endExport(OutputStream outputStream) throws IOException {
+        generator.writeEndObject();
+        generator.close();
     }
 }
@@ -5,11 +5,13 @@ import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import com.example.hseshellfinanceapp.domain.model.BankAccount;
 import com.example.hseshellfinanceapp.domain.model.Category;
 import com.example.hseshellfinanceapp.domain.model.Operation;
+import com.example.hseshellfinanceapp.domain.model.OperationType;
 import com.example.hseshellfinanceapp.facade.BankAccountFacade;
 import com.example.hseshellfinanceapp.facade.CategoryFacade;
 import com.example.hseshellfinanceapp.facade.OperationFacade;
@@ -19,7 +21,14 @@ import org.springframework.stereotype.Component;
 public class TableExportVisitor extends AbstractExportVisitor {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final List<String> OPERATION_HEADERS =
+            List.of("ID", "Type", "Account", "Amount", "Date", "Category", "Description");
+    private static final int ID_WIDTH = 36;
+    private static final int DATE_WIDTH = 19;
+    private static final int AMOUNT_WIDTH = 21;
     private PrintWriter writer;
+    private List<Integer> operationWidths;
+    private boolean headerPending;
 
     public TableExportVisitor(
             BankAccountFacade bankAccountFacade,
@@ -28,6 +37,11 @@ public class TableExportVisitor extends AbstractExportVisitor {
         super(bankAccountFacade, categoryFacade, operationFacade);
     }
 
+    @Override
+    public AbstractExportVisitor fork() {
+        return new TableExportVisitor(bankAccountFacade, categoryFacade, operationFacade);
+    }
+
     @Override
     protected void startExport(OutputStream outputStream) {
         writer = new PrintWriter(new OutputStreamWriter(outputStream));
@@ -89,31 +103,63 @@ public class TableExportVisitor extends AbstractExportVisitor {
 
         writer.println("== OPERATIONS ==");
 
-        List<String> headers = List.of("ID", "Type", "Account", "Amount", "Date", "Category", "Description");
         List<List<String>> rows = new ArrayList<>();
-
         for (Operation operation : operations) {
-            String accountName = bankAccountFacade.getAccountById(operation.getBankAccountId())
-                    .map(BankAccount::getName)
-                    .orElse("-");
+            rows.add(toRow(operation));
+        }
 
-            String categoryName = categoryFacade.getCategoryById(operation.getCategoryId())
-                    .map(Category::getName)
-                    .orElse("-");
+        printTable(OPERATION_HEADERS, rows);
+    }
 
-            List<String> row = List.of(
-                    operation.getId().toString(),
-                    operation.getType().name(),
-                    accountName,
-                    operation.getAmount().toString(),
-                    operation.getDate().format(DATE_FORMATTER),
-                    categoryName,
-                    operation.getDescription() != null ? operation.getDescription() : ""
-            );
-            rows.add(row);
+    @Override
+    protected boolean streamsOperations() {
+        return true;
+    }
+
+    // Widths are known without querying operations: ids, types and dates are fixed, amounts are bounded by
+    // DECIMAL(19, 2) and names by the dictionaries. Descriptions have no bound, so that last column is left
+    // unpadded and the columns before it stay aligned however long a description gets
+    @Override
+    protected void beginOperations(OutputStream outputStream) {
+        int typeWidth = 0;
+        for (OperationType type : OperationType.values()) {
+            typeWidth = Math.max(typeWidth, type.name().length());
         }
 
-        printTable(headers, rows);
+        List<Integer> dataWidths = List.of(
+                ID_WIDTH,
+                typeWidth,
+                Math.max(maxLength(getAccountNames().values()), 1),
+                AMOUNT_WIDTH,
+                DATE_WIDTH,
+                Math.max(maxLength(getCategoryNames().values()), 1),
+                0
+        );
+
+        operationWidths = new ArrayList<>(OPERATION_HEADERS.size());
+        for (int i = 0; i < OPERATION_HEADERS.size(); i++) {
+            operationWidths.add(Math.max(OPERATION_HEADERS.get(i).length(), dataWidths.get(i)));
+        }
+        headerPending = true;
+    }
+
+    // The header is written with the first row so an empty stream leaves the section out entirely
+    @Override
+    protected void visitOperation(Operation operation, OutputStream outputStream) {
+        if (headerPending) {
+            writer.println("== OPERATIONS ==");
+            printRow(OPERATION_HEADERS, operationWidths, false);
+            printSeparator(operationWidths);
+            headerPending = false;
+        }
+        printRow(toRow(operation), operationWidths, false);
+    }
+
+    @Override
+    protected void endOperations(OutputStream outputStream) {
+        operationWidths = null;
+        headerPending = false;
+        writer.flush();
     }
 
     @Override
@@ -121,6 +167,21 @@ public class TableExportVisitor extends AbstractExportVisitor {
         writer.flush();
     }
 
+    private List<String> toRow(Operation operation) {
+        String accountName = getAccountName(operation.getBankAccountId());
+        String categoryName = getCategoryName(operation.getCategoryId());
+
+        return List.of(
+                operation.getId().toString(),
+                operation.getType().name(),
+                accountName != null ? accountName : "-",
+                operation.getAmount().toString(),
+                operation.getDate().format(DATE_FORMATTER),
+                categoryName != null ? categoryName : "-",
+                operation.getDescription() != null ? operation.getDescription() : ""
+        );
+    }
+
     private void printTable(List<String> headers, List<List<String>> rows) {
         List<Integer> columnWidths = calculateColumnWidths(headers, rows);
 
@@ -133,13 +194,17 @@ public class TableExportVisitor extends AbstractExportVisitor {
     }
 
     private void printRow(List<String> cells, List<Integer> columnWidths) {
+        printRow(cells, columnWidths, true);
+    }
+
+    private void printRow(List<String> cells, List<Integer> columnWidths, boolean padLast) {
         StringBuilder sb = new StringBuilder("|");
 
         for (int i = 0; i < cells.size(); i++) {
             String cell = cells.get(i);
-            int width = columnWidths.get(i);
+            boolean last = i == cells.size() - 1;
 
-            sb.append(" ").append(padRight(cell, width)).append(" |");
+            sb.append(" ").append(last && !padLast ? cell : padRight(cell, columnWidths.get(i))).append(" |");
         }
 
         writer.println(sb.toString());
@@ -173,6 +238,16 @@ public class TableExportVisitor extends AbstractExportVisitor {
         return widths;
     }
 
+    private int maxLength(Collection<String> values) {
+        int max = 0;
+        for (String value : values) {
+            if (value != null) {
+                max = Math.max(max, value.length());
+            }
+        }
+        return max;
+    }
+
     private String padRight(String s, int n) {
         return String.format("%-" + n + "s", s);
     }
@@ -0,0 +1,32 @@
+package com.example.hseshellfinanceapp.ui;
+
+import com.example.hseshellfinanceapp.facade.OperationFacade;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Reports read nothing but the daily rollups, so a database that predates them would report zeros. Rebuilding
+// locks the operation table for as long as it takes, so startup only points at rebuild-rollups instead of
+// running it. Ordered ahead of the shell runner, which blocks once the prompt is up
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RollupStartupCheck implements ApplicationRunner {
+
+    private final OperationFacade operationFacade;
+
+    @Autowired
+    public RollupStartupCheck(OperationFacade operationFacade) {
+        this.operationFacade = operationFacade;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (operationFacade.areDailyRollupsMissing()) {
+            System.err.println("Daily rollups are empty while operations exist: reports show zero totals until "
+                    + "you run rebuild-rollups");
+        }
+    }
+}
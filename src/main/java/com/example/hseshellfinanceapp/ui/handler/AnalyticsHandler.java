@@ -7,6 +7,7 @@ import com.example.hseshellfinanceapp.service.analytics.AnalyticsService;
 import com.example.hseshellfinanceapp.service.analytics.ReportGenerator;
 import com.example.hseshellfinanceapp.service.command.CommandExecutor;
 import com.example.hseshellfinanceapp.service.command.analyticsCommands.AccountSummaryCommand;
+import com.example.hseshellfinanceapp.service.command.analyticsCommands.AccountsSummaryCommand;
 import com.example.hseshellfinanceapp.service.command.analyticsCommands.ExpensesByCategoryCommand;
 import com.example.hseshellfinanceapp.service.command.analyticsCommands.IncomesByCategoryCommand;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -72,4 +73,19 @@ public class AnalyticsHandler {
             return "Error generating account summary: " + e.getMessage();
         }
     }
+
+    @ShellMethod(value = "Get balance summary of all accounts", key = "accounts-summary")
+    public String getAccountsSummary(
+            @ShellOption(help = "Start date (yyyy-MM-dd)") LocalDate fromDate,
+            @ShellOption(help = "End date (yyyy-MM-dd)") LocalDate toDate) {
+        try {
+            AccountsSummaryCommand command = new AccountsSummaryCommand(
+                    analyticsService, reportGenerator, fromDate, toDate);
+            return commandExecutor.executeCommand(command);
+        } catch (IllegalArgumentException e) {
+            return "Error: " + e.getMessage();
+        } catch (Exception e) {
+            return "Error generating accounts summary: " + e.getMessage();
+        }
+    }
 }
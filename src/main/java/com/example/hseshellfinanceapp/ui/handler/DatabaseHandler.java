@@ -0,0 +1,73 @@
+package com.example.hseshellfinanceapp.ui.handler;
+
+import com.example.hseshellfinanceapp.config.PoolMetrics;
+import com.example.hseshellfinanceapp.facade.BankAccountFacade;
+import com.example.hseshellfinanceapp.facade.OperationFacade;
+import com.example.hseshellfinanceapp.service.command.CommandExecutor;
+import com.example.hseshellfinanceapp.service.command.accountCommands.ListAccountsCommand;
+import com.example.hseshellfinanceapp.service.command.databaseCommands.PoolBenchmarkCommand;
+import com.example.hseshellfinanceapp.service.command.databaseCommands.PoolStatsCommand;
+import com.example.hseshellfinanceapp.service.command.databaseCommands.RebuildRollupsCommand;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+@ShellComponent
+public class DatabaseHandler {
+
+    private final PoolMetrics poolMetrics;
+    private final BankAccountFacade bankAccountFacade;
+    private final OperationFacade operationFacade;
+    private final CommandExecutor commandExecutor;
+
+    @Autowired
+    public DatabaseHandler(
+            PoolMetrics poolMetrics,
+            BankAccountFacade bankAccountFacade,
+            OperationFacade operationFacade,
+            CommandExecutor commandExecutor) {
+        this.poolMetrics = poolMetrics;
+        this.bankAccountFacade = bankAccountFacade;
+        this.operationFacade = operationFacade;
+        this.commandExecutor = commandExecutor;
+    }
+
+    @ShellMethod(value = "Show connection pool statistics", key = "pool-stats")
+    public String poolStats() {
+        try {
+            return commandExecutor.executeCommand(new PoolStatsCommand(poolMetrics));
+        } catch (Exception e) {
+            return "Error reading pool statistics: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(value = "Benchmark concurrent command throughput", key = "pool-benchmark")
+    public String poolBenchmark(
+            @ShellOption(help = "Concurrent callers", defaultValue = "16") int threads,
+            @ShellOption(help = "Timed calls per thread", defaultValue = "200") int iterations,
+            @ShellOption(help = "Untimed calls per thread before measuring", defaultValue = "20") int warmup) {
+        try {
+            // The workload goes through the command layer so the numbers match what shell users see
+            Runnable workload = () -> commandExecutor.executeCommand(new ListAccountsCommand(bankAccountFacade));
+            PoolBenchmarkCommand command = new PoolBenchmarkCommand(
+                    workload, poolMetrics, threads, iterations, warmup);
+            return commandExecutor.executeCommand(command);
+        } catch (IllegalArgumentException e) {
+            return "Error: " + e.getMessage();
+        } catch (Exception e) {
+            return "Error running benchmark: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(value = "Rebuild daily rollups from operations", key = "rebuild-rollups")
+    public String rebuildRollups(
+            @ShellOption(help = "Only compare rollups with operations and report drift", defaultValue = "false")
+            boolean check) {
+        try {
+            return commandExecutor.executeCommand(new RebuildRollupsCommand(operationFacade, check));
+        } catch (Exception e) {
+            return "Error rebuilding rollups: " + e.getMessage();
+        }
+    }
+}
@@ -113,7 +113,8 @@ public class HelpHandler {
         operationsMenu.addOption(new MenuOption("add-expense", "Create a new expense operation",
                 "add-expense <account-id> <category-id> <amount> [description]"));
         operationsMenu.addOption(new MenuOption("list-operations", "List operations",
-                "list-operations [--account <id>] [--type <type>] [--from <date>] [--to <date>]"));
+                "list-operations [--account <id>] [--type <type>] [--from <date>] [--to <date>] " +
+                        "[--page-size <n>] [--page-token <token>]"));
         operationsMenu.addOption(new MenuOption("get-operation", "Get operation details",
                 "get-operation <operation-id>"));
         operationsMenu.addOption(new MenuOption("delete-operation", "Delete an operation",
@@ -129,6 +130,8 @@ public class HelpHandler {
                 "income-by-category [month] [year]"));
         analyticsMenu.addOption(new MenuOption("account-summary", "Get account balance summary",
                 "account-summary <account-id> <from-date> <to-date>"));
+        analyticsMenu.addOption(new MenuOption("accounts-summary", "Get balance summary of all accounts",
+                "accounts-summary <from-date> <to-date>"));
         analyticsMenu.addOption(new MenuOption("monthly-trend", "Show monthly financial trends",
                 "monthly-trend [--months <number>] [--type <type>]"));
         analyticsMenu.addOption(new MenuOption("top-spending", "Show top spending categories",
@@ -137,13 +140,34 @@ public class HelpHandler {
 
         ShellMenu importExportMenu = new ShellMenu("Import/Export");
         importExportMenu.addOption(new MenuOption("export-json", "Export data to JSON file",
-                "export-json <output> [--accounts] [--categories] [--operations]"));
+                "export-json <output> [--accounts] [--categories] [--operations] [--compact] [--compress <codec>]"
+                        + " [--since <timestamp|token>] [--max-rows <n>] [--max-bytes <n>]"));
         importExportMenu.addOption(new MenuOption("export-table", "Export data to table format",
-                "export-table <output> [--accounts] [--categories] [--operations]"));
+                "export-table <output> [--accounts] [--categories] [--operations] [--compress <codec>]"
+                        + " [--since <timestamp|token>] [--max-rows <n>] [--max-bytes <n>]"));
         importExportMenu.addOption(new MenuOption("import-json", "Import data from JSON file",
-                "import-json <input>"));
+                "import-json <input|manifest.json> [--bulk] [--compress <codec>] [--checkpoint]"));
         importExportMenu.addOption(new MenuOption("import-table", "Import data from table format",
-                "import-table <input>"));
+                "import-table <input|manifest.json> [--bulk] [--mapped] [--compress <codec>]"
+                        + " [--checkpoint]"));
+        importExportMenu.addOption(new MenuOption("export-binary", "Export data to binary snapshot",
+                "export-binary <output> [--accounts] [--categories] [--operations] [--compress <codec>]"
+                        + " [--since <timestamp|token>] [--max-rows <n>] [--max-bytes <n>]"));
+        importExportMenu.addOption(new MenuOption("export-sections", "Export sections to separate files in parallel",
+                "export-sections <directory> [--format <format>] [--slices <n>] [--parallelism <n>]"
+                        + " [--compress <codec>] [--compact]"));
+        importExportMenu.addOption(new MenuOption("import-binary", "Import data from binary snapshot",
+                "import-binary <input|manifest.json> [--bulk] [--compress <codec>]"
+                        + " [--checkpoint]"));
         menus.add(importExportMenu);
+
+        ShellMenu databaseMenu = new ShellMenu("Database");
+        databaseMenu.addOption(new MenuOption("pool-stats", "Show connection pool statistics",
+                "pool-stats"));
+        databaseMenu.addOption(new MenuOption("pool-benchmark", "Benchmark concurrent command throughput",
+                "pool-benchmark [--threads <n>] [--iterations <n>] [--warmup <n>]"));
+        databaseMenu.addOption(new MenuOption("rebuild-rollups", "Rebuild daily rollups from operations",
+                "rebuild-rollups [--check]"));
+        menus.add(databaseMenu);
     }
 }
@@ -1,11 +1,20 @@
 package com.example.hseshellfinanceapp.ui.handler;
 
+import java.nio.file.Path;
+import java.util.List;
+
+import com.example.hseshellfinanceapp.facade.OperationFacade;
 import com.example.hseshellfinanceapp.service.command.CommandExecutor;
 import com.example.hseshellfinanceapp.service.command.exportCommands.FileExportCommand;
+import com.example.hseshellfinanceapp.service.command.exportCommands.ParallelExportCommand;
 import com.example.hseshellfinanceapp.service.command.importCommands.FileImportCommand;
+import com.example.hseshellfinanceapp.service.io.compression.CompressionCodec;
 import com.example.hseshellfinanceapp.service.io.template.AbstractDataImporter;
+import com.example.hseshellfinanceapp.service.io.template.BinaryDataImporter;
 import com.example.hseshellfinanceapp.service.io.template.JsonDataImporter;
 import com.example.hseshellfinanceapp.service.io.template.TableDataImporter;
+import com.example.hseshellfinanceapp.service.io.visitor.AbstractExportVisitor;
+import com.example.hseshellfinanceapp.service.io.visitor.BinaryExportVisitor;
 import com.example.hseshellfinanceapp.service.io.visitor.JsonExportVisitor;
 import com.example.hseshellfinanceapp.service.io.visitor.TableExportVisitor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +30,9 @@ public class ImportExportHandler {
     private final TableDataImporter tableDataImporter;
     private final JsonExportVisitor jsonExportVisitor;
     private final TableExportVisitor tableExportVisitor;
+    private final BinaryDataImporter binaryDataImporter;
+    private final BinaryExportVisitor binaryExportVisitor;
+    private final OperationFacade operationFacade;
 
     @Autowired
     public ImportExportHandler(
@@ -28,12 +40,18 @@ public class ImportExportHandler {
             JsonDataImporter jsonDataImporter,
             TableDataImporter tableDataImporter,
             JsonExportVisitor jsonExportVisitor,
-            TableExportVisitor tableExportVisitor) {
+            TableExportVisitor tableExportVisitor,
+            BinaryDataImporter binaryDataImporter,
+            BinaryExportVisitor binaryExportVisitor,
+            OperationFacade operationFacade) {
         this.commandExecutor = commandExecutor;
         this.jsonDataImporter = jsonDataImporter;
         this.tableDataImporter = tableDataImporter;
         this.jsonExportVisitor = jsonExportVisitor;
         this.tableExportVisitor = tableExportVisitor;
+        this.binaryDataImporter = binaryDataImporter;
+        this.binaryExportVisitor = binaryExportVisitor;
+        this.operationFacade = operationFacade;
     }
 
     @ShellMethod(value = "Export data to JSON file", key = "export-json")
@@ -41,10 +59,20 @@ public class ImportExportHandler {
             @ShellOption(help = "Output file path") String output,
             @ShellOption(help = "Include accounts", defaultValue = "true") boolean accounts,
             @ShellOption(help = "Include categories", defaultValue = "true") boolean categories,
-            @ShellOption(help = "Include operations", defaultValue = "true") boolean operations) {
+            @ShellOption(help = "Include operations", defaultValue = "true") boolean operations,
+            @ShellOption(help = "Write JSON without indentation", defaultValue = "false") boolean compact,
+            @ShellOption(help = "Export operations dated from this timestamp, or added after this resume token",
+                    defaultValue = ShellOption.NULL) String since,
+            @ShellOption(help = "Compression codec (none, gzip, deflate); defaults to the file extension",
+                    defaultValue = ShellOption.NULL) String compress,
+            @ShellOption(help = "Roll over to a new part file every n operations; output becomes a directory",
+                    defaultValue = "0") long maxRows,
+            @ShellOption(help = "Roll over to a new part file after about n bytes; output becomes a directory",
+                    defaultValue = "0") long maxBytes) {
         try {
             FileExportCommand command = new FileExportCommand(
-                    jsonExportVisitor, output, accounts, categories, operations);
+                    jsonExportVisitor, output, accounts, categories, operations, compact,
+                    CompressionCodec.resolve(compress, output), since, maxRows, maxBytes);
             boolean success = commandExecutor.executeCommand(command);
 
             return success
@@ -60,10 +88,19 @@ public class ImportExportHandler {
             @ShellOption(help = "Output file path") String output,
             @ShellOption(help = "Include accounts", defaultValue = "true") boolean accounts,
             @ShellOption(help = "Include categories", defaultValue = "true") boolean categories,
-            @ShellOption(help = "Include operations", defaultValue = "true") boolean operations) {
+            @ShellOption(help = "Include operations", defaultValue = "true") boolean operations,
+            @ShellOption(help = "Export operations dated from this timestamp, or added after this resume token",
+                    defaultValue = ShellOption.NULL) String since,
+            @ShellOption(help = "Compression codec (none, gzip, deflate); defaults to the file extension",
+                    defaultValue = ShellOption.NULL) String compress,
+            @ShellOption(help = "Roll over to a new part file every n operations; output becomes a directory",
+                    defaultValue = "0") long maxRows,
+            @ShellOption(help = "Roll over to a new part file after about n bytes; output becomes a directory",
+                    defaultValue = "0") long maxBytes) {
         try {
             FileExportCommand command = new FileExportCommand(
-                    tableExportVisitor, output, accounts, categories, operations);
+                    tableExportVisitor, output, accounts, categories, operations, false,
+                    CompressionCodec.resolve(compress, output), since, maxRows, maxBytes);
             boolean success = commandExecutor.executeCommand(command);
 
             return success
@@ -74,10 +111,76 @@ public class ImportExportHandler {
         }
     }
 
+    @ShellMethod(value = "Export data to binary snapshot", key = "export-binary")
+    public String exportBinary(
+            @ShellOption(help = "Output file path") String output,
+            @ShellOption(help = "Include accounts", defaultValue = "true") boolean accounts,
+            @ShellOption(help = "Include categories", defaultValue = "true") boolean categories,
+            @ShellOption(help = "Include operations", defaultValue = "true") boolean operations,
+            @ShellOption(help = "Export operations dated from this timestamp, or added after this resume token",
+                    defaultValue = ShellOption.NULL) String since,
+            @ShellOption(help = "Compression codec (none, gzip, deflate); defaults to the file extension",
+                    defaultValue = ShellOption.NULL) String compress,
+            @ShellOption(help = "Roll over to a new part file every n operations; output becomes a directory",
+                    defaultValue = "0") long maxRows,
+            @ShellOption(help = "Roll over to a new part file after about n bytes; output becomes a directory",
+                    defaultValue = "0") long maxBytes) {
+        try {
+            FileExportCommand command = new FileExportCommand(
+                    binaryExportVisitor, output, accounts, categories, operations, false,
+                    CompressionCodec.resolve(compress, output), since, maxRows, maxBytes);
+            boolean success = commandExecutor.executeCommand(command);
+
+            return success
+                    ? "Data successfully exported to binary snapshot: " + output
+                    : "Failed to export data to binary snapshot";
+        } catch (Exception e) {
+            return "Error exporting data: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(value = "Export sections to separate files in parallel", key = "export-sections")
+    public String exportSections(
+            @ShellOption(help = "Output directory") String directory,
+            @ShellOption(help = "Export format (json, table, binary)", defaultValue = "binary") String format,
+            @ShellOption(help = "Include accounts", defaultValue = "true") boolean accounts,
+            @ShellOption(help = "Include categories", defaultValue = "true") boolean categories,
+            @ShellOption(help = "Include operations", defaultValue = "true") boolean operations,
+            @ShellOption(help = "Number of operation date slices", defaultValue = "4") int slices,
+            @ShellOption(help = "Parts written at the same time", defaultValue = "4") int parallelism,
+            @ShellOption(help = "Compression codec (none, gzip, deflate)", defaultValue = "none") String compress,
+            @ShellOption(help = "Write JSON without indentation", defaultValue = "false") boolean compact) {
+        try {
+            AbstractExportVisitor visitor = switch (format.toLowerCase()) {
+                case "json" -> jsonExportVisitor;
+                case "table" -> tableExportVisitor;
+                case "binary" -> binaryExportVisitor;
+                default -> throw new IllegalArgumentException("Unknown export format: " + format);
+            };
+            ParallelExportCommand command = new ParallelExportCommand(
+                    visitor, operationFacade, directory, accounts, categories, operations,
+                    slices, parallelism, CompressionCodec.fromName(compress), compact);
+            List<Path> parts = commandExecutor.executeCommand(command);
+
+            return !parts.isEmpty()
+                    ? "Data successfully exported to " + parts.size() + " files in: " + directory
+                    : "Failed to export data sections";
+        } catch (Exception e) {
+            return "Error exporting data: " + e.getMessage();
+        }
+    }
+
     @ShellMethod(value = "Import data from JSON file", key = "import-json")
-    public String importJson(@ShellOption(help = "Input file path") String input) {
+    public String importJson(
+            @ShellOption(help = "Input file path") String input,
+            @ShellOption(help = "Insert operations in batches", defaultValue = "false") boolean bulk,
+            @ShellOption(help = "Compression codec (none, gzip, deflate); defaults to the file extension",
+                    defaultValue = ShellOption.NULL) String compress,
+            @ShellOption(help = "Commit in chunks and resume from the last checkpoint on rerun",
+                    defaultValue = "false") boolean checkpoint) {
         try {
-            FileImportCommand command = new FileImportCommand(jsonDataImporter, input);
+            FileImportCommand command = new FileImportCommand(
+                    jsonDataImporter, input, bulk, false, CompressionCodec.resolve(compress, input), checkpoint);
             AbstractDataImporter.ImportResult result = commandExecutor.executeCommand(command);
 
             return result.success()
@@ -89,9 +192,18 @@ public class ImportExportHandler {
     }
 
     @ShellMethod(value = "Import data from table format", key = "import-table")
-    public String importTable(@ShellOption(help = "Input file path") String input) {
+    public String importTable(
+            @ShellOption(help = "Input file path") String input,
+            @ShellOption(help = "Insert operations in batches", defaultValue = "false") boolean bulk,
+            @ShellOption(help = "Memory-map the file and parse operations in parallel", defaultValue = "false")
+            boolean mapped,
+            @ShellOption(help = "Compression codec (none, gzip, deflate); defaults to the file extension",
+                    defaultValue = ShellOption.NULL) String compress,
+            @ShellOption(help = "Commit in chunks and resume from the last checkpoint on rerun",
+                    defaultValue = "false") boolean checkpoint) {
         try {
-            FileImportCommand command = new FileImportCommand(tableDataImporter, input);
+            FileImportCommand command = new FileImportCommand(
+                    tableDataImporter, input, bulk, mapped, CompressionCodec.resolve(compress, input), checkpoint);
             AbstractDataImporter.ImportResult result = commandExecutor.executeCommand(command);
 
             return result.success()
@@ -101,4 +213,25 @@ public class ImportExportHandler {
             return "Error importing data: " + e.getMessage();
         }
     }
+
+    @ShellMethod(value = "Import data from binary snapshot", key = "import-binary")
+    public String importBinary(
+            @ShellOption(help = "Input file path") String input,
+            @ShellOption(help = "Insert operations in batches", defaultValue = "false") boolean bulk,
+            @ShellOption(help = "Compression codec (none, gzip, deflate); defaults to the file extension",
+                    defaultValue = ShellOption.NULL) String compress,
+            @ShellOption(help = "Commit in chunks and resume from the last checkpoint on rerun",
+                    defaultValue = "false") boolean checkpoint) {
+        try {
+            FileImportCommand command = new FileImportCommand(
+                    binaryDataImporter, input, bulk, false, CompressionCodec.resolve(compress, input), checkpoint);
+            AbstractDataImporter.ImportResult result = commandExecutor.executeCommand(command);
+
+            return result.success()
+                    ? "Data successfully imported from binary snapshot: " + result
+                    : "Failed to import data: " + result.message();
+        } catch (Exception e) {
+            return "Error importing data: " + e.getMessage();
+        }
+    }
 }
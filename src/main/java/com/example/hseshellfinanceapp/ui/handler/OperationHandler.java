@@ -11,6 +11,7 @@ import java.util.UUID;
 import com.example.hseshellfinanceapp.domain.model.Operation;
 import com.example.hseshellfinanceapp.domain.model.OperationType;
 import com.example.hseshellfinanceapp.facade.OperationFacade;
+import com.example.hseshellfinanceapp.facade.OperationFacade.OperationPage;
 import com.example.hseshellfinanceapp.service.command.CommandExecutor;
 import com.example.hseshellfinanceapp.service.command.operationCommands.CreateExpenseCommand;
 import com.example.hseshellfinanceapp.service.command.operationCommands.CreateIncomeCommand;
@@ -80,25 +81,17 @@ public class OperationHandler {
             @ShellOption(help = "Operation type (INCOME or EXPENSE)", defaultValue = ShellOption.NULL)
             OperationType typeFilter,
             @ShellOption(help = "Start date (yyyy-MM-dd)", defaultValue = ShellOption.NULL) LocalDate fromDate,
-            @ShellOption(help = "End date (yyyy-MM-dd)", defaultValue = ShellOption.NULL) LocalDate toDate) {
+            @ShellOption(help = "End date (yyyy-MM-dd)", defaultValue = ShellOption.NULL) LocalDate toDate,
+            @ShellOption(help = "Operations per page", defaultValue = "" + ListOperationsCommand.DEFAULT_PAGE_SIZE)
+            int pageSize,
+            @ShellOption(help = "Continuation token of the next page", defaultValue = ShellOption.NULL)
+            String pageToken) {
         try {
-            ListOperationsCommand command;
-
-            if (accountId != null) {
-                if (fromDate != null && toDate != null) {
-                    command = new ListOperationsCommand(operationFacade, accountId, typeFilter, fromDate, toDate);
-                } else {
-                    command = new ListOperationsCommand(operationFacade, accountId);
-                }
-            } else if (fromDate != null && toDate != null) {
-                command = new ListOperationsCommand(operationFacade, fromDate, toDate);
-            } else if (typeFilter != null) {
-                command = new ListOperationsCommand(operationFacade, typeFilter);
-            } else {
-                command = new ListOperationsCommand(operationFacade);
-            }
+            ListOperationsCommand command = new ListOperationsCommand(
+                    operationFacade, accountId, typeFilter, fromDate, toDate, pageSize, pageToken);
 
-            List<Operation> operations = commandExecutor.executeCommand(command);
+            OperationPage page = commandExecutor.executeCommand(command);
+            List<Operation> operations = page.getOperations();
 
             if (operations.isEmpty()) {
                 return "No operations found.";
@@ -123,7 +116,11 @@ public class OperationHandler {
             TableBuilder tableBuilder = new TableBuilder(model);
             tableBuilder.addHeaderAndVerticalsBorders(BorderStyle.fancy_light);
 
-            return "Operations:\n" + tableBuilder.build().render(120);
+            String result = "Operations:\n" + tableBuilder.build().render(120);
+            if (page.hasNextPage()) {
+                result += "\nMore operations available. Next page: --page-token " + page.getNextPageToken();
+            }
+            return result;
         } catch (Exception e) {
             return "Error listing operations: " + e.getMessage();
         }
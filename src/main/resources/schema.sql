@@ -27,3 +27,42 @@ CREATE TABLE IF NOT EXISTS operation (
 CREATE INDEX IF NOT EXISTS idx_operation_bank_account ON operation(bank_account_id);
 CREATE INDEX IF NOT EXISTS idx_operation_category ON operation(category_id);
 CREATE INDEX IF NOT EXISTS idx_operation_date ON operation(date);
+CREATE INDEX IF NOT EXISTS idx_operation_date_id ON operation(date, id);
+CREATE INDEX IF NOT EXISTS idx_operation_bank_account_date ON operation(bank_account_id, date);
+
+ALTER TABLE operation ADD COLUMN IF NOT EXISTS batch_id UUID;
+CREATE INDEX IF NOT EXISTS idx_operation_batch ON operation(batch_id);
+
+CREATE TABLE IF NOT EXISTS operation_batch (
+    id UUID PRIMARY KEY,
+    seq BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_operation_batch_seq ON operation_batch(seq);
+
+CREATE TABLE IF NOT EXISTS operation_clock (
+    id INT PRIMARY KEY,
+    seq BIGINT NOT NULL
+);
+
+INSERT INTO operation_clock (id, seq) SELECT 1, 0 WHERE NOT EXISTS (SELECT 1 FROM operation_clock WHERE id = 1);
+
+CREATE TABLE IF NOT EXISTS import_journal (
+    id UUID PRIMARY KEY,
+    source VARCHAR(1000) NOT NULL,
+    rows_committed BIGINT NOT NULL DEFAULT 0,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS daily_rollup (
+    account_id UUID NOT NULL,
+    category_id UUID NOT NULL,
+    "day" DATE NOT NULL,
+    type VARCHAR(10) NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    total DECIMAL(19, 2) NOT NULL,
+    count BIGINT NOT NULL,
+    PRIMARY KEY (account_id, category_id, "day", type)
+);
+
+CREATE INDEX IF NOT EXISTS idx_daily_rollup_day ON daily_rollup("day", type);
@@ -0,0 +1,80 @@
+package com.example.hseshellfinanceapp.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import com.example.hseshellfinanceapp.config.PoolMetrics.PoolSnapshot;
+import com.example.hseshellfinanceapp.service.command.databaseCommands.PoolBenchmarkCommand;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PoolMetricsTest {
+
+    private PoolMetrics poolMetrics;
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        poolMetrics = new PoolMetrics();
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("test");
+        config.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(2);
+        config.setMetricsTrackerFactory(poolMetrics);
+        dataSource = new HikariDataSource(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void snapshot_shouldReportBorrowedConnections() throws SQLException {
+        // Given
+        try (Connection connection = dataSource.getConnection()) {
+            // When
+            List<PoolSnapshot> snapshots = poolMetrics.snapshot();
+
+            // Then
+            assertEquals(1, snapshots.size());
+            PoolSnapshot snapshot = snapshots.get(0);
+            assertEquals("test", snapshot.pool());
+            assertEquals(1, snapshot.active());
+            assertEquals(1, snapshot.acquisitions());
+            assertEquals(0, snapshot.timeouts());
+        }
+    }
+
+    @Test
+    void poolBenchmarkCommand_withMoreThreadsThanConnections_shouldCompleteEveryCall() {
+        // Given
+        Runnable workload = () -> {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SELECT 1");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        PoolBenchmarkCommand command = new PoolBenchmarkCommand(workload, poolMetrics, 4, 25, 5);
+
+        // When
+        String report = command.executeWithValidation();
+
+        // Then
+        assertTrue(report.contains("4 threads x 25 iterations"));
+        assertTrue(report.contains("(100 in "));
+        assertEquals(120, poolMetrics.snapshot().get(0).acquisitions());
+    }
+}
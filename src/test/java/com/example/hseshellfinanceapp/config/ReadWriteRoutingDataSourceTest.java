@@ -0,0 +1,105 @@
+package com.example.hseshellfinanceapp.config;
+
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private ReadWriteRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReadWriteRoutingDataSource(database("primary"), database("replica"));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        routingDataSource.close();
+    }
+
+    @Test
+    void readOnlyTransaction_shouldUseReplica() {
+        // Given
+        transactionTemplate.setReadOnly(true);
+
+        // When
+        String target = transactionTemplate.execute(status -> currentDatabase());
+
+        // Then
+        assertEquals("replica", target);
+    }
+
+    @Test
+    void readWriteTransaction_shouldUsePrimary() {
+        // When
+        String target = transactionTemplate.execute(status -> currentDatabase());
+
+        // Then
+        assertEquals("primary", target);
+    }
+
+    @Test
+    void withoutTransaction_shouldUsePrimary() {
+        // When
+        String target = currentDatabase();
+
+        // Then
+        assertEquals("primary", target);
+    }
+
+    @Test
+    void withoutReplica_readOnlyTransaction_shouldUsePrimary() throws Exception {
+        // Given
+        routingDataSource.close();
+        routingDataSource = new ReadWriteRoutingDataSource(database("primary"), null);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(true);
+
+        // When
+        String target = transactionTemplate.execute(status -> currentDatabase());
+
+        // Then
+        assertFalse(routingDataSource.hasReplica());
+        assertEquals("primary", target);
+    }
+
+    @Test
+    void hasReplica_withReplica_shouldReturnTrue() {
+        assertTrue(routingDataSource.hasReplica());
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    // Each database holds a single row naming itself, so a query shows which target served it
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE marker (name VARCHAR(20))");
+        template.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
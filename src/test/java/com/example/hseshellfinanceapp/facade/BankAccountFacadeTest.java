@@ -12,7 +12,9 @@ import com.example.hseshellfinanceapp.domain.model.BankAccount;
 import com.example.hseshellfinanceapp.domain.model.Operation;
 import com.example.hseshellfinanceapp.domain.model.OperationType;
 import com.example.hseshellfinanceapp.repository.BankAccountRepository;
+import com.example.hseshellfinanceapp.repository.DailyRollupRepository;
 import com.example.hseshellfinanceapp.repository.OperationRepository;
+import com.example.hseshellfinanceapp.repository.OperationRepository.AccountTotals;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -40,11 +43,15 @@ class BankAccountFacadeTest {
     @Mock
     private BankAccountFactory bankAccountFactory;
 
+    @Mock
+    private DailyRollupRepository dailyRollupRepository;
+
     private BankAccountFacade bankAccountFacade;
 
     @BeforeEach
     void setUp() {
-        bankAccountFacade = new BankAccountFacade(bankAccountRepository, operationRepository, bankAccountFactory);
+        bankAccountFacade = new BankAccountFacade(bankAccountRepository, operationRepository, bankAccountFactory,
+                dailyRollupRepository);
     }
 
     @Test
@@ -188,6 +195,7 @@ class BankAccountFacadeTest {
         assertTrue(result);
         verify(bankAccountRepository).existsById(id);
         verify(operationRepository).deleteByBankAccountId(id);
+        verify(dailyRollupRepository).deleteByAccountId(id);
         verify(bankAccountRepository).deleteById(id);
     }
 
@@ -228,7 +236,7 @@ class BankAccountFacadeTest {
     }
 
     @Test
-    void getAccountOperations_withAccountIdAndDateRange_shouldReturnFilteredOperations() {
+    void getAccountOperations_withAccountIdAndDateRange_shouldQueryByAccountAndDate() {
         // Given
         UUID accountId = UUID.randomUUID();
         LocalDate startDate = LocalDate.of(2023, 1, 1);
@@ -236,19 +244,15 @@ class BankAccountFacadeTest {
         LocalDateTime startDateTime = startDate.atStartOfDay();
         LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay().minusNanos(1);
 
-        UUID differentAccountId = UUID.randomUUID();
-
-        List<Operation> allOperations = List.of(
+        List<Operation> accountOperations = List.of(
                 new Operation(UUID.randomUUID(), OperationType.INCOME, accountId,
                         BigDecimal.TEN, LocalDateTime.of(2023, 1, 15, 10, 0), "Test Income", UUID.randomUUID()),
                 new Operation(UUID.randomUUID(), OperationType.EXPENSE, accountId,
-                        BigDecimal.ONE, LocalDateTime.of(2023, 1, 20, 15, 0), "Test Expense", UUID.randomUUID()),
-                new Operation(UUID.randomUUID(), OperationType.INCOME, differentAccountId,
-                        BigDecimal.valueOf(5), LocalDateTime.of(2023, 1, 10, 12, 0), "Different Account",
-                        UUID.randomUUID())
+                        BigDecimal.ONE, LocalDateTime.of(2023, 1, 20, 15, 0), "Test Expense", UUID.randomUUID())
         );
 
-        when(operationRepository.findByDateRange(startDateTime, endDateTime)).thenReturn(allOperations);
+        when(operationRepository.findByBankAccountIdAndDateRange(accountId, startDateTime, endDateTime))
+                .thenReturn(accountOperations);
 
         // When
         List<Operation> result = bankAccountFacade.getAccountOperations(accountId, startDate, endDate);
@@ -256,7 +260,8 @@ class BankAccountFacadeTest {
         // Then
         assertEquals(2, result.size());
         assertTrue(result.stream().allMatch(op -> op.getBankAccountId().equals(accountId)));
-        verify(operationRepository).findByDateRange(startDateTime, endDateTime);
+        verify(operationRepository).findByBankAccountIdAndDateRange(accountId, startDateTime, endDateTime);
+        verify(operationRepository, never()).findByDateRange(any(), any());
     }
 
     @Test
@@ -305,18 +310,14 @@ class BankAccountFacadeTest {
         UUID accountId = UUID.randomUUID();
         LocalDate startDate = LocalDate.of(2023, 1, 1);
         LocalDate endDate = LocalDate.of(2023, 1, 31);
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay().minusNanos(1);
 
         BigDecimal totalIncome = new BigDecimal("150.00");
         BigDecimal totalExpenses = new BigDecimal("50.00");
         BigDecimal netChange = new BigDecimal("100.00");
 
         when(bankAccountRepository.existsById(accountId)).thenReturn(true);
-        when(operationRepository.sumByDateRangeAndType(startDateTime, endDateTime, OperationType.INCOME))
-                .thenReturn(totalIncome);
-        when(operationRepository.sumByDateRangeAndType(startDateTime, endDateTime, OperationType.EXPENSE))
-                .thenReturn(totalExpenses);
+        when(dailyRollupRepository.sumByAccountIdAndDateRange(accountId, startDate, endDate))
+                .thenReturn(new AccountTotals(accountId, null, totalIncome, totalExpenses));
 
         // When
         BankAccountFacade.AccountBalanceSummary result =
@@ -327,8 +328,31 @@ class BankAccountFacadeTest {
         assertEquals(totalExpenses, result.getTotalExpenses());
         assertEquals(netChange, result.getNetChange());
         verify(bankAccountRepository).existsById(accountId);
-        verify(operationRepository).sumByDateRangeAndType(startDateTime, endDateTime, OperationType.INCOME);
-        verify(operationRepository).sumByDateRangeAndType(startDateTime, endDateTime, OperationType.EXPENSE);
+        verify(dailyRollupRepository).sumByAccountIdAndDateRange(accountId, startDate, endDate);
+        verify(operationRepository, never()).sumByDateRangeAndType(any(), any(), any());
+    }
+
+    @Test
+    void getBalanceSummaries_shouldReturnTotalsOfEveryAccount() {
+        // Given
+        LocalDate startDate = LocalDate.of(2023, 1, 1);
+        LocalDate endDate = LocalDate.of(2023, 1, 31);
+
+        List<AccountTotals> totals = List.of(
+                new AccountTotals(UUID.randomUUID(), "Cash", new BigDecimal("150.00"), new BigDecimal("50.00")),
+                new AccountTotals(UUID.randomUUID(), "Savings", BigDecimal.ZERO, BigDecimal.ZERO)
+        );
+
+        when(dailyRollupRepository.sumGroupedByAccount(startDate, endDate)).thenReturn(totals);
+
+        // When
+        List<AccountTotals> result = bankAccountFacade.getBalanceSummaries(startDate, endDate);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(new BigDecimal("100.00"), result.get(0).net());
+        assertEquals(BigDecimal.ZERO, result.get(1).net());
+        verify(dailyRollupRepository).sumGroupedByAccount(startDate, endDate);
     }
 
     @Test
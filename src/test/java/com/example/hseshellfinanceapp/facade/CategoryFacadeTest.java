@@ -1,8 +1,10 @@
 package com.example.hseshellfinanceapp.facade;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -10,7 +12,9 @@ import com.example.hseshellfinanceapp.domain.factory.CategoryFactory;
 import com.example.hseshellfinanceapp.domain.model.Category;
 import com.example.hseshellfinanceapp.domain.model.OperationType;
 import com.example.hseshellfinanceapp.repository.CategoryRepository;
+import com.example.hseshellfinanceapp.repository.DailyRollupRepository;
 import com.example.hseshellfinanceapp.repository.OperationRepository;
+import com.example.hseshellfinanceapp.repository.OperationRepository.CategoryTotal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +24,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,12 +37,15 @@ class CategoryFacadeTest {
     private OperationRepository operationRepository;
     @Mock
     private CategoryFactory categoryFactory;
+    @Mock
+    private DailyRollupRepository dailyRollupRepository;
 
     private CategoryFacade categoryFacade;
 
     @BeforeEach
     void setUp() {
-        categoryFacade = new CategoryFacade(categoryRepository, operationRepository, categoryFactory);
+        categoryFacade = new CategoryFacade(categoryRepository, operationRepository, categoryFactory,
+                dailyRollupRepository);
     }
 
     @Test
@@ -96,9 +105,10 @@ class CategoryFacadeTest {
         Category category1 = new Category(UUID.randomUUID(), "Food", type);
         Category category2 = new Category(UUID.randomUUID(), "Entertainment", type);
 
-        when(categoryRepository.findByType(type)).thenReturn(List.of(category1, category2));
-        when(operationRepository.sumByCategoryId(category1.getId())).thenReturn(new BigDecimal("50.00"));
-        when(operationRepository.sumByCategoryId(category2.getId())).thenReturn(new BigDecimal("100.00"));
+        when(dailyRollupRepository.sumGroupedByCategory(type, null, null)).thenReturn(List.of(
+                new CategoryTotal(category2, new BigDecimal("100.00")),
+                new CategoryTotal(category1, new BigDecimal("50.00"))
+        ));
 
         // When
         List<CategoryFacade.CategorySummary> result = categoryFacade.getCategoriesSortedByAmount(type);
@@ -108,4 +118,41 @@ class CategoryFacadeTest {
         assertEquals(category2, result.get(0).getCategory()); // Higher amount first
         assertEquals(category1, result.get(1).getCategory());
     }
+
+    @Test
+    void getSpendingByCategory_shouldSkipCategoriesWithoutSpending() {
+        // Given
+        Category groceries = new Category(UUID.randomUUID(), "Groceries", OperationType.EXPENSE);
+        Category dining = new Category(UUID.randomUUID(), "Dining", OperationType.EXPENSE);
+
+        when(dailyRollupRepository.sumGroupedByCategory(OperationType.EXPENSE, null, null)).thenReturn(List.of(
+                new CategoryTotal(groceries, new BigDecimal("75.00")),
+                new CategoryTotal(dining, BigDecimal.ZERO)
+        ));
+
+        // When
+        Map<String, BigDecimal> result = categoryFacade.getSpendingByCategory();
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(new BigDecimal("75.00"), result.get("Groceries"));
+        verify(operationRepository, never()).sumByCategoryId(any());
+    }
+
+    @Test
+    void getSpendingByCategory_withPeriod_shouldReadDailyRollups() {
+        // Given
+        LocalDate startDate = LocalDate.of(2023, 9, 1);
+        LocalDate endDate = LocalDate.of(2023, 9, 30);
+        Category groceries = new Category(UUID.randomUUID(), "Groceries", OperationType.EXPENSE);
+
+        when(dailyRollupRepository.sumGroupedByCategory(OperationType.EXPENSE, startDate, endDate))
+                .thenReturn(List.of(new CategoryTotal(groceries, new BigDecimal("175.50"))));
+
+        // When
+        Map<String, BigDecimal> result = categoryFacade.getSpendingByCategory(startDate, endDate);
+
+        // Then
+        assertEquals(Map.of("Groceries", new BigDecimal("175.50")), result);
+    }
 }
@@ -0,0 +1,146 @@
+package com.example.hseshellfinanceapp.facade;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.example.hseshellfinanceapp.domain.factory.OperationFactory;
+import com.example.hseshellfinanceapp.domain.model.BankAccount;
+import com.example.hseshellfinanceapp.domain.model.Category;
+import com.example.hseshellfinanceapp.domain.model.Operation;
+import com.example.hseshellfinanceapp.domain.model.OperationType;
+import com.example.hseshellfinanceapp.facade.OperationFacade.ImportTotals;
+import com.example.hseshellfinanceapp.repository.BankAccountRepository;
+import com.example.hseshellfinanceapp.repository.CategoryRepository;
+import com.example.hseshellfinanceapp.repository.DailyRollupRepository;
+import com.example.hseshellfinanceapp.repository.ImportJournalRepository;
+import com.example.hseshellfinanceapp.repository.OperationRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Incremental exports running while another transaction is still writing operations
+class OperationFacadeExportWatermarkTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    private JdbcDataSource dataSource;
+    private TransactionTemplate transactionTemplate;
+    private OperationFacade operationFacade;
+    private ExecutorService executor;
+    private UUID cashId;
+    private UUID savingsId;
+    private UUID salaryId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        runSchema();
+
+        DSLContext dsl = DSL.using(new TransactionAwareDataSourceProxy(dataSource), SQLDialect.H2,
+                new Settings().withRenderSchema(false));
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        BankAccountRepository bankAccountRepository = new BankAccountRepository(dsl);
+        CategoryRepository categoryRepository = new CategoryRepository(dsl);
+        operationFacade = new OperationFacade(new OperationRepository(dsl), bankAccountRepository,
+                categoryRepository, new OperationFactory(), new ImportJournalRepository(dsl),
+                new DailyRollupRepository(dsl));
+        executor = Executors.newSingleThreadExecutor();
+
+        cashId = bankAccountRepository.save(new BankAccount(UUID.randomUUID(), "Cash", BigDecimal.ZERO)).getId();
+        savingsId = bankAccountRepository.save(new BankAccount(UUID.randomUUID(), "Savings", BigDecimal.ZERO)).getId();
+        salaryId = categoryRepository.save(new Category(UUID.randomUUID(), "Salary", OperationType.INCOME)).getId();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        executor.shutdownNow();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void forEachOperationSince_withTransactionCommittingAfterTheExport_shouldExportItNextTime() throws Exception {
+        // Given
+        Operation late = new Operation(UUID.randomUUID(), OperationType.INCOME, cashId, new BigDecimal("10.00"),
+                DATE, "Late", salaryId);
+        CountDownLatch lateWritten = new CountDownLatch(1);
+        CountDownLatch commitLate = new CountDownLatch(1);
+
+        // The late import writes its row first but commits only after the export has run
+        Future<?> lateImport = executor.submit(() -> transactionTemplate.execute(status -> {
+            ImportTotals totals = new ImportTotals();
+            operationFacade.importOperationsBatch(List.of(late), totals);
+            operationFacade.applyImportTotals(totals);
+            lateWritten.countDown();
+            try {
+                assertTrue(commitLate.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        }));
+        assertTrue(lateWritten.await(10, TimeUnit.SECONDS));
+        Operation early = transactionTemplate.execute(status -> operationFacade.createIncome(
+                savingsId, salaryId, new BigDecimal("20.00"), DATE, "Early").orElseThrow());
+
+        List<Operation> firstExport = new ArrayList<>();
+        String token = operationFacade.forEachOperationSince("2024-01-01", firstExport::add);
+        commitLate.countDown();
+        lateImport.get(30, TimeUnit.SECONDS);
+
+        // When
+        List<Operation> secondExport = new ArrayList<>();
+        String nextToken = operationFacade.forEachOperationSince(token, secondExport::add);
+        List<Operation> thirdExport = new ArrayList<>();
+        operationFacade.forEachOperationSince(nextToken, thirdExport::add);
+
+        // Then
+        assertEquals(List.of(early.getId()), firstExport.stream().map(Operation::getId).toList());
+        assertEquals(List.of(late.getId()), secondExport.stream().map(Operation::getId).toList());
+        assertTrue(thirdExport.isEmpty());
+    }
+
+    private void runSchema() throws IOException, SQLException {
+        String schema;
+        try (InputStream in = getClass().getResourceAsStream("/schema.sql")) {
+            schema = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : schema.split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+}
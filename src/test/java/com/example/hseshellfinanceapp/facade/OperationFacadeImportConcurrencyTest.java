@@ -0,0 +1,208 @@
+package com.example.hseshellfinanceapp.facade;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.example.hseshellfinanceapp.domain.factory.OperationFactory;
+import com.example.hseshellfinanceapp.domain.model.BankAccount;
+import com.example.hseshellfinanceapp.domain.model.Category;
+import com.example.hseshellfinanceapp.domain.model.Operation;
+import com.example.hseshellfinanceapp.domain.model.OperationType;
+import com.example.hseshellfinanceapp.facade.OperationFacade.ImportTotals;
+import com.example.hseshellfinanceapp.repository.BankAccountRepository;
+import com.example.hseshellfinanceapp.repository.CategoryRepository;
+import com.example.hseshellfinanceapp.repository.DailyRollupRepository;
+import com.example.hseshellfinanceapp.repository.ImportJournalRepository;
+import com.example.hseshellfinanceapp.repository.OperationRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two manifest parts importing into the same accounts, each in its own long transaction
+class OperationFacadeImportConcurrencyTest {
+
+    private static final int ROWS_PER_CHUNK = 50;
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private JdbcDataSource dataSource;
+    private TransactionTemplate transactionTemplate;
+    private BankAccountRepository bankAccountRepository;
+    private DailyRollupRepository dailyRollupRepository;
+    private OperationRepository operationRepository;
+    private OperationFacade operationFacade;
+    private ExecutorService executor;
+    private UUID cashId;
+    private UUID savingsId;
+    private UUID salaryId;
+    private UUID foodId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        runSchema();
+
+        // Repositories join the transaction of the calling thread, as they do behind @Transactional
+        DSLContext dsl = DSL.using(new TransactionAwareDataSourceProxy(dataSource), SQLDialect.H2,
+                new Settings().withRenderSchema(false));
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        bankAccountRepository = new BankAccountRepository(dsl);
+        dailyRollupRepository = new DailyRollupRepository(dsl);
+        operationRepository = new OperationRepository(dsl);
+        CategoryRepository categoryRepository = new CategoryRepository(dsl);
+        operationFacade = new OperationFacade(operationRepository, bankAccountRepository,
+                categoryRepository, new OperationFactory(), new ImportJournalRepository(dsl), dailyRollupRepository);
+        executor = Executors.newFixedThreadPool(2);
+
+        cashId = bankAccountRepository.save(new BankAccount(UUID.randomUUID(), "Cash", BigDecimal.ZERO)).getId();
+        savingsId = bankAccountRepository.save(new BankAccount(UUID.randomUUID(), "Savings", BigDecimal.ZERO)).getId();
+        salaryId = categoryRepository.save(new Category(UUID.randomUUID(), "Salary", OperationType.INCOME)).getId();
+        foodId = categoryRepository.save(new Category(UUID.randomUUID(), "Food", OperationType.EXPENSE)).getId();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        executor.shutdownNow();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void importParts_touchingSameAccountsInOppositeOrder_shouldBothCommit() throws Exception {
+        // Given
+        CyclicBarrier firstChunksWritten = new CyclicBarrier(2);
+
+        // When
+        Future<?> first = executor.submit(() -> importPart(cashId, savingsId, firstChunksWritten));
+        Future<?> second = executor.submit(() -> importPart(savingsId, cashId, firstChunksWritten));
+        first.get(30, TimeUnit.SECONDS);
+        second.get(30, TimeUnit.SECONDS);
+
+        // Then
+        BigDecimal perAccount = BigDecimal.TEN.multiply(BigDecimal.valueOf(2L * ROWS_PER_CHUNK));
+        assertEquals(0, perAccount.compareTo(bankAccountRepository.findById(cashId).orElseThrow().getBalance()));
+        assertEquals(0, perAccount.compareTo(bankAccountRepository.findById(savingsId).orElseThrow().getBalance()));
+        assertEquals(0, perAccount.multiply(BigDecimal.TWO).compareTo(
+                dailyRollupRepository.sumByDateRangeAndType(DAY, DAY, OperationType.INCOME)));
+        assertTrue(dailyRollupRepository.findDrift().isEmpty());
+    }
+
+    @Test
+    void importParts_spendingTheSameMoney_shouldRollBackThePartThatWouldOverdraw() throws Exception {
+        // Given
+        UUID walletId = bankAccountRepository.save(
+                new BankAccount(UUID.randomUUID(), "Wallet", new BigDecimal("100.00"))).getId();
+        // Each part spends 60 of the 100 it saw when it started; the second applies after the first committed
+        CyclicBarrier bothWritten = new CyclicBarrier(2);
+        CountDownLatch firstCommitted = new CountDownLatch(1);
+
+        // When
+        Future<?> first = executor.submit(() -> {
+            spendPart(walletId, bothWritten, null);
+            firstCommitted.countDown();
+            return null;
+        });
+        Future<?> second = executor.submit(() -> spendPart(walletId, bothWritten, firstCommitted));
+        first.get(30, TimeUnit.SECONDS);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> second.get(30, TimeUnit.SECONDS));
+
+        // Then
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+        assertEquals(0, new BigDecimal("40.00").compareTo(
+                bankAccountRepository.findById(walletId).orElseThrow().getBalance()));
+        assertEquals(1, operationRepository.findByBankAccountId(walletId).size());
+        assertEquals(0, new BigDecimal("60.00").compareTo(
+                dailyRollupRepository.sumByDateRangeAndType(DAY, DAY, OperationType.EXPENSE)));
+        assertTrue(dailyRollupRepository.findDrift().isEmpty());
+    }
+
+    // Mirrors one importData call: chunks of a part share a transaction and apply their totals last
+    private Void importPart(UUID firstAccount, UUID secondAccount, CyclicBarrier barrier) {
+        return transactionTemplate.execute(status -> {
+            ImportTotals totals = new ImportTotals();
+            operationFacade.importOperationsBatch(chunk(firstAccount), totals);
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            operationFacade.importOperationsBatch(chunk(secondAccount), totals);
+            operationFacade.applyImportTotals(totals);
+            return null;
+        });
+    }
+
+    private Void spendPart(UUID accountId, CyclicBarrier barrier, CountDownLatch applyAfter) {
+        return transactionTemplate.execute(status -> {
+            ImportTotals totals = new ImportTotals();
+            operationFacade.importOperationsBatch(List.of(new Operation(UUID.randomUUID(), OperationType.EXPENSE,
+                    accountId, new BigDecimal("60.00"), DAY.atTime(12, 0), "Groceries", foodId)), totals);
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+                if (applyAfter != null) {
+                    applyAfter.await(10, TimeUnit.SECONDS);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            operationFacade.applyImportTotals(totals);
+            return null;
+        });
+    }
+
+    private List<Operation> chunk(UUID accountId) {
+        List<Operation> operations = new ArrayList<>();
+        for (int i = 0; i < ROWS_PER_CHUNK; i++) {
+            operations.add(new Operation(UUID.randomUUID(), OperationType.INCOME, accountId, BigDecimal.TEN,
+                    DAY.atTime(9, 0).plusMinutes(i), "Part row " + i, salaryId));
+        }
+        return operations;
+    }
+
+    private void runSchema() throws IOException, SQLException {
+        String schema;
+        try (InputStream in = getClass().getResourceAsStream("/schema.sql")) {
+            schema = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : schema.split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.hseshellfinanceapp.facade;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import com.example.hseshellfinanceapp.domain.factory.OperationFactory;
 import com.example.hseshellfinanceapp.domain.model.BankAccount;
@@ -12,7 +18,12 @@ import com.example.hseshellfinanceapp.domain.model.Operation;
 import com.example.hseshellfinanceapp.domain.model.OperationType;
 import com.example.hseshellfinanceapp.repository.BankAccountRepository;
 import com.example.hseshellfinanceapp.repository.CategoryRepository;
+import com.example.hseshellfinanceapp.facade.OperationFacade.ImportTotals;
+import com.example.hseshellfinanceapp.repository.DailyRollupRepository;
+import com.example.hseshellfinanceapp.repository.DailyRollupRepository.PendingRollups;
+import com.example.hseshellfinanceapp.repository.ImportJournalRepository;
 import com.example.hseshellfinanceapp.repository.OperationRepository;
+import com.example.hseshellfinanceapp.repository.OperationRepository.MonthlyTotal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,7 +33,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,13 +53,17 @@ class OperationFacadeTest {
     private CategoryRepository categoryRepository;
     @Mock
     private OperationFactory operationFactory;
+    @Mock
+    private ImportJournalRepository importJournalRepository;
+    @Mock
+    private DailyRollupRepository dailyRollupRepository;
 
     private OperationFacade operationFacade;
 
     @BeforeEach
     void setUp() {
         operationFacade = new OperationFacade(operationRepository, bankAccountRepository, categoryRepository,
-                operationFactory);
+                operationFactory, importJournalRepository, dailyRollupRepository);
     }
 
     @Test
@@ -59,8 +80,8 @@ class OperationFacadeTest {
         Operation operation = new Operation(UUID.randomUUID(), OperationType.INCOME, accountId, amount, date,
                 description, categoryId);
 
-        when(bankAccountRepository.findById(accountId)).thenReturn(Optional.of(account));
         when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
+        when(bankAccountRepository.updateBalance(accountId, amount)).thenReturn(Optional.of(account));
         when(operationFactory.createIncome(accountId, amount, date, description, categoryId)).thenReturn(operation);
         when(operationRepository.save(operation)).thenReturn(operation);
 
@@ -71,6 +92,7 @@ class OperationFacadeTest {
         assertTrue(result.isPresent());
         assertEquals(operation, result.get());
         verify(bankAccountRepository).updateBalance(accountId, amount);
+        verify(dailyRollupRepository).add(List.of(operation));
     }
 
     @Test
@@ -82,11 +104,11 @@ class OperationFacadeTest {
         LocalDateTime date = LocalDateTime.now();
         String description = "Test expense";
 
-        BankAccount account = new BankAccount(accountId, "Test Account", new BigDecimal("50.00"));
         Category category = new Category(categoryId, "Shopping", OperationType.EXPENSE);
 
-        when(bankAccountRepository.findById(accountId)).thenReturn(Optional.of(account));
         when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
+        when(bankAccountRepository.withdraw(accountId, amount)).thenReturn(Optional.empty());
+        when(bankAccountRepository.existsById(accountId)).thenReturn(true);
 
         // When/Then
         IllegalArgumentException exception = assertThrows(
@@ -95,6 +117,133 @@ class OperationFacadeTest {
         );
 
         assertEquals("Insufficient funds in account", exception.getMessage());
+        verifyNoInteractions(operationRepository);
+    }
+
+    @Test
+    void createIncome_withInvalidAmount_shouldNotTouchBalance() {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        BigDecimal amount = new BigDecimal("-5.00");
+        LocalDateTime date = LocalDateTime.now();
+
+        Category category = new Category(categoryId, "Salary", OperationType.INCOME);
+
+        when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
+        when(operationFactory.createIncome(accountId, amount, date, "Refund", categoryId))
+                .thenThrow(new IllegalArgumentException("Amount must be greater than zero"));
+
+        // When/Then
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> operationFacade.createIncome(accountId, categoryId, amount, date, "Refund")
+        );
+
+        verifyNoInteractions(bankAccountRepository);
+        verifyNoInteractions(operationRepository);
+    }
+
+    @Test
+    void createExpense_withSufficientFunds_shouldDebitWithGuardedUpdate() {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        BigDecimal amount = new BigDecimal("40.00");
+        LocalDateTime date = LocalDateTime.now();
+        String description = "Test expense";
+
+        Category category = new Category(categoryId, "Shopping", OperationType.EXPENSE);
+        Operation operation = new Operation(UUID.randomUUID(), OperationType.EXPENSE, accountId, amount, date,
+                description, categoryId);
+
+        when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
+        when(bankAccountRepository.withdraw(accountId, amount))
+                .thenReturn(Optional.of(new BankAccount(accountId, "Test Account", new BigDecimal("10.00"))));
+        when(operationFactory.createExpense(accountId, amount, date, description, categoryId)).thenReturn(operation);
+        when(operationRepository.save(operation)).thenReturn(operation);
+
+        // When
+        Optional<Operation> result = operationFacade.createExpense(accountId, categoryId, amount, date, description);
+
+        // Then
+        assertTrue(result.isPresent());
+        verify(bankAccountRepository, never()).findById(accountId);
+        verify(bankAccountRepository, never()).updateBalance(accountId, amount.negate());
+    }
+
+    @Test
+    void importOperationsBatch_shouldDeferOneBalanceDeltaPerAccountUntilApplied() {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        UUID incomeCategoryId = UUID.randomUUID();
+        UUID expenseCategoryId = UUID.randomUUID();
+        LocalDateTime date = LocalDateTime.now();
+
+        Operation income = new Operation(UUID.randomUUID(), OperationType.INCOME, accountId,
+                new BigDecimal("100.00"), date, "Salary", incomeCategoryId);
+        Operation expense = new Operation(UUID.randomUUID(), OperationType.EXPENSE, accountId,
+                new BigDecimal("30.00"), date, "Food", expenseCategoryId);
+
+        when(operationFactory.createOperation(OperationType.INCOME, accountId, income.getAmount(), date,
+                "Salary", incomeCategoryId)).thenReturn(income);
+        when(operationFactory.createOperation(OperationType.EXPENSE, accountId, expense.getAmount(), date,
+                "Food", expenseCategoryId)).thenReturn(expense);
+
+        ImportTotals totals = new ImportTotals();
+
+        // When
+        int imported = operationFacade.importOperationsBatch(List.of(income, expense), totals);
+
+        // Then
+        assertEquals(2, imported);
+        verify(operationRepository).saveAll(List.of(income, expense));
+        verify(bankAccountRepository, never()).updateBalance(any(), any());
+
+        operationFacade.applyImportTotals(totals);
+        verify(bankAccountRepository).updateBalance(accountId, new BigDecimal("70.00"));
+        verify(dailyRollupRepository).add(any(PendingRollups.class));
+    }
+
+    @Test
+    void applyImportTotals_withNetDebitNoLongerCovered_shouldThrowBeforeWritingRollups() {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        ImportTotals totals = new ImportTotals();
+        totals.add(List.of(new Operation(UUID.randomUUID(), OperationType.EXPENSE, accountId,
+                new BigDecimal("60.00"), LocalDateTime.now(), "Rent", UUID.randomUUID())));
+
+        when(bankAccountRepository.withdraw(accountId, new BigDecimal("60.00"))).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> operationFacade.applyImportTotals(totals));
+        verify(bankAccountRepository, never()).updateBalance(any(), any());
+        verify(dailyRollupRepository, never()).add(any(PendingRollups.class));
+    }
+
+    @Test
+    void importOperationsCheckpoint_shouldOnlyApplyBalancesOfInsertedRowsAndAdvanceJournal() {
+        // Given
+        UUID importId = UUID.randomUUID();
+        UUID accountId = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        LocalDateTime date = LocalDateTime.now();
+
+        Operation replayed = new Operation(UUID.randomUUID(), OperationType.INCOME, accountId,
+                new BigDecimal("100.00"), date, "Replayed", categoryId);
+        Operation fresh = new Operation(UUID.randomUUID(), OperationType.INCOME, accountId,
+                new BigDecimal("25.00"), date, "Fresh", categoryId);
+
+        when(operationRepository.saveAllIgnoringDuplicates(List.of(replayed, fresh))).thenReturn(Set.of(fresh.getId()));
+
+        // When
+        int imported = operationFacade.importOperationsCheckpoint(importId, List.of(replayed, fresh), 2000);
+
+        // Then
+        assertEquals(1, imported);
+        verify(bankAccountRepository).updateBalance(accountId, new BigDecimal("25.00"));
+        verify(dailyRollupRepository).add(any(PendingRollups.class));
+        verify(importJournalRepository).advance(importId, 2000);
     }
 
     @Test
@@ -116,6 +265,7 @@ class OperationFacadeTest {
         // Then
         assertTrue(result);
         verify(bankAccountRepository).updateBalance(accountId, amount.negate());
+        verify(dailyRollupRepository).remove(List.of(operation));
     }
 
     @Test
@@ -143,4 +293,59 @@ class OperationFacadeTest {
         assertEquals("Test Account", result.get().getAccountName());
         assertEquals("Shopping", result.get().getCategoryName());
     }
+
+    @Test
+    void getMonthlySummaries_shouldFillMonthsWithoutOperationsWithZero() {
+        // Given
+        YearMonth from = YearMonth.of(2023, 9);
+        YearMonth to = YearMonth.of(2023, 11);
+        LocalDate start = from.atDay(1);
+        LocalDate end = to.atEndOfMonth();
+
+        when(dailyRollupRepository.sumByMonthAndType(start, end)).thenReturn(List.of(
+                new MonthlyTotal(from, OperationType.INCOME, new BigDecimal("3620.00")),
+                new MonthlyTotal(from, OperationType.EXPENSE, new BigDecimal("510.70")),
+                new MonthlyTotal(to, OperationType.EXPENSE, new BigDecimal("62.50"))
+        ));
+
+        // When
+        List<OperationFacade.MonthlySummary> result = operationFacade.getMonthlySummaries(from, to);
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals(from, result.get(0).getMonth());
+        assertEquals(new BigDecimal("3109.30"), result.get(0).getNetChange());
+        assertEquals(YearMonth.of(2023, 10), result.get(1).getMonth());
+        assertEquals(BigDecimal.ZERO, result.get(1).getTotalIncome());
+        assertEquals(BigDecimal.ZERO, result.get(1).getTotalExpenses());
+        assertEquals(new BigDecimal("-62.50"), result.get(2).getNetChange());
+    }
+
+    @Test
+    void forEachOperationSince_shouldReturnTokenThatResumesAfterLastCommittedBatch() {
+        // Given
+        LocalDateTime start = LocalDate.of(2024, 5, 1).atStartOfDay();
+        Operation first = new Operation(UUID.randomUUID(), OperationType.INCOME, UUID.randomUUID(),
+                new BigDecimal("10.00"), start.plusHours(1), "First", UUID.randomUUID());
+        // Inserted after the first export but dated before its last row
+        Operation backdated = new Operation(UUID.randomUUID(), OperationType.INCOME, UUID.randomUUID(),
+                new BigDecimal("20.00"), start.plusMinutes(30), "Backdated", UUID.randomUUID());
+
+        when(operationRepository.findLastBatchSeq()).thenReturn(7L, 8L, 8L);
+        when(operationRepository.streamSince(eq(start), eq(0L), eq(7L), anyInt())).thenReturn(Stream.of(first));
+        when(operationRepository.streamSince(isNull(), eq(7L), eq(8L), anyInt())).thenReturn(Stream.of(backdated));
+        when(operationRepository.streamSince(isNull(), eq(8L), eq(8L), anyInt())).thenReturn(Stream.empty());
+        List<Operation> exported = new ArrayList<>();
+
+        // When
+        String token = operationFacade.forEachOperationSince("2024-05-01", exported::add);
+        String nextToken = operationFacade.forEachOperationSince(token, exported::add);
+        String idleToken = operationFacade.forEachOperationSince(nextToken, exported::add);
+
+        // Then
+        assertEquals(List.of(first, backdated), exported);
+        assertEquals(nextToken, idleToken);
+        assertThrows(IllegalArgumentException.class,
+                () -> operationFacade.forEachOperationSince("yesterday", exported::add));
+    }
 }
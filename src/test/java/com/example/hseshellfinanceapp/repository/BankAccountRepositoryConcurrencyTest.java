@@ -0,0 +1,131 @@
+package com.example.hseshellfinanceapp.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.hseshellfinanceapp.domain.model.BankAccount;
+import org.h2.jdbcx.JdbcDataSource;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BankAccountRepositoryConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 200;
+
+    private JdbcDataSource dataSource;
+    private BankAccountRepository repository;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000");
+        runSchema();
+
+        repository = new BankAccountRepository(
+                DSL.using(dataSource, SQLDialect.H2, new Settings().withRenderSchema(false)));
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        executor.shutdownNow();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void updateBalance_underConcurrentDeposits_shouldNotLoseUpdates() throws Exception {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        repository.save(new BankAccount(accountId, "Stress", BigDecimal.ZERO));
+
+        // When
+        runConcurrently(() -> {
+            repository.updateBalance(accountId, BigDecimal.ONE);
+            return true;
+        });
+
+        // Then
+        BigDecimal expected = BigDecimal.valueOf((long) THREADS * ITERATIONS);
+        assertEquals(0, expected.compareTo(repository.findById(accountId).orElseThrow().getBalance()));
+    }
+
+    @Test
+    void withdraw_underConcurrentDebits_shouldNeverOverdraw() throws Exception {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        int affordable = THREADS * ITERATIONS / 2;
+        repository.save(new BankAccount(accountId, "Stress", BigDecimal.valueOf(affordable)));
+        AtomicInteger succeeded = new AtomicInteger();
+
+        // When
+        runConcurrently(() -> {
+            if (repository.withdraw(accountId, BigDecimal.ONE).isPresent()) {
+                succeeded.incrementAndGet();
+            }
+            return true;
+        });
+
+        // Then
+        assertEquals(affordable, succeeded.get());
+        assertEquals(0, BigDecimal.ZERO.compareTo(repository.findById(accountId).orElseThrow().getBalance()));
+    }
+
+    private void runConcurrently(Callable<Boolean> action) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    action.call();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private void runSchema() throws IOException, SQLException {
+        String schema;
+        try (InputStream in = getClass().getResourceAsStream("/schema.sql")) {
+            schema = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : schema.split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+}
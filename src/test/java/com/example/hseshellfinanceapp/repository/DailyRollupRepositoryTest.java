@@ -0,0 +1,191 @@
+package com.example.hseshellfinanceapp.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import com.example.hseshellfinanceapp.domain.model.BankAccount;
+import com.example.hseshellfinanceapp.domain.model.Category;
+import com.example.hseshellfinanceapp.domain.model.Operation;
+import com.example.hseshellfinanceapp.domain.model.OperationType;
+import com.example.hseshellfinanceapp.repository.DailyRollupRepository.RollupDrift;
+import com.example.hseshellfinanceapp.repository.OperationRepository.AccountTotals;
+import com.example.hseshellfinanceapp.repository.OperationRepository.CategoryTotal;
+import com.example.hseshellfinanceapp.repository.OperationRepository.MonthlyTotal;
+import org.h2.jdbcx.JdbcDataSource;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DailyRollupRepositoryTest {
+
+    private static final LocalDate START = LocalDate.of(2023, 1, 1);
+    private static final LocalDate END = LocalDate.of(2023, 1, 31);
+
+    private JdbcDataSource dataSource;
+    private OperationRepository operationRepository;
+    private DailyRollupRepository rollupRepository;
+    private UUID accountId;
+    private UUID salaryId;
+    private UUID foodId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        runSchema();
+
+        DSLContext dsl = DSL.using(dataSource, SQLDialect.H2, new Settings().withRenderSchema(false));
+        operationRepository = new OperationRepository(dsl);
+        rollupRepository = new DailyRollupRepository(dsl);
+
+        accountId = new BankAccountRepository(dsl)
+                .save(new BankAccount(UUID.randomUUID(), "Cash", BigDecimal.ZERO)).getId();
+        CategoryRepository categories = new CategoryRepository(dsl);
+        salaryId = categories.save(new Category(UUID.randomUUID(), "Salary", OperationType.INCOME)).getId();
+        foodId = categories.save(new Category(UUID.randomUUID(), "Food", OperationType.EXPENSE)).getId();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void add_shouldAccumulateOperationsOfTheSameDay() {
+        // Given
+        rollupRepository.add(List.of(
+                operation(OperationType.EXPENSE, "30.00", LocalDateTime.of(2023, 1, 10, 9, 0), foodId),
+                operation(OperationType.EXPENSE, "20.00", LocalDateTime.of(2023, 1, 10, 19, 0), foodId)));
+
+        // When
+        rollupRepository.add(List.of(
+                operation(OperationType.EXPENSE, "5.00", LocalDateTime.of(2023, 1, 10, 21, 0), foodId)));
+
+        // Then
+        assertEquals(0, new BigDecimal("55.00").compareTo(
+                rollupRepository.sumByDateRangeAndType(START, END, OperationType.EXPENSE)));
+        assertNull(rollupRepository.sumByDateRangeAndType(START, END, OperationType.INCOME));
+    }
+
+    @Test
+    void remove_shouldSubtractAndDropEmptyBuckets() {
+        // Given
+        Operation lunch = operation(OperationType.EXPENSE, "30.00", LocalDateTime.of(2023, 1, 10, 12, 0), foodId);
+        rollupRepository.add(List.of(lunch));
+
+        // When
+        rollupRepository.remove(List.of(lunch));
+
+        // Then
+        assertNull(rollupRepository.sumByDateRangeAndType(START, END, OperationType.EXPENSE));
+    }
+
+    @Test
+    void rebuild_shouldMatchIncrementalMaintenance() {
+        // Given
+        List<Operation> operations = List.of(
+                operation(OperationType.INCOME, "150.00", LocalDateTime.of(2023, 1, 5, 10, 0), salaryId),
+                operation(OperationType.EXPENSE, "30.00", LocalDateTime.of(2023, 1, 10, 12, 0), foodId),
+                operation(OperationType.EXPENSE, "20.00", LocalDateTime.of(2023, 2, 3, 18, 0), foodId));
+        operations.forEach(operationRepository::save);
+
+        // When
+        int buckets = rollupRepository.rebuild();
+
+        // Then
+        assertEquals(3, buckets);
+        List<MonthlyTotal> monthly = rollupRepository.sumByMonthAndType(START, LocalDate.of(2023, 2, 28));
+        assertEquals(3, monthly.size());
+        assertEquals(0, new BigDecimal("20.00").compareTo(monthly.stream()
+                .filter(total -> total.month().equals(YearMonth.of(2023, 2)))
+                .findFirst().orElseThrow().total()));
+
+        List<CategoryTotal> expenses = rollupRepository.sumGroupedByCategory(OperationType.EXPENSE, START, END);
+        assertEquals(1, expenses.size());
+        assertEquals(0, new BigDecimal("30.00").compareTo(expenses.get(0).total()));
+
+        AccountTotals january = rollupRepository.sumByAccountIdAndDateRange(accountId, START, END);
+        assertEquals(0, new BigDecimal("120.00").compareTo(january.net()));
+    }
+
+    @Test
+    void findDrift_shouldReportBucketsOutOfStepWithOperations() {
+        // Given
+        Operation lunch = operation(OperationType.EXPENSE, "30.00", LocalDateTime.of(2023, 1, 10, 12, 0), foodId);
+        operationRepository.save(lunch);
+        RollupDrift beforeRebuild = rollupRepository.findDrift();
+        rollupRepository.rebuild();
+        RollupDrift afterRebuild = rollupRepository.findDrift();
+
+        // When
+        // A bucket written without a matching operation
+        rollupRepository.add(List.of(
+                operation(OperationType.INCOME, "150.00", LocalDateTime.of(2023, 1, 5, 10, 0), salaryId)));
+        RollupDrift drifted = rollupRepository.findDrift();
+
+        // Then
+        assertEquals(new RollupDrift(1, 0), beforeRebuild);
+        assertTrue(afterRebuild.isEmpty());
+        assertEquals(new RollupDrift(0, 1), drifted);
+    }
+
+    @Test
+    void isMissingForExistingOperations_shouldOnlyHoldForAnEmptyTableNextToOperations() {
+        // Given
+        boolean withoutOperations = rollupRepository.isMissingForExistingOperations();
+        operationRepository.save(
+                operation(OperationType.EXPENSE, "30.00", LocalDateTime.of(2023, 1, 10, 12, 0), foodId));
+
+        // When
+        boolean beforeRebuild = rollupRepository.isMissingForExistingOperations();
+        rollupRepository.rebuild();
+        boolean afterRebuild = rollupRepository.isMissingForExistingOperations();
+
+        // Then
+        assertFalse(withoutOperations);
+        assertTrue(beforeRebuild);
+        assertFalse(afterRebuild);
+    }
+
+    private Operation operation(OperationType type, String amount, LocalDateTime date, UUID categoryId) {
+        return new Operation(UUID.randomUUID(), type, accountId, new BigDecimal(amount), date, null, categoryId);
+    }
+
+    private void runSchema() throws IOException, SQLException {
+        String schema;
+        try (InputStream in = getClass().getResourceAsStream("/schema.sql")) {
+            schema = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : schema.split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.hseshellfinanceapp.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.example.hseshellfinanceapp.domain.model.BankAccount;
+import com.example.hseshellfinanceapp.domain.model.Category;
+import com.example.hseshellfinanceapp.domain.model.Operation;
+import com.example.hseshellfinanceapp.domain.model.OperationType;
+import org.h2.jdbcx.JdbcDataSource;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OperationRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2023, 1, 31, 23, 59);
+
+    private JdbcDataSource dataSource;
+    private OperationRepository repository;
+    private UUID cashId;
+    private UUID savingsId;
+    private UUID salaryId;
+    private UUID foodId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        runSchema();
+
+        DSLContext dsl = DSL.using(dataSource, SQLDialect.H2, new Settings().withRenderSchema(false));
+        repository = new OperationRepository(dsl);
+        BankAccountRepository accounts = new BankAccountRepository(dsl);
+        CategoryRepository categories = new CategoryRepository(dsl);
+
+        cashId = accounts.save(new BankAccount(UUID.randomUUID(), "Cash", BigDecimal.ZERO)).getId();
+        savingsId = accounts.save(new BankAccount(UUID.randomUUID(), "Savings", BigDecimal.ZERO)).getId();
+        salaryId = categories.save(new Category(UUID.randomUUID(), "Salary", OperationType.INCOME)).getId();
+        foodId = categories.save(new Category(UUID.randomUUID(), "Food", OperationType.EXPENSE)).getId();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void findByBankAccountIdAndDateRange_shouldReturnOnlyThatAccountInRangeNewestFirst() {
+        // Given
+        Operation salary = save(OperationType.INCOME, cashId, "150.00", LocalDateTime.of(2023, 1, 5, 10, 0), salaryId);
+        Operation lunch = save(OperationType.EXPENSE, cashId, "30.00", LocalDateTime.of(2023, 1, 20, 12, 0), foodId);
+        Operation dinner = save(OperationType.EXPENSE, cashId, "20.00", LocalDateTime.of(2023, 1, 10, 18, 0), foodId);
+        // Just outside both ends of the range, and on the other account inside it
+        save(OperationType.INCOME, cashId, "999.00", LocalDateTime.of(2022, 12, 31, 23, 59), salaryId);
+        save(OperationType.INCOME, cashId, "999.00", LocalDateTime.of(2023, 2, 1, 0, 0), salaryId);
+        save(OperationType.INCOME, savingsId, "500.00", LocalDateTime.of(2023, 1, 15, 9, 0), salaryId);
+
+        // When
+        List<Operation> operations = repository.findByBankAccountIdAndDateRange(cashId, START, END);
+
+        // Then
+        assertEquals(List.of(lunch.getId(), dinner.getId(), salary.getId()),
+                operations.stream().map(Operation::getId).toList());
+    }
+
+    @Test
+    void findByBankAccountIdAndDateRange_withOperationsOnlyElsewhere_shouldReturnEmpty() {
+        // Given
+        save(OperationType.INCOME, cashId, "150.00", LocalDateTime.of(2023, 1, 5, 10, 0), salaryId);
+
+        // When
+        List<Operation> operations = repository.findByBankAccountIdAndDateRange(savingsId, START, END);
+
+        // Then
+        assertTrue(operations.isEmpty());
+    }
+
+    private Operation save(OperationType type, UUID accountId, String amount, LocalDateTime date, UUID categoryId) {
+        Operation operation = new Operation(UUID.randomUUID(), type, accountId, new BigDecimal(amount), date, null,
+                categoryId);
+        repository.save(operation);
+        return operation;
+    }
+
+    private void runSchema() throws IOException, SQLException {
+        String schema;
+        try (InputStream in = getClass().getResourceAsStream("/schema.sql")) {
+            schema = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : schema.split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+}
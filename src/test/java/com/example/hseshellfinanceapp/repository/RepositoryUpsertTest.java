@@ -0,0 +1,187 @@
+package com.example.hseshellfinanceapp.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.example.hseshellfinanceapp.domain.model.BankAccount;
+import com.example.hseshellfinanceapp.domain.model.Category;
+import com.example.hseshellfinanceapp.domain.model.Operation;
+import com.example.hseshellfinanceapp.domain.model.OperationType;
+import org.h2.jdbcx.JdbcDataSource;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Both branches of the single insert ... on conflict do update statement behind save
+class RepositoryUpsertTest {
+
+    private JdbcDataSource dataSource;
+    private BankAccountRepository bankAccountRepository;
+    private CategoryRepository categoryRepository;
+    private OperationRepository operationRepository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        runSchema();
+
+        DSLContext dsl = DSL.using(dataSource, SQLDialect.H2, new Settings().withRenderSchema(false));
+        bankAccountRepository = new BankAccountRepository(dsl);
+        categoryRepository = new CategoryRepository(dsl);
+        operationRepository = new OperationRepository(dsl);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void bankAccountSave_withNewId_shouldInsertRow() {
+        // Given
+        BankAccount account = new BankAccount(UUID.randomUUID(), "Cash", new BigDecimal("10.00"));
+
+        // When
+        bankAccountRepository.save(account);
+
+        // Then
+        BankAccount stored = bankAccountRepository.findById(account.getId()).orElseThrow();
+        assertEquals(1, bankAccountRepository.count());
+        assertEquals("Cash", stored.getName());
+        assertEquals(0, new BigDecimal("10.00").compareTo(stored.getBalance()));
+    }
+
+    @Test
+    void bankAccountSave_withExistingId_shouldUpdateRowInPlace() {
+        // Given
+        UUID id = UUID.randomUUID();
+        bankAccountRepository.save(new BankAccount(id, "Cash", new BigDecimal("10.00")));
+
+        // When
+        bankAccountRepository.save(new BankAccount(id, "Wallet", new BigDecimal("25.50")));
+
+        // Then
+        BankAccount stored = bankAccountRepository.findById(id).orElseThrow();
+        assertEquals(1, bankAccountRepository.count());
+        assertEquals("Wallet", stored.getName());
+        assertEquals(0, new BigDecimal("25.50").compareTo(stored.getBalance()));
+    }
+
+    @Test
+    void categorySave_withNewId_shouldInsertRow() {
+        // Given
+        Category category = new Category(UUID.randomUUID(), "Food", OperationType.EXPENSE);
+
+        // When
+        categoryRepository.save(category);
+
+        // Then
+        Category stored = categoryRepository.findById(category.getId()).orElseThrow();
+        assertEquals(1, categoryRepository.findAll().size());
+        assertEquals("Food", stored.getName());
+        assertEquals(OperationType.EXPENSE, stored.getType());
+    }
+
+    @Test
+    void categorySave_withExistingId_shouldUpdateRowInPlace() {
+        // Given
+        UUID id = UUID.randomUUID();
+        categoryRepository.save(new Category(id, "Food", OperationType.EXPENSE));
+
+        // When
+        categoryRepository.save(new Category(id, "Refunds", OperationType.INCOME));
+
+        // Then
+        Category stored = categoryRepository.findById(id).orElseThrow();
+        assertEquals(1, categoryRepository.findAll().size());
+        assertEquals("Refunds", stored.getName());
+        assertEquals(OperationType.INCOME, stored.getType());
+    }
+
+    @Test
+    void operationSave_withNewId_shouldInsertRow() {
+        // Given
+        UUID accountId = saveAccount("Cash");
+        UUID categoryId = saveCategory("Food", OperationType.EXPENSE);
+        Operation operation = new Operation(UUID.randomUUID(), OperationType.EXPENSE, accountId,
+                new BigDecimal("12.00"), LocalDateTime.of(2024, 1, 5, 12, 0), "Lunch", categoryId);
+
+        // When
+        operationRepository.save(operation);
+
+        // Then
+        Operation stored = operationRepository.findById(operation.getId()).orElseThrow();
+        assertEquals(1, operationRepository.findAll().size());
+        assertEquals(OperationType.EXPENSE, stored.getType());
+        assertEquals(0, new BigDecimal("12.00").compareTo(stored.getAmount()));
+        assertEquals("Lunch", stored.getDescription());
+    }
+
+    @Test
+    void operationSave_withExistingId_shouldUpdateRowInPlace() {
+        // Given
+        UUID cashId = saveAccount("Cash");
+        UUID savingsId = saveAccount("Savings");
+        UUID foodId = saveCategory("Food", OperationType.EXPENSE);
+        UUID salaryId = saveCategory("Salary", OperationType.INCOME);
+        UUID id = UUID.randomUUID();
+        operationRepository.save(new Operation(id, OperationType.EXPENSE, cashId, new BigDecimal("12.00"),
+                LocalDateTime.of(2024, 1, 5, 12, 0), "Lunch", foodId));
+        LocalDateTime newDate = LocalDateTime.of(2024, 1, 6, 9, 30);
+
+        // When
+        operationRepository.save(new Operation(id, OperationType.INCOME, savingsId, new BigDecimal("40.00"),
+                newDate, "Bonus", salaryId));
+
+        // Then
+        Operation stored = operationRepository.findById(id).orElseThrow();
+        assertEquals(1, operationRepository.findAll().size());
+        assertEquals(OperationType.INCOME, stored.getType());
+        assertEquals(savingsId, stored.getBankAccountId());
+        assertEquals(0, new BigDecimal("40.00").compareTo(stored.getAmount()));
+        assertEquals(newDate, stored.getDate());
+        assertEquals("Bonus", stored.getDescription());
+        assertEquals(salaryId, stored.getCategoryId());
+    }
+
+    private UUID saveAccount(String name) {
+        return bankAccountRepository.save(new BankAccount(UUID.randomUUID(), name, BigDecimal.ZERO)).getId();
+    }
+
+    private UUID saveCategory(String name, OperationType type) {
+        return categoryRepository.save(new Category(UUID.randomUUID(), name, type)).getId();
+    }
+
+    private void runSchema() throws IOException, SQLException {
+        String schema;
+        try (InputStream in = getClass().getResourceAsStream("/schema.sql")) {
+            schema = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : schema.split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+}
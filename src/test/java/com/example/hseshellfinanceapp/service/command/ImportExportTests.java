@@ -3,26 +3,58 @@ package com.example.hseshellfinanceapp.service.command;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.example.hseshellfinanceapp.domain.model.BankAccount;
+import com.example.hseshellfinanceapp.domain.model.Category;
+import com.example.hseshellfinanceapp.domain.model.Operation;
+import com.example.hseshellfinanceapp.domain.model.OperationType;
+import com.example.hseshellfinanceapp.facade.BankAccountFacade;
+import com.example.hseshellfinanceapp.facade.CategoryFacade;
+import com.example.hseshellfinanceapp.facade.OperationFacade;
+import com.example.hseshellfinanceapp.repository.OperationRepository.DateRange;
 
 import com.example.hseshellfinanceapp.service.command.exportCommands.ExportJsonCommand;
 import com.example.hseshellfinanceapp.service.command.exportCommands.ExportTableCommand;
+import com.example.hseshellfinanceapp.service.command.exportCommands.FileExportCommand;
+import com.example.hseshellfinanceapp.service.command.exportCommands.ParallelExportCommand;
 import com.example.hseshellfinanceapp.service.command.importCommands.ImportJsonCommand;
 import com.example.hseshellfinanceapp.service.command.importCommands.ImportTableCommand;
+import com.example.hseshellfinanceapp.service.command.importCommands.ManifestImportCommand;
+import com.example.hseshellfinanceapp.service.io.compression.CompressionCodec;
+import com.example.hseshellfinanceapp.service.io.manifest.ExportManifest;
 import com.example.hseshellfinanceapp.service.io.template.AbstractDataImporter;
+import com.example.hseshellfinanceapp.service.io.template.BinaryDataImporter;
 import com.example.hseshellfinanceapp.service.io.template.JsonDataImporter;
 import com.example.hseshellfinanceapp.service.io.template.TableDataImporter;
+import com.example.hseshellfinanceapp.service.io.visitor.BinaryExportVisitor;
 import com.example.hseshellfinanceapp.service.io.visitor.JsonExportVisitor;
 import com.example.hseshellfinanceapp.service.io.visitor.TableExportVisitor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +65,12 @@ class ExportCommandsTest {
     @Mock
     private TableExportVisitor tableExportVisitor;
     @Mock
+    private BankAccountFacade bankAccountFacade;
+    @Mock
+    private CategoryFacade categoryFacade;
+    @Mock
+    private OperationFacade operationFacade;
+    @Mock
     private OutputStream outputStream;
 
     // ExportJsonCommand tests
@@ -42,14 +80,14 @@ class ExportCommandsTest {
         ExportJsonCommand command = new ExportJsonCommand(
                 jsonExportVisitor, outputStream, true, true, true);
 
-        doNothing().when(jsonExportVisitor).exportData(outputStream, true, true, true);
+        doNothing().when(jsonExportVisitor).exportData(outputStream, true, true, true, null);
 
         // When
         Boolean result = command.execute();
 
         // Then
         assertTrue(result);
-        verify(jsonExportVisitor).exportData(outputStream, true, true, true);
+        verify(jsonExportVisitor).exportData(outputStream, true, true, true, null);
     }
 
     // ExportTableCommand tests
@@ -59,14 +97,154 @@ class ExportCommandsTest {
         ExportTableCommand command = new ExportTableCommand(
                 tableExportVisitor, outputStream, true, true, true);
 
-        doNothing().when(tableExportVisitor).exportData(outputStream, true, true, true);
+        doNothing().when(tableExportVisitor).exportData(outputStream, true, true, true, null);
 
         // When
         Boolean result = command.execute();
 
         // Then
         assertTrue(result);
-        verify(tableExportVisitor).exportData(outputStream, true, true, true);
+        verify(tableExportVisitor).exportData(outputStream, true, true, true, null);
+    }
+
+    @Test
+    void parallelExportCommand_shouldWriteOneFilePerSectionAndDateSlice(@TempDir Path directory) throws Exception {
+        // Given
+        BankAccount account = new BankAccount(UUID.randomUUID(), "Test Account", new BigDecimal("100.00"));
+        Category category = new Category(UUID.randomUUID(), "Salary", OperationType.INCOME);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Operation early = new Operation(UUID.randomUUID(), OperationType.INCOME, account.getId(),
+                new BigDecimal("10.00"), start, "Early", category.getId());
+        Operation late = new Operation(UUID.randomUUID(), OperationType.INCOME, account.getId(),
+                new BigDecimal("20.00"), start.plusDays(2), "Late", category.getId());
+
+        JsonExportVisitor visitor = new JsonExportVisitor(bankAccountFacade, categoryFacade, operationFacade);
+        when(bankAccountFacade.getAllAccounts()).thenReturn(List.of(account));
+        when(categoryFacade.getAllCategories()).thenReturn(List.of(category));
+        when(bankAccountFacade.getAccountNames()).thenReturn(Map.of(account.getId(), account.getName()));
+        when(categoryFacade.getCategoryNames()).thenReturn(Map.of(category.getId(), category.getName()));
+        when(operationFacade.getOperationDateRange()).thenReturn(Optional.of(new DateRange(start, late.getDate())));
+        doAnswer(invocation -> {
+            LocalDateTime from = invocation.getArgument(0);
+            LocalDateTime to = invocation.getArgument(1);
+            Consumer<Operation> action = invocation.getArgument(2);
+            for (Operation operation : List.of(early, late)) {
+                if ((from == null || !operation.getDate().isBefore(from))
+                        && (to == null || operation.getDate().isBefore(to))) {
+                    action.accept(operation);
+                }
+            }
+            return null;
+        }).when(operationFacade).forEachOperationBetween(any(), any(), any());
+
+        ParallelExportCommand command = new ParallelExportCommand(
+                visitor, operationFacade, directory.toString(), true, true, true, 2);
+
+        // When
+        List<Path> parts = command.execute();
+
+        // Then
+        assertEquals(List.of(
+                directory.resolve("accounts.json"),
+                directory.resolve("categories.json"),
+                directory.resolve("operations-0001.json"),
+                directory.resolve("operations-0002.json")), parts);
+        String firstSlice = Files.readString(parts.get(2));
+        assertTrue(firstSlice.contains(early.getId().toString()));
+        assertFalse(firstSlice.contains(late.getId().toString()));
+        assertTrue(Files.readString(parts.get(3)).contains(late.getId().toString()));
+        assertTrue(Files.readString(parts.get(0)).contains("Test Account"));
+    }
+
+    @Test
+    void parallelExportCommand_shouldNotInheritCompactLayoutFromEarlierExport(@TempDir Path directory)
+            throws Exception {
+        // Given
+        BankAccount account = new BankAccount(UUID.randomUUID(), "Test Account", new BigDecimal("100.00"));
+        JsonExportVisitor visitor = new JsonExportVisitor(bankAccountFacade, categoryFacade, operationFacade);
+        visitor.setPrettyPrint(false);
+        when(bankAccountFacade.getAllAccounts()).thenReturn(List.of(account));
+
+        ParallelExportCommand command = new ParallelExportCommand(
+                visitor, operationFacade, directory.toString(), true, false, false, 1);
+
+        // When
+        List<Path> parts = command.execute();
+
+        // Then
+        assertEquals(1, parts.size());
+        assertTrue(Files.readString(parts.get(0)).contains("\n"));
+    }
+
+    @Test
+    void fileExportCommand_withMaxRows_shouldWritePartsAndManifestThatImportBack(@TempDir Path directory)
+            throws Exception {
+        // Given
+        BankAccount account = new BankAccount(UUID.randomUUID(), "Test Account", new BigDecimal("100.00"));
+        Category category = new Category(UUID.randomUUID(), "Salary", OperationType.INCOME);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Operation> operations = List.of(
+                new Operation(UUID.randomUUID(), OperationType.INCOME, account.getId(),
+                        new BigDecimal("10.00"), start, "First", category.getId()),
+                new Operation(UUID.randomUUID(), OperationType.INCOME, account.getId(),
+                        new BigDecimal("20.00"), start.plusDays(1), "Second", category.getId()),
+                new Operation(UUID.randomUUID(), OperationType.INCOME, account.getId(),
+                        new BigDecimal("30.00"), start.plusDays(2), "Third", category.getId()));
+
+        BinaryExportVisitor visitor = new BinaryExportVisitor(bankAccountFacade, categoryFacade, operationFacade);
+        when(bankAccountFacade.getAllAccounts()).thenReturn(List.of(account));
+        when(categoryFacade.getAllCategories()).thenReturn(List.of(category));
+        doAnswer(invocation -> {
+            Consumer<Operation> action = invocation.getArgument(0);
+            operations.forEach(action);
+            return null;
+        }).when(operationFacade).forEachOperation(any());
+
+        FileExportCommand exportCommand = new FileExportCommand(visitor, directory.toString(), true, true, true,
+                false, CompressionCodec.GZIP, null, 2, 0);
+
+        BinaryDataImporter importer = mock(BinaryDataImporter.class);
+        when(importer.importData(any(InputStream.class), eq(true))).thenReturn(
+                new AbstractDataImporter.ImportResult(true, "Import successful", 1, 1, 2),
+                new AbstractDataImporter.ImportResult(true, "Import successful", 0, 0, 1));
+
+        // When
+        boolean exported = exportCommand.execute();
+        ExportManifest manifest = ExportManifest.read(directory.resolve(ExportManifest.FILE_NAME));
+        AbstractDataImporter.ImportResult result = new ManifestImportCommand(importer,
+                directory.resolve(ExportManifest.FILE_NAME).toString(), true).execute();
+
+        // Then
+        assertTrue(exported);
+        assertEquals("binary", manifest.format());
+        assertEquals("gzip", manifest.compression());
+        assertEquals(List.of("part-0001.hseb.gz", "part-0002.hseb.gz"),
+                manifest.parts().stream().map(ExportManifest.Part::file).toList());
+        assertEquals(3, manifest.totalOperations());
+        assertEquals(start.plusDays(2), manifest.parts().get(1).firstDate());
+        assertEquals(ExportManifest.checksum(directory.resolve("part-0002.hseb.gz")), manifest.parts().get(1).crc32());
+
+        assertTrue(result.success());
+        assertEquals(1, result.accountsImported());
+        assertEquals(3, result.operationsImported());
+    }
+
+    @Test
+    void manifestImportCommand_withDamagedPart_shouldImportNothing(@TempDir Path directory) throws Exception {
+        // Given
+        Files.writeString(directory.resolve("part-0001.json"), "{}");
+        new ExportManifest("json", "none", List.of(new ExportManifest.Part(
+                "part-0001.json", 0, 0, 0, null, null, 2, 0))).write(directory.resolve(ExportManifest.FILE_NAME));
+        JsonDataImporter importer = mock(JsonDataImporter.class);
+
+        // When
+        AbstractDataImporter.ImportResult result = new ManifestImportCommand(importer,
+                directory.resolve(ExportManifest.FILE_NAME).toString(), false).execute();
+
+        // Then
+        assertFalse(result.success());
+        assertEquals("Checksum mismatch in part: part-0001.json", result.message());
+        verifyNoInteractions(importer);
     }
 
     // Test validation
@@ -102,14 +280,14 @@ class ImportCommandsTest {
         AbstractDataImporter.ImportResult expectedResult = new AbstractDataImporter.ImportResult(
                 true, "Success", 1, 2, 3);
 
-        when(jsonDataImporter.importData(inputStream)).thenReturn(expectedResult);
+        when(jsonDataImporter.importData(inputStream, false)).thenReturn(expectedResult);
 
         // When
         AbstractDataImporter.ImportResult result = command.execute();
 
         // Then
         assertSame(expectedResult, result);
-        verify(jsonDataImporter).importData(inputStream);
+        verify(jsonDataImporter).importData(inputStream, false);
     }
 
     // ImportTableCommand tests
@@ -122,10 +300,10 @@ class ImportCommandsTest {
         AbstractDataImporter.ImportResult expectedResult = new AbstractDataImporter.ImportResult(
                 true, "Success", 1, 2, 3);
 
-        when(tableDataImporter.importData(inputStream)).thenReturn(expectedResult);
+        when(tableDataImporter.importData(inputStream, false)).thenReturn(expectedResult);
         
         // Then
-        verify(tableDataImporter).importData(inputStream);
+        verify(tableDataImporter).importData(inputStream, false);
     }
 
     // Test validation
@@ -10,6 +10,7 @@ import com.example.hseshellfinanceapp.domain.model.Operation;
 import com.example.hseshellfinanceapp.domain.model.OperationType;
 import com.example.hseshellfinanceapp.facade.OperationFacade;
 import com.example.hseshellfinanceapp.facade.OperationFacade.OperationDetails;
+import com.example.hseshellfinanceapp.facade.OperationFacade.OperationPage;
 import com.example.hseshellfinanceapp.service.command.operationCommands.CreateExpenseCommand;
 import com.example.hseshellfinanceapp.service.command.operationCommands.CreateIncomeCommand;
 import com.example.hseshellfinanceapp.service.command.operationCommands.DeleteOperationCommand;
@@ -22,8 +23,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -152,18 +155,31 @@ class OperationCommandsTest {
         // Given
         ListOperationsCommand command = new ListOperationsCommand(operationFacade);
 
-        List<Operation> operations = List.of(
+        OperationPage page = new OperationPage(List.of(
                 new Operation(UUID.randomUUID(), OperationType.EXPENSE,
                         UUID.randomUUID(), BigDecimal.TEN, LocalDateTime.now(), "Test", UUID.randomUUID())
-        );
+        ), null);
 
-        when(operationFacade.getAllOperations()).thenReturn(operations);
+        when(operationFacade.getOperationsPage(null, null, null, null, null,
+                ListOperationsCommand.DEFAULT_PAGE_SIZE)).thenReturn(page);
 
         // When
-        List<Operation> result = command.execute();
+        OperationPage result = command.execute();
 
         // Then
-        assertSame(operations, result);
-        verify(operationFacade).getAllOperations();
+        assertSame(page, result);
+        verify(operationFacade).getOperationsPage(null, null, null, null, null,
+                ListOperationsCommand.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    void listOperationsCommand_withOversizedPage_shouldFailValidation() {
+        // Given
+        ListOperationsCommand command = new ListOperationsCommand(
+                operationFacade, null, null, null, null, OperationFacade.MAX_PAGE_SIZE + 1, null);
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class, command::executeWithValidation);
+        verifyNoInteractions(operationFacade);
     }
 }
@@ -0,0 +1,77 @@
+package com.example.hseshellfinanceapp.service.io.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompressionCodecTest {
+
+    @Test
+    void fromPath_shouldPickCodecByExtension() {
+        assertEquals(CompressionCodec.GZIP, CompressionCodec.fromPath("./exports/finances.json.gz"));
+        assertEquals(CompressionCodec.DEFLATE, CompressionCodec.fromPath("finances.txt.DEFLATE"));
+        assertEquals(CompressionCodec.NONE, CompressionCodec.fromPath("finances.json"));
+    }
+
+    @Test
+    void resolve_withExplicitName_shouldOverrideExtension() {
+        assertEquals(CompressionCodec.NONE, CompressionCodec.resolve("none", "finances.json.gz"));
+        assertEquals(CompressionCodec.GZIP, CompressionCodec.resolve(null, "finances.json.gz"));
+        assertThrows(IllegalArgumentException.class, () -> CompressionCodec.resolve("zip", "finances.json"));
+    }
+
+    @Test
+    void pipelinedCompression_shouldRoundTrip() throws IOException {
+        for (CompressionCodec codec : CompressionCodec.values()) {
+            // Given
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < 100_000; i++) {
+                text.append("operation-").append(i).append('\n');
+            }
+            byte[] original = text.toString().getBytes(StandardCharsets.UTF_8);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+            // When
+            try (OutputStream out = new PipelinedOutputStream(codec.compress(compressed))) {
+                out.write(original, 0, 10);
+                out.flush();
+                out.write(original, 10, original.length - 10);
+            }
+
+            byte[] restored;
+            try (InputStream in = codec.decompress(new ByteArrayInputStream(compressed.toByteArray()))) {
+                restored = in.readAllBytes();
+            }
+
+            // Then
+            assertEquals(new String(original, StandardCharsets.UTF_8), new String(restored, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void pipelinedOutputStream_whenTargetFails_shouldReportOnClose() {
+        // Given
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Disk full");
+            }
+        };
+
+        // When / Then
+        IOException error = assertThrows(IOException.class, () -> {
+            try (OutputStream out = new PipelinedOutputStream(failing)) {
+                out.write(new byte[1024 * 1024]);
+            }
+        });
+        assertEquals("Disk full", error.getMessage());
+    }
+}
@@ -3,8 +3,10 @@ package com.example.hseshellfinanceapp.service.io.template;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,17 +17,24 @@ import com.example.hseshellfinanceapp.domain.model.OperationType;
 import com.example.hseshellfinanceapp.facade.BankAccountFacade;
 import com.example.hseshellfinanceapp.facade.CategoryFacade;
 import com.example.hseshellfinanceapp.facade.OperationFacade;
+import com.example.hseshellfinanceapp.repository.ImportJournalRepository.ImportCheckpoint;
+import com.example.hseshellfinanceapp.repository.OperationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -102,11 +111,158 @@ class AbstractDataImporterTest {
         verifyNoInteractions(bankAccountFacade, categoryFacade, operationFacade);
     }
 
+    @Test
+    void importData_inBulkMode_shouldInsertChunksAndSkipInvalidRows() {
+        // Given
+        InputStream inputStream = new ByteArrayInputStream("dummy content".getBytes());
+        BankAccount account = new BankAccount(UUID.randomUUID(), "Test Account", new BigDecimal("100.00"));
+        Category groceries = new Category(UUID.randomUUID(), "Groceries", OperationType.EXPENSE);
+        Operation first = new Operation(
+                UUID.randomUUID(), OperationType.EXPENSE, account.getId(),
+                new BigDecimal("60.00"), LocalDateTime.now(), "First", groceries.getId());
+        Operation overdraft = new Operation(
+                UUID.randomUUID(), OperationType.EXPENSE, account.getId(),
+                new BigDecimal("60.00"), LocalDateTime.now(), "Overdraft", groceries.getId());
+        Operation unknownAccount = new Operation(
+                UUID.randomUUID(), OperationType.EXPENSE, UUID.randomUUID(),
+                new BigDecimal("1.00"), LocalDateTime.now(), "Unknown", groceries.getId());
+        Operation second = new Operation(
+                UUID.randomUUID(), OperationType.EXPENSE, account.getId(),
+                new BigDecimal("40.00"), LocalDateTime.now(), "Second", groceries.getId());
+
+        importer.setTestData(List.of(), List.of(), List.of(first, overdraft, unknownAccount, second));
+        importer.setBatchSize(1);
+
+        when(bankAccountFacade.getAllAccounts()).thenReturn(List.of(account));
+        when(categoryFacade.getAllCategories()).thenReturn(List.of(groceries));
+        when(operationFacade.importOperationsBatch(anyList(), any()))
+                .thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+        // When
+        AbstractDataImporter.ImportResult result = importer.importData(inputStream, true);
+
+        // Then
+        assertTrue(result.success());
+        assertEquals(2, result.operationsImported());
+        verify(operationFacade).importOperationsBatch(eq(List.of(first)), any());
+        verify(operationFacade).importOperationsBatch(eq(List.of(second)), any());
+        verify(operationFacade, never()).createOperation(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void importData_withNamedReferences_shouldResolveIdsFromImportedAndExistingEntities() {
+        // Given
+        InputStream inputStream = new ByteArrayInputStream("dummy content".getBytes());
+        BankAccount parsedAccount = new BankAccount(UUID.randomUUID(), "Main", new BigDecimal("100.00"));
+        BankAccount createdAccount = new BankAccount(UUID.randomUUID(), "Main", new BigDecimal("100.00"));
+        Category existingCategory = new Category(UUID.randomUUID(), "Groceries", OperationType.EXPENSE);
+        Operation operation = new Operation(
+                UUID.randomUUID(), OperationType.EXPENSE, UUID.randomUUID(),
+                new BigDecimal("50.00"), LocalDateTime.now(), "Test expense", UUID.randomUUID());
+        Operation unresolved = new Operation(
+                UUID.randomUUID(), OperationType.EXPENSE, UUID.randomUUID(),
+                new BigDecimal("5.00"), LocalDateTime.now(), "Unknown", UUID.randomUUID());
+
+        importer.setTestData(List.of(parsedAccount), List.of(), List.of(operation, unresolved), Map.of(
+                operation.getId(), new AbstractDataImporter.OperationReference("Main", "Groceries"),
+                unresolved.getId(), new AbstractDataImporter.OperationReference("Missing", "Groceries")));
+
+        when(bankAccountFacade.createAccount("Main", parsedAccount.getBalance())).thenReturn(createdAccount);
+        when(categoryFacade.getAllCategories()).thenReturn(List.of(existingCategory));
+        when(bankAccountFacade.getAccountNames()).thenReturn(Map.of());
+        when(operationFacade.createOperation(any(), any(), any(), any(), anyString())).thenReturn(Optional.of(operation));
+
+        // When
+        AbstractDataImporter.ImportResult result = importer.importData(inputStream);
+
+        // Then
+        assertTrue(result.success());
+        assertEquals(1, result.operationsImported());
+        verify(operationFacade).createOperation(
+                OperationType.EXPENSE, createdAccount.getId(), existingCategory.getId(),
+                operation.getAmount(), operation.getDescription());
+        verify(bankAccountFacade, never()).getAccountById(any());
+        verify(categoryFacade, never()).getCategoryById(any());
+    }
+
+    @Test
+    void importCheckpointed_afterPartialRun_shouldSkipCommittedRowsAndExistingAccounts() {
+        // Given
+        InputStream inputStream = new ByteArrayInputStream("dummy content".getBytes());
+        UUID importId = UUID.randomUUID();
+        BankAccount account = new BankAccount(UUID.randomUUID(), "Test Account", new BigDecimal("100.00"));
+        Category salary = new Category(UUID.randomUUID(), "Salary", OperationType.INCOME);
+        List<Operation> operations = List.of(
+                new Operation(UUID.randomUUID(), OperationType.INCOME, account.getId(),
+                        new BigDecimal("10.00"), LocalDateTime.now(), "Committed", salary.getId()),
+                new Operation(UUID.randomUUID(), OperationType.INCOME, account.getId(),
+                        new BigDecimal("20.00"), LocalDateTime.now(), "Second", salary.getId()),
+                new Operation(UUID.randomUUID(), OperationType.INCOME, account.getId(),
+                        new BigDecimal("30.00"), LocalDateTime.now(), "Third", salary.getId()));
+
+        importer.setTestData(List.of(account), List.of(), operations);
+
+        when(operationFacade.startImport(importId, "ledger.json"))
+                .thenReturn(new ImportCheckpoint(importId, "ledger.json", 1, false, LocalDateTime.now(), true));
+        when(bankAccountFacade.getAccountNames()).thenReturn(Map.of(account.getId(), account.getName()));
+        when(bankAccountFacade.getAllAccounts()).thenReturn(List.of(account));
+        when(categoryFacade.getAllCategories()).thenReturn(List.of(salary));
+        when(operationFacade.importOperationsCheckpoint(eq(importId), anyList(), eq(3L))).thenReturn(2);
+
+        // When
+        AbstractDataImporter.ImportResult result = importer.importCheckpointed(inputStream, importId, "ledger.json");
+
+        // Then
+        assertTrue(result.success());
+        assertEquals(0, result.accountsImported());
+        assertEquals(2, result.operationsImported());
+
+        ArgumentCaptor<List<Operation>> chunk = ArgumentCaptor.forClass(List.class);
+        verify(operationFacade).importOperationsCheckpoint(eq(importId), chunk.capture(), eq(3L));
+        assertEquals(List.of("Second", "Third"), chunk.getValue().stream().map(Operation::getDescription).toList());
+        assertEquals(UUID.nameUUIDFromBytes((importId + ":2").getBytes(StandardCharsets.UTF_8)),
+                chunk.getValue().get(0).getId());
+        verify(operationFacade).completeImport(importId, 3);
+        verify(bankAccountFacade, never()).createAccount(anyString(), any(BigDecimal.class));
+    }
+
+    @Test
+    void importCheckpointed_onFirstRun_shouldCreateAccountsEvenIfTheNameExists() {
+        // Given
+        InputStream inputStream = new ByteArrayInputStream("dummy content".getBytes());
+        UUID importId = UUID.randomUUID();
+        BankAccount account = new BankAccount(UUID.randomUUID(), "Test Account", new BigDecimal("100.00"));
+        BankAccount created = new BankAccount(UUID.randomUUID(), "Test Account", new BigDecimal("100.00"));
+
+        importer.setTestData(List.of(account), List.of(), List.of());
+
+        when(operationFacade.startImport(importId, "ledger.json"))
+                .thenReturn(new ImportCheckpoint(importId, "ledger.json", 0, false, LocalDateTime.now(), false));
+        when(bankAccountFacade.createAccount("Test Account", new BigDecimal("100.00"))).thenReturn(created);
+
+        // When
+        AbstractDataImporter.ImportResult result = importer.importCheckpointed(inputStream, importId, "ledger.json");
+
+        // Then
+        assertTrue(result.success());
+        assertEquals(1, result.accountsImported());
+        verify(bankAccountFacade, never()).getAccountNames();
+    }
+
+    @Test
+    void setBatchSize_aboveBindParameterLimit_shouldBeRejected() {
+        // When/Then
+        assertThrows(IllegalArgumentException.class,
+                () -> importer.setBatchSize(OperationRepository.MAX_BATCH_ROWS + 1));
+        importer.setBatchSize(OperationRepository.MAX_BATCH_ROWS);
+    }
+
     // Test implementation that can return predefined data or throw exceptions
     private static class TestDataImporter extends AbstractDataImporter {
         private List<BankAccount> accounts;
         private List<Category> categories;
         private List<Operation> operations;
+        private Map<UUID, OperationReference> references = Map.of();
         private boolean shouldThrowParsingException = false;
 
         public TestDataImporter(BankAccountFacade bankAccountFacade, CategoryFacade categoryFacade,
@@ -120,6 +276,12 @@ class AbstractDataImporterTest {
             this.operations = operations;
         }
 
+        public void setTestData(List<BankAccount> accounts, List<Category> categories, List<Operation> operations,
+                                Map<UUID, OperationReference> references) {
+            setTestData(accounts, categories, operations);
+            this.references = references;
+        }
+
         public void setShouldThrowParsingException(boolean shouldThrow) {
             this.shouldThrowParsingException = shouldThrow;
         }
@@ -129,7 +291,7 @@ class AbstractDataImporterTest {
             if (shouldThrowParsingException) {
                 throw new Exception("Test parsing exception");
             }
-            return new ImportData(accounts, categories, operations);
+            return new ImportData(accounts, categories, operations, references);
         }
     }
 }
@@ -0,0 +1,204 @@
+package com.example.hseshellfinanceapp.service.io.template;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.example.hseshellfinanceapp.domain.model.BankAccount;
+import com.example.hseshellfinanceapp.domain.model.Category;
+import com.example.hseshellfinanceapp.domain.model.Operation;
+import com.example.hseshellfinanceapp.domain.model.OperationType;
+import com.example.hseshellfinanceapp.facade.BankAccountFacade;
+import com.example.hseshellfinanceapp.facade.CategoryFacade;
+import com.example.hseshellfinanceapp.facade.OperationFacade;
+import com.example.hseshellfinanceapp.service.io.visitor.AbstractExportVisitor;
+import com.example.hseshellfinanceapp.service.io.visitor.BinaryExportVisitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BinaryDataImporterTest {
+
+    private static final int OPERATION_COUNT = 5000;
+
+    @Mock
+    private BankAccountFacade bankAccountFacade;
+    @Mock
+    private CategoryFacade categoryFacade;
+    @Mock
+    private OperationFacade operationFacade;
+
+    private BinaryDataImporter importer;
+    private BinaryExportVisitor exportVisitor;
+
+    @BeforeEach
+    void setUp() {
+        importer = new BinaryDataImporter(bankAccountFacade, categoryFacade, operationFacade);
+        exportVisitor = new BinaryExportVisitor(bankAccountFacade, categoryFacade, operationFacade);
+    }
+
+    @Test
+    void parseData_withExportedSnapshot_shouldRoundTrip() throws Exception {
+        // Given
+        BankAccount account = new BankAccount(UUID.randomUUID(), "Test Account", new BigDecimal("100.00"));
+        Category category = new Category(UUID.randomUUID(), "Groceries", OperationType.EXPENSE);
+        List<Operation> operations = createOperations(account, category);
+        byte[] snapshot = export(account, category, operations);
+
+        // When
+        AbstractDataImporter.ImportData data = importer.parseData(new ByteArrayInputStream(snapshot));
+
+        // Then
+        assertEquals(List.of(account.getName()), data.accounts().stream().map(BankAccount::getName).toList());
+        assertEquals(0, new BigDecimal("100.00").compareTo(data.accounts().get(0).getBalance()));
+        assertEquals(OperationType.EXPENSE, data.categories().get(0).getType());
+        assertEquals(OPERATION_COUNT, data.operations().size());
+
+        Operation first = data.operations().get(0);
+        assertEquals(operations.get(0).getId(), first.getId());
+        assertEquals(operations.get(0).getDate(), first.getDate());
+        assertEquals(new BigDecimal("1.50"), first.getAmount());
+        assertEquals("Expense 0", first.getDescription());
+        assertNull(data.operations().get(1).getDescription());
+
+        AbstractDataImporter.OperationReference reference = data.references().get(first.getId());
+        assertEquals("Test Account", reference.accountName());
+        assertEquals("Groceries", reference.categoryName());
+    }
+
+    @Test
+    void parseData_withCorruptedBlock_shouldFail() throws Exception {
+        // Given
+        BankAccount account = new BankAccount(UUID.randomUUID(), "Test Account", new BigDecimal("100.00"));
+        Category category = new Category(UUID.randomUUID(), "Groceries", OperationType.EXPENSE);
+        byte[] snapshot = export(account, category, createOperations(account, category));
+        snapshot[snapshot.length / 2] ^= 0x5A;
+
+        // When / Then
+        IOException error = assertThrows(IOException.class,
+                () -> importer.parseData(new ByteArrayInputStream(snapshot)));
+        assertEquals("Block checksum mismatch", error.getMessage());
+    }
+
+    @Test
+    void parseData_withUnknownHeader_shouldFail() {
+        // Given
+        byte[] content = "{\"accounts\": []}".getBytes();
+
+        // When / Then
+        assertThrows(IOException.class, () -> importer.parseData(new ByteArrayInputStream(content)));
+    }
+
+    @Test
+    void parseData_withRollingContinuationPart_shouldResolveReferences() throws Exception {
+        // Given
+        BankAccount account = new BankAccount(UUID.randomUUID(), "Test Account", new BigDecimal("100.00"));
+        Category category = new Category(UUID.randomUUID(), "Groceries", OperationType.EXPENSE);
+        List<Operation> operations = createOperations(account, category);
+        stubExport(account, category, operations);
+
+        List<ByteArrayOutputStream> parts = new ArrayList<>();
+        List<AbstractExportVisitor.PartSummary> summaries = exportVisitor.exportRolling(number -> {
+            ByteArrayOutputStream part = new ByteArrayOutputStream();
+            parts.add(part);
+            return part;
+        }, true, true, true, 2000, 0);
+
+        // When
+        AbstractDataImporter.ImportData last = importer.parseData(
+                new ByteArrayInputStream(parts.get(2).toByteArray()));
+
+        // Then
+        assertEquals(3, parts.size());
+        assertEquals(List.of(2000L, 2000L, 1000L),
+                summaries.stream().map(AbstractExportVisitor.PartSummary::operations).toList());
+        assertEquals(1, summaries.get(0).accounts());
+        assertEquals(0, summaries.get(2).accounts());
+        assertEquals(operations.get(4000).getDate(), summaries.get(2).firstDate());
+        assertTrue(last.accounts().isEmpty());
+        assertEquals(1000, last.operations().size());
+
+        AbstractDataImporter.OperationReference reference = last.references().get(last.operations().get(0).getId());
+        assertEquals("Test Account", reference.accountName());
+        assertEquals("Groceries", reference.categoryName());
+    }
+
+    @Test
+    void parseData_withOperationSlice_shouldResolveReferences() throws Exception {
+        // Given
+        BankAccount account = new BankAccount(UUID.randomUUID(), "Test Account", new BigDecimal("100.00"));
+        Category category = new Category(UUID.randomUUID(), "Groceries", OperationType.EXPENSE);
+        List<Operation> operations = createOperations(account, category).subList(0, 10);
+        LocalDateTime from = operations.get(0).getDate();
+
+        when(bankAccountFacade.getAccountNames()).thenReturn(Map.of(account.getId(), account.getName()));
+        when(categoryFacade.getCategoryNames()).thenReturn(Map.of(category.getId(), category.getName()));
+        doAnswer(invocation -> {
+            Consumer<Operation> action = invocation.getArgument(2);
+            operations.forEach(action);
+            return null;
+        }).when(operationFacade).forEachOperationBetween(eq(from), isNull(), any());
+
+        ByteArrayOutputStream slice = new ByteArrayOutputStream();
+        exportVisitor.exportOperations(slice, from, null);
+
+        // When
+        AbstractDataImporter.ImportData data = importer.parseData(new ByteArrayInputStream(slice.toByteArray()));
+
+        // Then
+        assertTrue(data.accounts().isEmpty());
+        assertEquals(10, data.operations().size());
+        AbstractDataImporter.OperationReference reference = data.references().get(data.operations().get(9).getId());
+        assertEquals("Test Account", reference.accountName());
+        assertEquals("Groceries", reference.categoryName());
+    }
+
+    private List<Operation> createOperations(BankAccount account, Category category) {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 30, 15, 123_456_000);
+        List<Operation> operations = new ArrayList<>();
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            operations.add(new Operation(UUID.randomUUID(), OperationType.EXPENSE, account.getId(),
+                    new BigDecimal("1.50"), start.plusMinutes(i), i % 2 == 0 ? "Expense " + i : null,
+                    category.getId()));
+        }
+        return operations;
+    }
+
+    private byte[] export(BankAccount account, Category category, List<Operation> operations) throws Exception {
+        stubExport(account, category, operations);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportVisitor.exportData(outputStream, true, true, true);
+        return outputStream.toByteArray();
+    }
+
+    private void stubExport(BankAccount account, Category category, List<Operation> operations) {
+        when(bankAccountFacade.getAllAccounts()).thenReturn(List.of(account));
+        when(categoryFacade.getAllCategories()).thenReturn(List.of(category));
+        doAnswer(invocation -> {
+            Consumer<Operation> action = invocation.getArgument(0);
+            operations.forEach(action);
+            return null;
+        }).when(operationFacade).forEachOperation(any());
+    }
+}
@@ -24,6 +24,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class JsonDataImporterTest {
@@ -106,4 +110,25 @@ class JsonDataImporterTest {
         // When/Then
         assertThrows(Exception.class, () -> importer.parseData(inputStream));
     }
+
+    @Test
+    void importData_shouldHandOperationsToWritePathInBatches() {
+        // Given
+        String json = "{\"operations\": ["
+                + "{\"type\": \"INCOME\", \"amount\": \"10.00\", \"date\": \"2024-01-01T10:00:00\"},"
+                + "{\"type\": \"INCOME\", \"amount\": \"20.00\", \"date\": \"2024-01-02T10:00:00\"},"
+                + "{\"type\": \"EXPENSE\", \"amount\": \"5.00\", \"date\": \"2024-01-03T10:00:00\"}"
+                + "], \"accounts\": [{\"name\": \"Late\", \"balance\": \"1.00\"}]}";
+        importer.setBatchSize(2);
+
+        // When
+        AbstractDataImporter.ImportResult result = importer.importData(new ByteArrayInputStream(json.getBytes()));
+
+        // Then
+        assertTrue(result.success());
+        assertEquals(1, result.accountsImported());
+        assertEquals(3, result.operationsImported());
+        verify(operationFacade, times(3)).createOperation(any(), any(), any(), any(), any());
+        verify(bankAccountFacade).createAccount("Late", new BigDecimal("1.00"));
+    }
 }
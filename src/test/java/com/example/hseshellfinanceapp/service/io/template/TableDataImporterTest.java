@@ -3,8 +3,12 @@ package com.example.hseshellfinanceapp.service.io.template;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
 
 import com.example.hseshellfinanceapp.domain.model.BankAccount;
 import com.example.hseshellfinanceapp.domain.model.Category;
@@ -16,12 +20,18 @@ import com.example.hseshellfinanceapp.facade.OperationFacade;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class TableDataImporterTest {
@@ -106,4 +116,117 @@ class TableDataImporterTest {
         assertTrue(data.categories().isEmpty());
         assertTrue(data.operations().isEmpty());
     }
+
+    @Test
+    void parseData_withReorderedColumnsAndTightSpacing_shouldUseHeaderPositions() throws Exception {
+        // Given
+        String tableData = "== ACCOUNTS ==\n"
+                + "|Balance|NAME|\n"
+                + "|---|---|\n"
+                + "|10.50|First|\n"
+                + "|  20.00  |   Second   |\n";
+        InputStream inputStream = new ByteArrayInputStream(tableData.getBytes());
+
+        // When
+        AbstractDataImporter.ImportData data = importer.parseData(inputStream);
+
+        // Then
+        assertEquals(2, data.accounts().size());
+        assertEquals("First", data.accounts().get(0).getName());
+        assertEquals(new BigDecimal("10.50"), data.accounts().get(0).getBalance());
+        assertEquals("Second", data.accounts().get(1).getName());
+        assertEquals(new BigDecimal("20.00"), data.accounts().get(1).getBalance());
+    }
+
+    @Test
+    void importMappedFile_shouldParseOperationsAndWriteThemInBulk(@TempDir Path tempDir) throws Exception {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        BankAccount createdAccount = new BankAccount(accountId, "Main", new BigDecimal("100.00"));
+        Category createdCategory = new Category(categoryId, "Groceries", OperationType.EXPENSE);
+
+        String tableData = "== ACCOUNTS ==\n"
+                + "| ID | Name | Balance |\n"
+                + "|----|------|---------|\n"
+                + "| 1 | Main | 100.00 |\n\n"
+                + "== CATEGORIES ==\n"
+                + "| ID | Name | Type |\n"
+                + "|----|------|------|\n"
+                + "| 2 | Groceries | EXPENSE |\n\n"
+                + "== OPERATIONS ==\n"
+                + "| ID | Type | Account | Amount | Date | Category | Description |\n"
+                + "|----|------|---------|--------|------|----------|-------------|\n"
+                + "| 3 | EXPENSE | Main | 10.00 | 2024-01-01 10:00:00 | Groceries | First |\n"
+                + "| 4 | EXPENSE | Main | 20.00 | 2024-01-02 10:00:00 | Groceries | Second |\n";
+        Path file = tempDir.resolve("export.txt");
+        Files.writeString(file, tableData);
+
+        when(bankAccountFacade.createAccount("Main", new BigDecimal("100.00"))).thenReturn(createdAccount);
+        when(categoryFacade.createCategory("Groceries", OperationType.EXPENSE)).thenReturn(createdCategory);
+        when(bankAccountFacade.getAllAccounts()).thenReturn(List.of(createdAccount));
+        when(categoryFacade.getAllCategories()).thenReturn(List.of(createdCategory));
+        when(operationFacade.importOperationsBatch(anyList(), any()))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // When
+        AbstractDataImporter.ImportResult result = importer.importMappedFile(file);
+
+        // Then
+        assertTrue(result.success());
+        assertEquals(1, result.accountsImported());
+        assertEquals(1, result.categoriesImported());
+        assertEquals(2, result.operationsImported());
+
+        ArgumentCaptor<List<Operation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(operationFacade).importOperationsBatch(captor.capture(), any());
+        assertEquals("First", captor.getValue().get(0).getDescription());
+        assertEquals(accountId, captor.getValue().get(1).getBankAccountId());
+        assertEquals(categoryId, captor.getValue().get(1).getCategoryId());
+    }
+
+    @Test
+    void importMappedFile_withMalformedRow_shouldSkipItAndImportTheRest(@TempDir Path tempDir) throws Exception {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        BankAccount createdAccount = new BankAccount(accountId, "Main", new BigDecimal("100.00"));
+        Category createdCategory = new Category(categoryId, "Groceries", OperationType.EXPENSE);
+
+        String tableData = "== ACCOUNTS ==\n"
+                + "| ID | Name | Balance |\n"
+                + "|----|------|---------|\n"
+                + "| 1 | Main | 100.00 |\n\n"
+                + "== CATEGORIES ==\n"
+                + "| ID | Name | Type |\n"
+                + "|----|------|------|\n"
+                + "| 2 | Groceries | EXPENSE |\n\n"
+                + "== OPERATIONS ==\n"
+                + "| ID | Type | Account | Amount | Date | Category | Description |\n"
+                + "|----|------|---------|--------|------|----------|-------------|\n"
+                + "| 3 | EXPENSE | Main | 10.00 | 2024-01-01 10:00:00 | Groceries | First |\n"
+                + "| 4 | EXPENSE | Main | ten | 2024-01-02 10:00:00 | Groceries | Broken |\n"
+                + "| 5 | EXPENSE | Main | 30.00 | 2024-01-03 10:00:00 | Groceries | Third |\n";
+        Path file = tempDir.resolve("export.txt");
+        Files.writeString(file, tableData);
+
+        when(bankAccountFacade.createAccount("Main", new BigDecimal("100.00"))).thenReturn(createdAccount);
+        when(categoryFacade.createCategory("Groceries", OperationType.EXPENSE)).thenReturn(createdCategory);
+        when(bankAccountFacade.getAllAccounts()).thenReturn(List.of(createdAccount));
+        when(categoryFacade.getAllCategories()).thenReturn(List.of(createdCategory));
+        when(operationFacade.importOperationsBatch(anyList(), any()))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // When
+        AbstractDataImporter.ImportResult result = importer.importMappedFile(file);
+
+        // Then
+        assertTrue(result.success());
+        assertEquals(2, result.operationsImported());
+
+        ArgumentCaptor<List<Operation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(operationFacade).importOperationsBatch(captor.capture(), any());
+        assertEquals(List.of("First", "Third"),
+                captor.getValue().stream().map(Operation::getDescription).toList());
+    }
 }
@@ -4,8 +4,8 @@ import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import com.example.hseshellfinanceapp.domain.model.BankAccount;
 import com.example.hseshellfinanceapp.domain.model.Category;
@@ -23,7 +23,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -63,9 +68,11 @@ class JsonExportVisitorTest {
 
         when(bankAccountFacade.getAllAccounts()).thenReturn(List.of(account));
         when(categoryFacade.getAllCategories()).thenReturn(List.of(category));
-        when(operationFacade.getAllOperations()).thenReturn(List.of(operation));
-        when(bankAccountFacade.getAccountById(accountId)).thenReturn(Optional.of(account));
-        when(categoryFacade.getCategoryById(categoryId)).thenReturn(Optional.of(category));
+        doAnswer(invocation -> {
+            Consumer<Operation> action = invocation.getArgument(0);
+            action.accept(operation);
+            return null;
+        }).when(operationFacade).forEachOperation(any());
 
         // When
         visitor.exportData(outputStream, true, true, true);
@@ -99,5 +106,26 @@ class JsonExportVisitorTest {
         assertEquals("50.00", operationNode.get("amount").asText());
         assertEquals("Test expense", operationNode.get("description").asText());
         assertEquals(categoryId.toString(), operationNode.get("categoryId").asText());
+        assertEquals("Test Account", operationNode.get("accountName").asText());
+        assertEquals("Groceries", operationNode.get("categoryName").asText());
+        verify(operationFacade, never()).getAllOperations();
+        verify(bankAccountFacade, never()).getAccountById(any());
+        verify(categoryFacade, never()).getCategoryById(any());
+    }
+
+    @Test
+    void exportData_withCompactOutput_shouldWriteSingleLine() throws Exception {
+        // Given
+        BankAccount account = new BankAccount(UUID.randomUUID(), "Test Account", new BigDecimal("100.00"));
+        when(bankAccountFacade.getAllAccounts()).thenReturn(List.of(account));
+        visitor.setPrettyPrint(false);
+
+        // When
+        visitor.exportData(outputStream, true, false, false);
+
+        // Then
+        String jsonOutput = outputStream.toString();
+        assertFalse(jsonOutput.contains("\n"));
+        assertEquals("Test Account", objectMapper.readTree(jsonOutput).get("accounts").get(0).get("name").asText());
     }
 }
@@ -4,8 +4,9 @@ import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import com.example.hseshellfinanceapp.domain.model.BankAccount;
 import com.example.hseshellfinanceapp.domain.model.Category;
@@ -20,7 +21,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -104,8 +109,8 @@ class TableExportVisitorTest {
 
         List<Operation> operations = List.of(operation);
 
-        when(bankAccountFacade.getAccountById(accountId)).thenReturn(Optional.of(account));
-        when(categoryFacade.getCategoryById(categoryId)).thenReturn(Optional.of(category));
+        when(bankAccountFacade.getAccountNames()).thenReturn(Map.of(accountId, account.getName()));
+        when(categoryFacade.getCategoryNames()).thenReturn(Map.of(categoryId, category.getName()));
 
         // When
         visitor.startExport(outputStream);
@@ -127,4 +132,81 @@ class TableExportVisitorTest {
         assertTrue(output.contains("50.00"));
         assertTrue(output.contains("Groceries"));
     }
+
+    @Test
+    void exportData_withOperations_shouldStreamAlignedRowsWithoutSizingQuery() throws Exception {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        Operation operation = new Operation(
+                UUID.randomUUID(), OperationType.EXPENSE, accountId,
+                new BigDecimal("50.00"), LocalDateTime.now(), "Test expense", categoryId);
+
+        when(bankAccountFacade.getAccountNames()).thenReturn(Map.of(accountId, "Test Account"));
+        when(categoryFacade.getCategoryNames()).thenReturn(Map.of(categoryId, "Groceries"));
+        doAnswer(invocation -> {
+            Consumer<Operation> action = invocation.getArgument(0);
+            action.accept(operation);
+            return null;
+        }).when(operationFacade).forEachOperation(any());
+
+        // When
+        visitor.exportData(outputStream, false, false, true);
+
+        // Then
+        String[] lines = outputStream.toString().split(System.lineSeparator());
+        assertEquals("== OPERATIONS ==", lines[0]);
+        assertEquals(descriptionStart(lines[1]), descriptionStart(lines[2]));
+        assertEquals(descriptionStart(lines[1]), descriptionStart(lines[3]));
+        assertTrue(lines[3].contains("Test Account"));
+        assertTrue(lines[3].contains("Groceries"));
+        assertTrue(lines[3].contains("50.00"));
+    }
+
+    @Test
+    void exportData_withNoOperations_shouldSkipSection() throws Exception {
+        // When
+        visitor.exportData(outputStream, false, false, true);
+
+        // Then
+        assertFalse(outputStream.toString().contains("== OPERATIONS =="));
+    }
+
+    @Test
+    void exportData_withLongDescriptionLater_shouldKeepColumnsAlignedAndDescriptionWhole() throws Exception {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        Operation shortOne = new Operation(
+                UUID.randomUUID(), OperationType.EXPENSE, accountId,
+                new BigDecimal("5.00"), LocalDateTime.now(), "Tea", categoryId);
+        Operation longOne = new Operation(
+                UUID.randomUUID(), OperationType.EXPENSE, accountId,
+                new BigDecimal("999999.99"), LocalDateTime.now(), "A description much wider than the header. "
+                .repeat(5), categoryId);
+
+        doAnswer(invocation -> {
+            Consumer<Operation> action = invocation.getArgument(0);
+            action.accept(shortOne);
+            action.accept(longOne);
+            return null;
+        }).when(operationFacade).forEachOperation(any());
+
+        // When
+        visitor.exportData(outputStream, false, false, true);
+
+        // Then
+        String[] lines = outputStream.toString().split(System.lineSeparator());
+        assertEquals(5, lines.length);
+        for (int i = 2; i < lines.length; i++) {
+            assertEquals(descriptionStart(lines[1]), descriptionStart(lines[i]));
+        }
+        assertTrue(lines[4].contains(longOne.getDescription().trim()));
+        assertEquals(lines[3].indexOf("5.00"), lines[4].indexOf("999999.99"));
+    }
+
+    // Position of the pipe in front of the last column
+    private int descriptionStart(String line) {
+        return line.lastIndexOf('|', line.length() - 2);
+    }
 }
@@ -0,0 +1,58 @@
+package com.example.hseshellfinanceapp.ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import com.example.hseshellfinanceapp.facade.OperationFacade;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RollupStartupCheckTest {
+
+    @Mock
+    private OperationFacade operationFacade;
+
+    @Test
+    void run_withMissingRollups_shouldPointAtRebuildWithoutRunningIt() {
+        // Given
+        when(operationFacade.areDailyRollupsMissing()).thenReturn(true);
+
+        // When
+        String output = runCapturingErr();
+
+        // Then
+        assertTrue(output.contains("rebuild-rollups"));
+    }
+
+    @Test
+    void run_withRollupsInPlace_shouldPrintNothing() {
+        // Given
+        when(operationFacade.areDailyRollupsMissing()).thenReturn(false);
+
+        // When
+        String output = runCapturingErr();
+
+        // Then
+        assertEquals("", output);
+    }
+
+    private String runCapturingErr() {
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream errContent = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(errContent));
+        try {
+            new RollupStartupCheck(operationFacade).run(new DefaultApplicationArguments());
+        } finally {
+            System.setErr(originalErr);
+        }
+        return errContent.toString();
+    }
+}
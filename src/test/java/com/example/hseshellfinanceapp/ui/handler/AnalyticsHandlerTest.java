@@ -7,6 +7,7 @@ import com.example.hseshellfinanceapp.service.analytics.AnalyticsService;
 import com.example.hseshellfinanceapp.service.analytics.ReportGenerator;
 import com.example.hseshellfinanceapp.service.command.CommandExecutor;
 import com.example.hseshellfinanceapp.service.command.analyticsCommands.AccountSummaryCommand;
+import com.example.hseshellfinanceapp.service.command.analyticsCommands.AccountsSummaryCommand;
 import com.example.hseshellfinanceapp.service.command.analyticsCommands.ExpensesByCategoryCommand;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -67,4 +68,20 @@ class AnalyticsHandlerTest {
         // Then
         assertEquals(expectedReport, result);
     }
+
+    @Test
+    void getAccountsSummary_shouldReturnCommandResult() {
+        // Given
+        LocalDate fromDate = LocalDate.of(2023, 1, 1);
+        LocalDate toDate = LocalDate.of(2023, 1, 31);
+        String expectedReport = "Accounts Summary Report";
+
+        when(commandExecutor.executeCommand(any(AccountsSummaryCommand.class))).thenReturn(expectedReport);
+
+        // When
+        String result = analyticsHandler.getAccountsSummary(fromDate, toDate);
+
+        // Then
+        assertEquals(expectedReport, result);
+    }
 }
@@ -0,0 +1,76 @@
+package com.example.hseshellfinanceapp.ui.handler;
+
+import com.example.hseshellfinanceapp.config.PoolMetrics;
+import com.example.hseshellfinanceapp.facade.BankAccountFacade;
+import com.example.hseshellfinanceapp.facade.OperationFacade;
+import com.example.hseshellfinanceapp.service.command.CommandExecutor;
+import com.example.hseshellfinanceapp.service.command.databaseCommands.PoolBenchmarkCommand;
+import com.example.hseshellfinanceapp.service.command.databaseCommands.PoolStatsCommand;
+import com.example.hseshellfinanceapp.service.command.databaseCommands.RebuildRollupsCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseHandlerTest {
+
+    @Mock
+    private PoolMetrics poolMetrics;
+    @Mock
+    private BankAccountFacade bankAccountFacade;
+    @Mock
+    private OperationFacade operationFacade;
+    @Mock
+    private CommandExecutor commandExecutor;
+
+    private DatabaseHandler databaseHandler;
+
+    @BeforeEach
+    void setUp() {
+        databaseHandler = new DatabaseHandler(poolMetrics, bankAccountFacade, operationFacade, commandExecutor);
+    }
+
+    @Test
+    void poolStats_shouldReturnCommandResult() {
+        // Given
+        when(commandExecutor.executeCommand(any(PoolStatsCommand.class))).thenReturn("Connection pools:");
+
+        // When
+        String result = databaseHandler.poolStats();
+
+        // Then
+        assertEquals("Connection pools:", result);
+    }
+
+    @Test
+    void poolBenchmark_withInvalidThreadCount_shouldReturnError() {
+        // Given
+        when(commandExecutor.executeCommand(any(PoolBenchmarkCommand.class)))
+                .thenThrow(new IllegalArgumentException("Command validation failed"));
+
+        // When
+        String result = databaseHandler.poolBenchmark(0, 200, 20);
+
+        // Then
+        assertEquals("Error: Command validation failed", result);
+    }
+
+    @Test
+    void rebuildRollups_shouldReturnCommandResult() {
+        // Given
+        when(commandExecutor.executeCommand(any(RebuildRollupsCommand.class)))
+                .thenReturn("Daily rollups rebuilt: 12 buckets");
+
+        // When
+        String result = databaseHandler.rebuildRollups(false);
+
+        // Then
+        assertEquals("Daily rollups rebuilt: 12 buckets", result);
+    }
+}
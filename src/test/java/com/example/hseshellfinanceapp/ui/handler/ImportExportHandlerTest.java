@@ -1,11 +1,14 @@
 package com.example.hseshellfinanceapp.ui.handler;
 
+import com.example.hseshellfinanceapp.facade.OperationFacade;
 import com.example.hseshellfinanceapp.service.command.CommandExecutor;
 import com.example.hseshellfinanceapp.service.command.exportCommands.FileExportCommand;
 import com.example.hseshellfinanceapp.service.command.importCommands.FileImportCommand;
 import com.example.hseshellfinanceapp.service.io.template.AbstractDataImporter;
+import com.example.hseshellfinanceapp.service.io.template.BinaryDataImporter;
 import com.example.hseshellfinanceapp.service.io.template.JsonDataImporter;
 import com.example.hseshellfinanceapp.service.io.template.TableDataImporter;
+import com.example.hseshellfinanceapp.service.io.visitor.BinaryExportVisitor;
 import com.example.hseshellfinanceapp.service.io.visitor.JsonExportVisitor;
 import com.example.hseshellfinanceapp.service.io.visitor.TableExportVisitor;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,13 +34,20 @@ class ImportExportHandlerTest {
     private JsonExportVisitor jsonExportVisitor;
     @Mock
     private TableExportVisitor tableExportVisitor;
+    @Mock
+    private BinaryDataImporter binaryDataImporter;
+    @Mock
+    private BinaryExportVisitor binaryExportVisitor;
+    @Mock
+    private OperationFacade operationFacade;
 
     private ImportExportHandler importExportHandler;
 
     @BeforeEach
     void setUp() {
         importExportHandler = new ImportExportHandler(
-                commandExecutor, jsonDataImporter, tableDataImporter, jsonExportVisitor, tableExportVisitor);
+                commandExecutor, jsonDataImporter, tableDataImporter, jsonExportVisitor, tableExportVisitor,
+                binaryDataImporter, binaryExportVisitor, operationFacade);
     }
 
     @Test
@@ -48,7 +58,7 @@ class ImportExportHandlerTest {
         when(commandExecutor.executeCommand(any(FileExportCommand.class))).thenReturn(true);
 
         // When
-        String result = importExportHandler.exportJson(output, true, true, true);
+        String result = importExportHandler.exportJson(output, true, true, true, false, null, null, 0, 0);
 
         // Then
         assertTrue(result.contains("Data successfully exported"));
@@ -64,7 +74,7 @@ class ImportExportHandlerTest {
         when(commandExecutor.executeCommand(any(FileImportCommand.class))).thenReturn(importResult);
 
         // When
-        String result = importExportHandler.importJson(input);
+        String result = importExportHandler.importJson(input, false, null, false);
 
         // Then
         assertTrue(result.contains("Data successfully imported"));
@@ -10,6 +10,7 @@ import java.util.UUID;
 import com.example.hseshellfinanceapp.domain.model.Operation;
 import com.example.hseshellfinanceapp.domain.model.OperationType;
 import com.example.hseshellfinanceapp.facade.OperationFacade;
+import com.example.hseshellfinanceapp.facade.OperationFacade.OperationPage;
 import com.example.hseshellfinanceapp.service.command.CommandExecutor;
 import com.example.hseshellfinanceapp.service.command.operationCommands.CreateIncomeCommand;
 import com.example.hseshellfinanceapp.service.command.operationCommands.ListOperationsCommand;
@@ -19,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -67,12 +69,31 @@ class OperationHandlerTest {
                 BigDecimal.TEN, LocalDateTime.now(), "Test", UUID.randomUUID());
         List<Operation> operations = Collections.singletonList(operation);
 
-        when(commandExecutor.executeCommand(any(ListOperationsCommand.class))).thenReturn(operations);
+        when(commandExecutor.executeCommand(any(ListOperationsCommand.class)))
+                .thenReturn(new OperationPage(operations, null));
 
         // When
-        String result = operationHandler.listOperations(null, null, null, null);
+        String result = operationHandler.listOperations(null, null, null, null, 50, null);
 
         // Then
         assertTrue(result.contains("Operations:"));
+        assertFalse(result.contains("--page-token"));
+    }
+
+    @Test
+    void listOperations_withMorePages_shouldPrintContinuationToken() {
+        // Given
+        Operation operation = new Operation(
+                UUID.randomUUID(), OperationType.INCOME, UUID.randomUUID(),
+                BigDecimal.ONE, LocalDateTime.now(), "Test", UUID.randomUUID());
+
+        when(commandExecutor.executeCommand(any(ListOperationsCommand.class)))
+                .thenReturn(new OperationPage(List.of(operation), "next-token"));
+
+        // When
+        String result = operationHandler.listOperations(null, null, null, null, 1, null);
+
+        // Then
+        assertTrue(result.contains("--page-token next-token"));
     }
 }